@@ -8,6 +8,8 @@
 package com.velocitypowered.api.event;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Allows plugins to register and deregister listeners for event handlers.
@@ -78,6 +80,37 @@ public interface EventManager {
    */
   <E> CompletableFuture<E> fire(E event);
 
+  /**
+   * Determines whether any handler would receive an event of the given class. Handlers
+   * registered for a supertype of the class count as well.
+   *
+   * @param eventClass the class of the event
+   * @return {@code true} if an event of this class has subscribers
+   */
+  default boolean hasSubscribers(Class<?> eventClass) {
+    return true;
+  }
+
+  /**
+   * Fires the event created by {@code eventSupplier}, but only if there are subscribers for
+   * {@code eventClass}. Otherwise the supplier is never called and the returned future is
+   * already completed with {@code null}. The supplied event must be an instance of exactly
+   * {@code eventClass}.
+   *
+   * @param eventClass the class of the event
+   * @param eventSupplier creates the event to fire
+   * @param <E> the event type
+   * @return a {@link CompletableFuture} representing the posted event, completed with
+   *         {@code null} if nobody subscribes to {@code eventClass}
+   */
+  default <E> CompletableFuture<@Nullable E> fireIfSubscribed(Class<E> eventClass,
+      Supplier<? extends E> eventSupplier) {
+    if (!hasSubscribers(eventClass)) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return fire(eventSupplier.get());
+  }
+
   /**
    * Posts the specified event to the event bus and discards the result.
    *
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.network;
+
+import java.time.Duration;
+
+/**
+ * Statistics about the quality of one or more network connections. Round trip times are measured
+ * with the keep-alive packets the backend server sends to the player, so they are only updated
+ * every few seconds.
+ *
+ * <p>All counters are cumulative. "Received" and "sent" are from the point of view of the proxy.
+ */
+public interface NetworkTelemetry {
+
+  /**
+   * Returns the number of round trip time samples currently held. Only the most recent samples
+   * are kept.
+   *
+   * @return the number of round trip time samples
+   */
+  int getRoundTripTimeSamples();
+
+  /**
+   * Returns the most recent round trip time.
+   *
+   * @return the round trip time in milliseconds, or -1 if it is unknown
+   */
+  long getLatestRoundTripTime();
+
+  /**
+   * Returns the given percentile of the recent round trip times.
+   *
+   * @param percentile the percentile, between 0 and 1
+   * @return the round trip time in milliseconds, or -1 if it is unknown
+   * @throws IllegalArgumentException if the percentile is not between 0 and 1
+   */
+  long getRoundTripTime(double percentile);
+
+  /**
+   * Returns the jitter, that is the smoothed variation between consecutive round trip times.
+   *
+   * @return the jitter in milliseconds, or -1 if it is unknown
+   */
+  long getJitter();
+
+  /**
+   * Returns the number of bytes received, as they were sent over the network.
+   *
+   * @return the number of bytes received
+   */
+  long getBytesReceived();
+
+  /**
+   * Returns the number of bytes sent, as they were sent over the network.
+   *
+   * @return the number of bytes sent
+   */
+  long getBytesSent();
+
+  /**
+   * Returns the number of packets received.
+   *
+   * @return the number of packets received
+   */
+  long getPacketsReceived();
+
+  /**
+   * Returns the number of packets sent.
+   *
+   * @return the number of packets sent
+   */
+  long getPacketsSent();
+
+  /**
+   * Returns the size of the sent packets that were large enough to be compressed, before
+   * compression.
+   *
+   * @return the number of bytes before compression
+   */
+  long getUncompressedBytesSent();
+
+  /**
+   * Returns the size of the sent packets that were large enough to be compressed, after
+   * compression. The difference to {@link #getUncompressedBytesSent()} is the amount of bandwidth
+   * compression saved.
+   *
+   * @return the number of bytes after compression
+   */
+  long getCompressedBytesSent();
+
+  /**
+   * Returns how often the connection stopped accepting writes because too much data was waiting
+   * to be sent, which means the other side or the network could not keep up.
+   *
+   * @return the number of times the connection became unwritable
+   */
+  long getUnwritableCount();
+
+  /**
+   * Returns the total time the connection spent not accepting writes.
+   *
+   * @return the time spent unwritable
+   */
+  Duration getUnwritableTime();
+}
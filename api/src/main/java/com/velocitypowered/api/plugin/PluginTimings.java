@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.plugin;
+
+import java.util.Collection;
+
+/**
+ * Keeps track of how much time plugins spend in their scheduled tasks and event handlers, so
+ * that plugins that slow down the proxy can be identified.
+ *
+ * <p>Timings are only collected while they are {@linkplain #isEnabled() enabled}, which is the
+ * case if they were enabled in the proxy configuration or while a {@code /velocity profile}
+ * is running.</p>
+ */
+public interface PluginTimings {
+
+  /**
+   * Returns whether timings are currently being collected.
+   *
+   * @return whether timings are enabled
+   */
+  boolean isEnabled();
+
+  /**
+   * Returns a snapshot of all timings collected since the proxy started. The returned entries
+   * do not change after this method returns.
+   *
+   * @return the collected timings
+   */
+  Collection<Entry> getEntries();
+
+  /**
+   * The kind of code that was timed.
+   */
+  enum Type {
+    /**
+     * A task scheduled using the {@link com.velocitypowered.api.scheduler.Scheduler}.
+     */
+    SCHEDULED_TASK,
+    /**
+     * An event handler registered using the {@link com.velocitypowered.api.event.EventManager}.
+     */
+    EVENT_HANDLER
+  }
+
+  /**
+   * The timings of a single task or event handler.
+   */
+  interface Entry {
+
+    /**
+     * Returns the plugin that owns the task or event handler.
+     *
+     * @return the plugin
+     */
+    PluginContainer getPlugin();
+
+    /**
+     * Returns the kind of code that was timed.
+     *
+     * @return the type of this entry
+     */
+    Type getType();
+
+    /**
+     * Returns a human-readable name of the task or event handler.
+     *
+     * @return the name of this entry
+     */
+    String getName();
+
+    /**
+     * Returns how often the task or event handler was invoked.
+     *
+     * @return the number of invocations
+     */
+    long getInvocations();
+
+    /**
+     * Returns the total wall-clock time spent in the task or event handler, in nanoseconds.
+     *
+     * @return the wall-clock time in nanoseconds
+     */
+    long getWallTimeNanos();
+
+    /**
+     * Returns the total CPU time spent in the task or event handler, in nanoseconds. Only
+     * invocations on threads for which the JVM supports measuring CPU time are included.
+     *
+     * @return the CPU time in nanoseconds
+     */
+    long getCpuTimeNanos();
+  }
+}
@@ -10,6 +10,7 @@ package com.velocitypowered.api.proxy;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.event.player.CookieReceiveEvent;
 import com.velocitypowered.api.event.player.PlayerResourcePackStatusEvent;
+import com.velocitypowered.api.network.NetworkTelemetry;
 import com.velocitypowered.api.proxy.crypto.KeyIdentifiable;
 import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
@@ -117,6 +118,13 @@ public interface Player extends
    */
   long getPing();
 
+  /**
+   * Returns statistics about the quality of the player's connection to the proxy.
+   *
+   * @return the network telemetry of the player's connection
+   */
+  NetworkTelemetry getNetworkTelemetry();
+
   /**
    * Returns the player's connection status.
    *
@@ -11,8 +11,11 @@ import com.velocitypowered.api.command.CommandManager;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.event.EventManager;
 import com.velocitypowered.api.plugin.PluginManager;
+import com.velocitypowered.api.plugin.PluginTimings;
+import com.velocitypowered.api.proxy.cluster.ProxyCluster;
 import com.velocitypowered.api.proxy.config.ProxyConfig;
 import com.velocitypowered.api.proxy.messages.ChannelRegistrar;
+import com.velocitypowered.api.proxy.player.ResourcePackHost;
 import com.velocitypowered.api.proxy.player.ResourcePackInfo;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.proxy.server.ServerInfo;
@@ -118,6 +121,14 @@ public interface ProxyServer extends Audience {
    */
   Collection<RegisteredServer> matchServer(String partialName);
 
+  /**
+   * Returns a view of the players connected to every proxy of the cluster this proxy is part of.
+   * If clustering is disabled, the view only contains the players of this proxy.
+   *
+   * @return the cluster view
+   */
+  ProxyCluster getCluster();
+
   /**
    * Creates a raw {@link RegisteredServer} without tying it into the internal server map.
    *
@@ -179,6 +190,13 @@ public interface ProxyServer extends Audience {
    */
   Scheduler getScheduler();
 
+  /**
+   * Gets the {@link PluginTimings} instance.
+   *
+   * @return the plugin timings instance
+   */
+  PluginTimings getPluginTimings();
+
   /**
    * Gets the {@link ChannelRegistrar} instance.
    *
@@ -229,4 +247,11 @@ public interface ProxyServer extends Audience {
    * @return a ResourcePackInfo builder
    */
   ResourcePackInfo.Builder createResourcePackBuilder(String url);
+
+  /**
+   * Returns the server that serves resource packs stored on the proxy host.
+   *
+   * @return the resource pack server
+   */
+  ResourcePackHost getResourcePackHost();
 }
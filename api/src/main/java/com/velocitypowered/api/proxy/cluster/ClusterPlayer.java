@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.cluster;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A player connected to a proxy of the cluster, which may be this proxy or another one. This is
+ * a snapshot and does not change once obtained.
+ */
+public interface ClusterPlayer {
+
+  /**
+   * Returns the UUID of the player.
+   *
+   * @return the UUID of the player
+   */
+  UUID getUniqueId();
+
+  /**
+   * Returns the username of the player.
+   *
+   * @return the username of the player
+   */
+  String getUsername();
+
+  /**
+   * Returns the name of the server the player is connected to.
+   *
+   * @return the name of the server, or empty if the player is not connected to a server yet
+   */
+  Optional<String> getServerName();
+
+  /**
+   * Returns the ID of the proxy the player is connected to.
+   *
+   * @return the ID of the proxy
+   */
+  String getProxyId();
+}
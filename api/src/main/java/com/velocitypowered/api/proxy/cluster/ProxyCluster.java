@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.cluster;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Provides the players connected to all proxies of a cluster. The proxies replicate their players
+ * to each other in the background, so queries are answered locally and never wait for the
+ * network. The information about other proxies may lag behind by a fraction of a second.
+ */
+public interface ProxyCluster {
+
+  /**
+   * Returns whether this proxy shares its players with other proxies.
+   *
+   * @return whether clustering is enabled
+   */
+  boolean isEnabled();
+
+  /**
+   * Returns the ID of this proxy within the cluster.
+   *
+   * @return the ID of this proxy
+   */
+  String getProxyId();
+
+  /**
+   * Returns the IDs of all proxies known to have players connected or to be alive, including this
+   * proxy.
+   *
+   * @return the IDs of the proxies
+   */
+  Collection<String> getProxyIds();
+
+  /**
+   * Returns the number of players connected to the cluster.
+   *
+   * @return the number of players
+   */
+  int getPlayerCount();
+
+  /**
+   * Returns all players connected to the cluster.
+   *
+   * @return the players
+   */
+  Collection<ClusterPlayer> getPlayers();
+
+  /**
+   * Returns the players connected to the server with the given name on any proxy.
+   *
+   * @param serverName the name of the server, case-insensitive
+   * @return the players on that server
+   */
+  Collection<ClusterPlayer> getPlayers(String serverName);
+
+  /**
+   * Looks up a player connected to the cluster by UUID.
+   *
+   * @param uuid the UUID of the player
+   * @return the player, if connected
+   */
+  Optional<ClusterPlayer> getPlayer(UUID uuid);
+
+  /**
+   * Looks up a player connected to the cluster by username.
+   *
+   * @param username the username of the player, case-insensitive
+   * @return the player, if connected
+   */
+  Optional<ClusterPlayer> getPlayer(String username);
+
+  /**
+   * Matches all players connected to the cluster whose names start with the given partial name.
+   *
+   * @param partialName the partial name to check for
+   * @return the matching players
+   */
+  Collection<ClusterPlayer> matchPlayer(String partialName);
+}
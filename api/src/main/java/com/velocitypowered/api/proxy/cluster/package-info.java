@@ -0,0 +1,11 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+/**
+ * Provides a view of the players connected to all proxies of a cluster.
+ */
+package com.velocitypowered.api.proxy.cluster;
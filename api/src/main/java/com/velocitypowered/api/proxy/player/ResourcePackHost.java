@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.player;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serves resource packs stored on the proxy host over HTTP, so that they can be offered to players
+ * without a separate web server. The server is disabled unless it is enabled in the proxy
+ * configuration.
+ *
+ * <p>The hashing methods work even if the server is disabled. Hashes are computed in the
+ * background and cached until the pack changes, so they never block the calling thread.
+ */
+public interface ResourcePackHost {
+
+  /**
+   * Returns whether the proxy serves resource packs.
+   *
+   * @return whether the resource pack server is enabled
+   */
+  boolean isEnabled();
+
+  /**
+   * Starts serving the given file and creates a builder for a {@link ResourcePackInfo} that points
+   * to it. The SHA-1 hash of the file is computed in the background and already set on the
+   * builder. If the file changes later on, players are served the new contents, so a new builder
+   * should be created to pick up the new hash.
+   *
+   * @param file the resource pack file
+   * @return a future that completes with the builder once the hash is known
+   * @throws IllegalStateException if the resource pack server is disabled
+   */
+  CompletableFuture<ResourcePackInfo.Builder> createResourcePackBuilder(Path file);
+
+  /**
+   * Stops serving the given file.
+   *
+   * @param file the resource pack file
+   * @return whether the file was served before
+   */
+  boolean unregister(Path file);
+
+  /**
+   * Computes the SHA-1 hash of the resource pack at the given URL. Local {@code file} URLs are
+   * read from disk, HTTP URLs are downloaded. A pack is only downloaded again if the server
+   * reports, through its {@code ETag} or {@code Last-Modified} header, that it changed.
+   *
+   * @param url the URL of the resource pack
+   * @return a future that completes with the hash
+   */
+  CompletableFuture<byte[]> computeHash(String url);
+
+  /**
+   * Returns the given resource pack with its SHA-1 hash, computing the hash with
+   * {@link #computeHash(String)} if it is missing.
+   *
+   * @param info the resource pack
+   * @return a future that completes with the resource pack
+   */
+  CompletableFuture<ResourcePackInfo> withHash(ResourcePackInfo info);
+}
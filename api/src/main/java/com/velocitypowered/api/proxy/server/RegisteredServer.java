@@ -7,6 +7,7 @@
 
 package com.velocitypowered.api.proxy.server;
 
+import com.velocitypowered.api.network.NetworkTelemetry;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
 import java.util.Collection;
@@ -34,6 +35,15 @@ public interface RegisteredServer extends ChannelMessageSink, Audience {
    */
   Collection<Player> getPlayersConnected();
 
+  /**
+   * Returns statistics about the connections between this proxy and the server. Traffic counters
+   * cover every connection ever made to the server, while round trip times are those of the
+   * players currently connected to it.
+   *
+   * @return a snapshot of the network telemetry of this server
+   */
+  NetworkTelemetry getNetworkTelemetry();
+
   /**
    * Attempts to ping the remote server and return the server list ping result.
    *
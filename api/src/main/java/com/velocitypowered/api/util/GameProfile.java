@@ -10,6 +10,7 @@ package com.velocitypowered.api.util;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -212,6 +213,24 @@ public final class GameProfile {
       return signature;
     }
 
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Property)) {
+        return false;
+      }
+      Property that = (Property) o;
+      return name.equals(that.name) && value.equals(that.value)
+          && signature.equals(that.signature);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, value, signature);
+    }
+
     @Override
     public String toString() {
       return "Property{"
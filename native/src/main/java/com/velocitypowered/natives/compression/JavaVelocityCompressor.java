@@ -106,6 +106,13 @@ public class JavaVelocityCompressor implements VelocityCompressor {
     deflater.reset();
   }
 
+  @Override
+  public void setCompressionLevel(int level) {
+    ensureNotDisposed();
+    // Takes effect on the next deflate, as the deflater is reset after every call.
+    deflater.setLevel(level);
+  }
+
   @Override
   public void close() {
     disposed = true;
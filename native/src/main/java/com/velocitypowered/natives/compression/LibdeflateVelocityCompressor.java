@@ -30,17 +30,23 @@ public class LibdeflateVelocityCompressor implements VelocityCompressor {
   public static final VelocityCompressorFactory FACTORY = LibdeflateVelocityCompressor::new;
 
   private final long inflateCtx;
-  private final long deflateCtx;
+  private long deflateCtx;
+  private int level;
   private boolean disposed = false;
 
   private LibdeflateVelocityCompressor(int level) {
+    int correctedLevel = correctLevel(level);
+    this.inflateCtx = NativeZlibInflate.init();
+    this.deflateCtx = NativeZlibDeflate.init(correctedLevel);
+    this.level = correctedLevel;
+  }
+
+  private static int correctLevel(int level) {
     int correctedLevel = level == -1 ? 6 : level;
     if (correctedLevel > 12 || correctedLevel < 1) {
       throw new IllegalArgumentException("Invalid compression level " + level);
     }
-
-    this.inflateCtx = NativeZlibInflate.init();
-    this.deflateCtx = NativeZlibDeflate.init(correctedLevel);
+    return correctedLevel;
   }
 
   @Override
@@ -83,6 +89,21 @@ public class LibdeflateVelocityCompressor implements VelocityCompressor {
     }
   }
 
+  @Override
+  public void setCompressionLevel(int level) {
+    ensureNotDisposed();
+    int correctedLevel = correctLevel(level);
+    if (correctedLevel == this.level) {
+      return;
+    }
+
+    // libdeflate fixes the level when the compressor is allocated, so swap in a new one.
+    long newCtx = NativeZlibDeflate.init(correctedLevel);
+    NativeZlibDeflate.free(deflateCtx);
+    this.deflateCtx = newCtx;
+    this.level = correctedLevel;
+  }
+
   private void ensureNotDisposed() {
     Preconditions.checkState(!disposed, "Object already disposed");
   }
@@ -31,4 +31,12 @@ public interface VelocityCompressor extends Disposable, Native {
       throws DataFormatException;
 
   void deflate(ByteBuf source, ByteBuf destination) throws DataFormatException;
+
+  /**
+   * Changes the compression level used by subsequent calls to
+   * {@link #deflate(ByteBuf, ByteBuf)}.
+   *
+   * @param level the new compression level
+   */
+  void setCompressionLevel(int level);
 }
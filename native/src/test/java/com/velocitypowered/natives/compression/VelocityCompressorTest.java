@@ -77,6 +77,22 @@ class VelocityCompressorTest {
     check(compressor, () -> Unpooled.buffer(TEST_DATA.length + 32));
   }
 
+  @Test
+  @EnabledOnOs({LINUX})
+  void nativeIntegrityCheckAfterLevelChange() throws DataFormatException {
+    VelocityCompressor compressor = Natives.compress.get().create(Deflater.DEFAULT_COMPRESSION);
+    compressor.setCompressionLevel(1);
+    check(compressor, () -> Unpooled.directBuffer(TEST_DATA.length + 32));
+  }
+
+  @Test
+  void javaIntegrityCheckAfterLevelChange() throws DataFormatException {
+    VelocityCompressor compressor = JavaVelocityCompressor.FACTORY
+        .create(Deflater.DEFAULT_COMPRESSION);
+    compressor.setCompressionLevel(1);
+    check(compressor, () -> Unpooled.buffer(TEST_DATA.length + 32));
+  }
+
   private void check(VelocityCompressor compressor, Supplier<ByteBuf> bufSupplier)
       throws DataFormatException {
     ByteBuf source = bufSupplier.get();
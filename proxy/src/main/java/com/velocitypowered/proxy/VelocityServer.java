@@ -39,6 +39,8 @@ import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.util.Favicon;
 import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.api.util.ProxyVersion;
+import com.velocitypowered.proxy.adventure.ClickCallbackManager;
+import com.velocitypowered.proxy.cluster.VelocityProxyCluster;
 import com.velocitypowered.proxy.command.VelocityCommandManager;
 import com.velocitypowered.proxy.command.builtin.CallbackCommand;
 import com.velocitypowered.proxy.command.builtin.GlistCommand;
@@ -47,18 +49,24 @@ import com.velocitypowered.proxy.command.builtin.ServerCommand;
 import com.velocitypowered.proxy.command.builtin.ShutdownCommand;
 import com.velocitypowered.proxy.command.builtin.VelocityCommand;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.connection.backend.BungeeCordResponseCache;
+import com.velocitypowered.proxy.connection.client.BroadcastAudience;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.connection.player.resourcepack.ResourcePackHasher;
 import com.velocitypowered.proxy.connection.player.resourcepack.VelocityResourcePackInfo;
+import com.velocitypowered.proxy.connection.player.resourcepack.host.VelocityResourcePackHost;
 import com.velocitypowered.proxy.connection.util.ServerListPingHandler;
 import com.velocitypowered.proxy.console.VelocityConsole;
 import com.velocitypowered.proxy.crypto.EncryptionUtils;
 import com.velocitypowered.proxy.event.VelocityEventManager;
 import com.velocitypowered.proxy.network.ConnectionManager;
 import com.velocitypowered.proxy.plugin.VelocityPluginManager;
+import com.velocitypowered.proxy.plugin.VelocityPluginTimings;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginDescription;
 import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.netty.AdaptiveCompressionLevel;
 import com.velocitypowered.proxy.protocol.util.FaviconSerializer;
 import com.velocitypowered.proxy.protocol.util.GameProfileSerializer;
 import com.velocitypowered.proxy.scheduler.VelocityScheduler;
@@ -67,6 +75,7 @@ import com.velocitypowered.proxy.util.AddressUtil;
 import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
 import com.velocitypowered.proxy.util.ResourceUtils;
 import com.velocitypowered.proxy.util.VelocityChannelRegistrar;
+import com.velocitypowered.proxy.util.concurrent.VirtualThreads;
 import com.velocitypowered.proxy.util.ratelimit.Ratelimiter;
 import com.velocitypowered.proxy.util.ratelimit.Ratelimiters;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -98,13 +107,20 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.key.Key;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.sound.SoundStop;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.title.TitlePart;
 import net.kyori.adventure.translation.GlobalTranslator;
 import net.kyori.adventure.translation.TranslationStore;
 import org.apache.logging.log4j.LogManager;
@@ -166,20 +182,29 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
 
   private final Map<UUID, ConnectedPlayer> connectionsByUuid = new ConcurrentHashMap<>();
   private final Map<String, ConnectedPlayer> connectionsByName = new ConcurrentHashMap<>();
+  private final AtomicInteger playersVersion = new AtomicInteger();
+  private final BungeeCordResponseCache bungeeCordResponses = new BungeeCordResponseCache(this);
+  private final VelocityProxyCluster cluster = new VelocityProxyCluster(this);
+  private final ResourcePackHasher resourcePackHasher = new ResourcePackHasher();
+  private final VelocityResourcePackHost resourcePackHost =
+      new VelocityResourcePackHost(this, resourcePackHasher);
   private final VelocityConsole console;
+  private final BroadcastAudience playerBroadcast = new BroadcastAudience(this::getAllPlayers);
   private @MonotonicNonNull Ratelimiter<InetAddress> ipAttemptLimiter;
   private @MonotonicNonNull Ratelimiter<UUID> commandRateLimiter;
   private @MonotonicNonNull Ratelimiter<UUID> tabCompleteRateLimiter;
   private final VelocityEventManager eventManager;
   private final VelocityScheduler scheduler;
+  private final VelocityPluginTimings pluginTimings = new VelocityPluginTimings();
+  private @MonotonicNonNull AdaptiveCompressionLevel adaptiveCompressionLevel;
   private final VelocityChannelRegistrar channelRegistrar = new VelocityChannelRegistrar();
   private final ServerListPingHandler serverListPingHandler;
 
   VelocityServer(final ProxyOptions options) {
     pluginManager = new VelocityPluginManager(this);
-    eventManager = new VelocityEventManager(pluginManager);
+    eventManager = new VelocityEventManager(pluginManager, pluginTimings);
     commandManager = new VelocityCommandManager(eventManager, pluginManager);
-    scheduler = new VelocityScheduler(pluginManager);
+    scheduler = new VelocityScheduler(pluginManager, pluginTimings);
     console = new VelocityConsole(this);
     cm = new ConnectionManager(this);
     servers = new ServerMap(this);
@@ -221,11 +246,22 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
         "velocity", version.getName(), version.getVersion(), "The Velocity proxy",
             version.getName().equals("Velocity") ? VELOCITY_URL : null,
             ImmutableList.of(version.getVendor()), Collections.emptyList(), null);
-    VelocityPluginContainer container = new VelocityPluginContainer(description);
+    VelocityPluginContainer container = new VelocityPluginContainer(description,
+        this::isPluginVirtualThreads);
     container.setInstance(VelocityVirtualPlugin.INSTANCE);
     return container;
   }
 
+  /**
+   * Determines whether the executor of the given plugin should run its tasks on virtual threads.
+   *
+   * @param description the description of the plugin
+   * @return whether the plugin should use virtual threads
+   */
+  public boolean isPluginVirtualThreads(PluginDescription description) {
+    return configuration != null && configuration.isPluginVirtualThreads(description.getId());
+  }
+
   @Override
   public VelocityCommandManager getCommandManager() {
     return commandManager;
@@ -333,6 +369,9 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       this.cm.queryBind(configuration.getBind().getHostString(), configuration.getQueryPort());
     }
 
+    cluster.start(configuration.getCluster());
+    resourcePackHost.start(configuration.getResourcePackServer());
+
     final String defaultPackage = new String(
         new byte[] { 'o', 'r', 'g', '.', 'b', 's', 't', 'a', 't', 's' });
     if (!MetricsBase.class.getPackage().getName().startsWith(defaultPackage)) {
@@ -413,6 +452,17 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       }
 
       commandManager.setAnnounceProxyCommands(configuration.isAnnounceProxyCommands());
+      pluginTimings.setAlwaysEnabled(configuration.isPluginTimings());
+      eventManager.setHandlerTimeouts(configuration.getEventHandlerTimeout(),
+          configuration.getEventHandlerTimeoutOverrides());
+      adaptiveCompressionLevel = new AdaptiveCompressionLevel(
+          configuration.getAdaptiveCompressionFloor(),
+          configuration.getAdaptiveCompressionCeiling());
+      ClickCallbackManager.INSTANCE.setMaxCallbacksPerPlugin(
+          configuration.getMaxClickCallbacksPerPlugin());
+      if (configuration.isPluginVirtualThreadsTracePinning()) {
+        VirtualThreads.enablePinningDiagnostics();
+      }
     } catch (Exception e) {
       logger.error("Unable to read/load/save your velocity.toml. The server will shut down.", e);
       LogManager.shutdown();
@@ -556,6 +606,13 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     }
 
     commandManager.setAnnounceProxyCommands(newConfiguration.isAnnounceProxyCommands());
+    pluginTimings.setAlwaysEnabled(newConfiguration.isPluginTimings());
+    eventManager.setHandlerTimeouts(newConfiguration.getEventHandlerTimeout(),
+        newConfiguration.getEventHandlerTimeoutOverrides());
+    adaptiveCompressionLevel.setBounds(newConfiguration.getAdaptiveCompressionFloor(),
+        newConfiguration.getAdaptiveCompressionCeiling());
+    ClickCallbackManager.INSTANCE.setMaxCallbacksPerPlugin(
+        newConfiguration.getMaxClickCallbacksPerPlugin());
     ipAttemptLimiter = Ratelimiters.createWithMilliseconds(newConfiguration.getLoginRatelimit());
     this.configuration = newConfiguration;
     eventManager.fireAndForget(new ProxyReloadEvent());
@@ -583,6 +640,9 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       // Shutdown the connection manager, this should be
       // done first to refuse new connections
       cm.shutdown();
+      cluster.shutdown();
+      resourcePackHost.shutdown();
+      resourcePackHasher.shutdown();
 
       try {
         eventManager.fire(new ProxyPreShutdownEvent())
@@ -707,6 +767,18 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
         || connectionsByUuid.containsKey(connection.getUniqueId()));
   }
 
+  /**
+   * Checks whether the {@code connection} may be registered as far as the other proxies of the
+   * cluster are concerned.
+   *
+   * @param connection the connection to check
+   * @return a future completing with whether the connection may be registered
+   */
+  public CompletableFuture<Boolean> canRegisterClusterConnection(ConnectedPlayer connection) {
+    return cluster.checkLogin(connection.getUniqueId(), connection.getUsername(),
+        configuration.isOnlineMode() && configuration.isOnlineModeKickExistingPlayers());
+  }
+
   /**
    * Attempts to register the {@code connection} with the proxy.
    *
@@ -734,6 +806,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       connectionsByName.put(lowerName, connection);
       connectionsByUuid.put(connection.getUniqueId(), connection);
     }
+    playersVersion.incrementAndGet();
+    cluster.markDirty();
     return true;
   }
 
@@ -744,7 +818,10 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
    */
   public void unregisterConnection(ConnectedPlayer connection) {
     connectionsByName.remove(connection.getUsername().toLowerCase(Locale.US), connection);
-    connectionsByUuid.remove(connection.getUniqueId(), connection);
+    if (connectionsByUuid.remove(connection.getUniqueId(), connection)) {
+      playersVersion.incrementAndGet();
+      cluster.markDirty();
+    }
     connection.disconnected();
   }
 
@@ -788,6 +865,33 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return connectionsByUuid.size();
   }
 
+  /**
+   * Returns a number that changes whenever a player joins or leaves the proxy.
+   *
+   * @return the version of the player list
+   */
+  public int getPlayersVersion() {
+    return playersVersion.get();
+  }
+
+  /**
+   * Returns a number that changes whenever a server is registered or unregistered.
+   *
+   * @return the version of the server list
+   */
+  public int getServersVersion() {
+    return servers.getVersion();
+  }
+
+  public BungeeCordResponseCache getBungeeCordResponses() {
+    return bungeeCordResponses;
+  }
+
+  @Override
+  public VelocityProxyCluster getCluster() {
+    return cluster;
+  }
+
   @Override
   public Optional<RegisteredServer> getServer(String name) {
     return servers.getServer(name);
@@ -833,6 +937,15 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return scheduler;
   }
 
+  public AdaptiveCompressionLevel getAdaptiveCompressionLevel() {
+    return adaptiveCompressionLevel;
+  }
+
+  @Override
+  public VelocityPluginTimings getPluginTimings() {
+    return pluginTimings;
+  }
+
   @Override
   public VelocityChannelRegistrar getChannelRegistrar() {
     return channelRegistrar;
@@ -860,6 +973,63 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return audiences;
   }
 
+  // The operations below are sent to all players through the broadcast audience, which writes to
+  // them with one task per event loop instead of one per player.
+
+  @Override
+  public void sendMessage(@NonNull Component message) {
+    this.console.sendMessage(message);
+    this.playerBroadcast.sendMessage(message);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message) {
+    this.console.sendMessage(source, message);
+    this.playerBroadcast.sendMessage(source, message);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message,
+      @NonNull MessageType type) {
+    this.console.sendMessage(source, message, type);
+    this.playerBroadcast.sendMessage(source, message, type);
+  }
+
+  @Override
+  public void sendActionBar(@NonNull Component message) {
+    this.playerBroadcast.sendActionBar(message);
+  }
+
+  @Override
+  public void showTitle(@NonNull Title title) {
+    this.playerBroadcast.showTitle(title);
+  }
+
+  @Override
+  public <T> void sendTitlePart(@NonNull TitlePart<T> part, @NonNull T value) {
+    this.playerBroadcast.sendTitlePart(part, value);
+  }
+
+  @Override
+  public void clearTitle() {
+    this.playerBroadcast.clearTitle();
+  }
+
+  @Override
+  public void resetTitle() {
+    this.playerBroadcast.resetTitle();
+  }
+
+  @Override
+  public void playSound(@NonNull Sound sound, Sound.@NonNull Emitter emitter) {
+    this.playerBroadcast.playSound(sound, emitter);
+  }
+
+  @Override
+  public void stopSound(@NonNull SoundStop stop) {
+    this.playerBroadcast.stopSound(stop);
+  }
+
   /**
    * Returns a Gson instance for use in serializing server ping instances.
    *
@@ -881,4 +1051,13 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   public ResourcePackInfo.Builder createResourcePackBuilder(String url) {
     return new VelocityResourcePackInfo.BuilderImpl(url);
   }
+
+  @Override
+  public VelocityResourcePackHost getResourcePackHost() {
+    return resourcePackHost;
+  }
+
+  public ResourcePackHasher getResourcePackHasher() {
+    return resourcePackHasher;
+  }
 }
@@ -17,51 +17,79 @@
 
 package com.velocitypowered.proxy.adventure;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.Expiry;
-import com.github.benmanes.caffeine.cache.Scheduler;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.event.ClickCallback;
-import org.checkerframework.checker.index.qual.NonNegative;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Click callback manager.
+ *
+ * <p>Callbacks are kept in a hashed timing wheel with one slot per second, so expiring them costs
+ * constant time per callback instead of a priority queue per cache. The wheel is advanced by the
+ * threads that register and run callbacks, so no timer thread is needed; a callback that expired
+ * but was not swept yet can't be run either.
+ *
+ * <p>Callback IDs are a sequence number followed by a SipHash of it under a random key. They are
+ * as hard to guess as random IDs, but don't need a {@link SecureRandom} for every callback.
  */
 public class ClickCallbackManager {
-  public static final ClickCallbackManager INSTANCE = new ClickCallbackManager();
+  public static final ClickCallbackManager INSTANCE = new ClickCallbackManager(System::nanoTime);
 
   static final String COMMAND = "/velocity:callback ";
 
-  private final Cache<UUID, RegisteredCallback> registrations = Caffeine.newBuilder()
-      .expireAfter(new Expiry<UUID, RegisteredCallback>() {
-        @Override
-        public long expireAfterCreate(UUID key, RegisteredCallback value, long currentTime) {
-          return value.duration().toNanos();
-        }
+  public static final int DEFAULT_MAX_CALLBACKS_PER_PLUGIN = 100_000;
 
-        @Override
-        public long expireAfterUpdate(UUID key, RegisteredCallback value, long currentTime,
-                                      @NonNegative long currentDuration) {
-          return currentDuration;
-        }
+  private static final Logger logger = LogManager.getLogger(ClickCallbackManager.class);
+  private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final int WHEEL_SIZE = 4096;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  // Far enough in the future to never expire, but without overflowing deadlines.
+  private static final long MAX_LIFETIME_NANOS = Long.MAX_VALUE / 4;
+  private static final int ID_RADIX = 36;
 
-        @Override
-        public long expireAfterRead(UUID key, RegisteredCallback value, long currentTime,
-                                    @NonNegative long currentDuration) {
-          final AtomicInteger remainingUses = value.remainingUses();
-          if (remainingUses != null && remainingUses.get() <= 0) {
-            return 0;
-          }
-          return currentDuration;
-        }
-      })
-      .scheduler(Scheduler.systemScheduler())
-      .build();
+  private final LongSupplier clock;
+  private final HashFunction tagFunction;
 
-  private ClickCallbackManager() {
+  // Guarded by this
+  private final Long2ObjectMap<RegisteredCallback> callbacks = new Long2ObjectOpenHashMap<>();
+  private final @Nullable RegisteredCallback[] wheel = new RegisteredCallback[WHEEL_SIZE];
+  private final Map<@Nullable ClassLoader, Owner> owners = new HashMap<>();
+  private long nextTick;
+  private long nextId;
+  private int maxCallbacksPerOwner = DEFAULT_MAX_CALLBACKS_PER_PLUGIN;
+  private long registered;
+  private long expired;
+  private long evicted;
+
+  ClickCallbackManager(final LongSupplier clock) {
+    this.clock = clock;
+    final SecureRandom random = new SecureRandom();
+    this.tagFunction = Hashing.sipHash24(random.nextLong(), random.nextLong());
+    this.nextTick = Math.floorDiv(clock.getAsLong(), TICK_NANOS);
+  }
+
+  /**
+   * Sets how many callbacks a single plugin may have registered at once. Once a plugin registers
+   * more, its oldest callbacks are discarded.
+   *
+   * @param maxCallbacks the maximum number of callbacks, or {@code 0} for no limit
+   */
+  public synchronized void setMaxCallbacksPerPlugin(final int maxCallbacks) {
+    this.maxCallbacksPerOwner = maxCallbacks;
   }
 
   /**
@@ -71,13 +99,46 @@ public class ClickCallbackManager {
    * @param id       the callback's ID
    * @return {@code true} if the callback was run, {@code false} if not
    */
-  public boolean runCallback(final Audience audience, final UUID id) {
-    final RegisteredCallback callback = this.registrations.getIfPresent(id);
-    if (callback != null && callback.tryUse()) {
-      callback.callback().accept(audience);
-      return true;
+  public boolean runCallback(final Audience audience, final String id) {
+    final int separator = id.indexOf('.');
+    if (separator < 0) {
+      return false;
+    }
+    final long sequence;
+    final long tag;
+    try {
+      sequence = Long.parseLong(id.substring(0, separator), ID_RADIX);
+      tag = Long.parseUnsignedLong(id.substring(separator + 1), ID_RADIX);
+    } catch (final NumberFormatException e) {
+      return false;
     }
-    return false;
+    if (tag != this.tag(sequence)) {
+      return false;
+    }
+
+    final RegisteredCallback callback;
+    final long now = this.clock.getAsLong();
+    synchronized (this) {
+      this.advance(now);
+      callback = this.callbacks.get(sequence);
+      if (callback == null) {
+        return false;
+      }
+      if (callback.isExpired(now)) {
+        this.remove(callback);
+        this.expired++;
+        return false;
+      }
+      if (!callback.tryUse()) {
+        return false;
+      }
+      if (callback.isUsedUp()) {
+        this.remove(callback);
+      }
+    }
+    // Run the callback outside the lock, it may well register new callbacks.
+    callback.callback.accept(audience);
+    return true;
   }
 
   /**
@@ -87,17 +148,196 @@ public class ClickCallbackManager {
    * @param options  associated options
    * @return the callback ID
    */
-  public UUID register(
+  public String register(
       final ClickCallback<Audience> callback,
       final ClickCallback.Options options
   ) {
-    final UUID id = UUID.randomUUID();
-    final RegisteredCallback registration = new RegisteredCallback(
-        options.lifetime(),
-        options.uses(),
-        callback
-    );
-    this.registrations.put(id, registration);
-    return id;
+    final long lifetime = lifetimeNanos(options.lifetime());
+    final ClassLoader loader = callback.getClass().getClassLoader();
+    final long now = this.clock.getAsLong();
+    final long deadline = now + lifetime;
+    final long sequence;
+    synchronized (this) {
+      this.advance(now);
+      sequence = this.nextId++;
+      final Owner owner = this.owners.computeIfAbsent(loader, Owner::new);
+      final RegisteredCallback registration = new RegisteredCallback(sequence, deadline,
+          Math.max(ceilDiv(deadline, TICK_NANOS), this.nextTick), options.uses(), callback,
+          owner);
+      this.callbacks.put(sequence, registration);
+      this.linkWheel(registration);
+      owner.append(registration);
+      this.registered++;
+
+      if (this.maxCallbacksPerOwner > 0 && owner.size > this.maxCallbacksPerOwner) {
+        if (!owner.capWarned) {
+          owner.capWarned = true;
+          logger.warn("The plugin that created click callback {} has more than {} callbacks "
+              + "registered, discarding the oldest ones", callback.getClass().getName(),
+              this.maxCallbacksPerOwner);
+        }
+        this.remove(owner.head);
+        this.evicted++;
+      }
+    }
+    return Long.toString(sequence, ID_RADIX) + '.'
+        + Long.toUnsignedString(this.tag(sequence), ID_RADIX);
+  }
+
+  /**
+   * Returns statistics about the registered callbacks.
+   *
+   * @return the statistics
+   */
+  public synchronized Statistics getStatistics() {
+    this.advance(this.clock.getAsLong());
+    final List<OwnerStatistics> owners = new ArrayList<>();
+    for (final Owner owner : this.owners.values()) {
+      if (owner.size > 0) {
+        owners.add(new OwnerStatistics(owner.loader, owner.size));
+      }
+    }
+    return new Statistics(this.callbacks.size(), this.registered, this.expired, this.evicted,
+        owners);
+  }
+
+  private long tag(final long sequence) {
+    return this.tagFunction.hashLong(sequence).asLong();
+  }
+
+  /**
+   * Drops the expired callbacks of every wheel slot that is due.
+   */
+  private void advance(final long now) {
+    final long nowTick = Math.floorDiv(now, TICK_NANOS);
+    if (nowTick < this.nextTick) {
+      return;
+    }
+    // After a full turn, every slot was visited, so don't bother going around again.
+    final long lastTick = Math.min(nowTick, this.nextTick + WHEEL_SIZE - 1);
+    for (long tick = this.nextTick; tick <= lastTick; tick++) {
+      RegisteredCallback callback = this.wheel[(int) (tick & WHEEL_MASK)];
+      while (callback != null) {
+        final RegisteredCallback next = callback.wheelNext;
+        // Callbacks further away than one turn stay in the slot until a later turn.
+        if (callback.deadlineTick <= nowTick) {
+          this.remove(callback);
+          this.expired++;
+        }
+        callback = next;
+      }
+    }
+    this.nextTick = nowTick + 1;
+  }
+
+  private void linkWheel(final RegisteredCallback callback) {
+    final int slot = (int) (callback.deadlineTick & WHEEL_MASK);
+    final RegisteredCallback head = this.wheel[slot];
+    callback.wheelNext = head;
+    if (head != null) {
+      head.wheelPrev = callback;
+    }
+    this.wheel[slot] = callback;
+  }
+
+  private void remove(final RegisteredCallback callback) {
+    this.callbacks.remove(callback.id);
+
+    final RegisteredCallback prev = callback.wheelPrev;
+    final RegisteredCallback next = callback.wheelNext;
+    if (prev != null) {
+      prev.wheelNext = next;
+    } else {
+      this.wheel[(int) (callback.deadlineTick & WHEEL_MASK)] = next;
+    }
+    if (next != null) {
+      next.wheelPrev = prev;
+    }
+    callback.wheelPrev = null;
+    callback.wheelNext = null;
+
+    callback.owner.unlink(callback);
+  }
+
+  private static long lifetimeNanos(final Duration lifetime) {
+    if (lifetime.isNegative()) {
+      return 0;
+    }
+    if (lifetime.getSeconds() >= MAX_LIFETIME_NANOS / TICK_NANOS) {
+      return MAX_LIFETIME_NANOS;
+    }
+    return lifetime.toNanos();
+  }
+
+  private static long ceilDiv(final long x, final long y) {
+    return -Math.floorDiv(-x, y);
+  }
+
+  /**
+   * The callbacks created by the code of a single class loader, which is a single plugin for
+   * plugin code, oldest first.
+   */
+  static final class Owner {
+
+    private final @Nullable ClassLoader loader;
+    private @Nullable RegisteredCallback head;
+    private @Nullable RegisteredCallback tail;
+    private int size;
+    private boolean capWarned;
+
+    private Owner(final @Nullable ClassLoader loader) {
+      this.loader = loader;
+    }
+
+    private void append(final RegisteredCallback callback) {
+      callback.ownerPrev = this.tail;
+      if (this.tail != null) {
+        this.tail.ownerNext = callback;
+      } else {
+        this.head = callback;
+      }
+      this.tail = callback;
+      this.size++;
+    }
+
+    private void unlink(final RegisteredCallback callback) {
+      final RegisteredCallback prev = callback.ownerPrev;
+      final RegisteredCallback next = callback.ownerNext;
+      if (prev != null) {
+        prev.ownerNext = next;
+      } else {
+        this.head = next;
+      }
+      if (next != null) {
+        next.ownerPrev = prev;
+      } else {
+        this.tail = prev;
+      }
+      callback.ownerPrev = null;
+      callback.ownerNext = null;
+      this.size--;
+    }
+  }
+
+  /**
+   * Statistics about the registered callbacks.
+   *
+   * @param callbacks the number of callbacks currently registered
+   * @param registered the number of callbacks registered so far
+   * @param expired the number of callbacks that expired before they were used up
+   * @param evicted the number of callbacks discarded because their plugin had too many
+   * @param owners the number of callbacks registered by each class loader
+   */
+  public record Statistics(int callbacks, long registered, long expired, long evicted,
+                           List<OwnerStatistics> owners) {
+  }
+
+  /**
+   * The number of callbacks registered by the code of a class loader.
+   *
+   * @param loader the class loader, or {@code null} for the bootstrap class loader
+   * @param callbacks the number of callbacks
+   */
+  public record OwnerStatistics(@Nullable ClassLoader loader, int callbacks) {
   }
 }
@@ -18,7 +18,6 @@
 package com.velocitypowered.proxy.adventure;
 
 import com.google.auto.service.AutoService;
-import java.util.UUID;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.event.ClickCallback;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -34,7 +33,7 @@ public class ClickCallbackProviderImpl implements ClickCallback.Provider {
       final ClickCallback<Audience> callback,
       final ClickCallback.Options options
   ) {
-    final UUID id = ClickCallbackManager.INSTANCE.register(callback, options);
+    final String id = ClickCallbackManager.INSTANCE.register(callback, options);
     return ClickEvent.runCommand(ClickCallbackManager.COMMAND + id);
   }
 }
@@ -17,37 +17,63 @@
 
 package com.velocitypowered.proxy.adventure;
 
-import java.time.Duration;
-import java.util.concurrent.atomic.AtomicInteger;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.event.ClickCallback;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
+/**
+ * A registered click callback. Besides the callback itself, it is linked into a slot of the
+ * expiry wheel and into the list of callbacks of its owner, so that both can drop it in constant
+ * time. All fields are guarded by the {@link ClickCallbackManager}.
+ */
 @NullMarked
-record RegisteredCallback(
-    Duration duration,
-    @Nullable AtomicInteger remainingUses,
-    ClickCallback<Audience> callback
-) {
+final class RegisteredCallback {
+
+  final long id;
+  final long deadlineTick;
+  final long deadlineNanos;
+  final ClickCallback<Audience> callback;
+  final ClickCallbackManager.Owner owner;
+  private int remainingUses;
+
+  @Nullable RegisteredCallback wheelPrev;
+  @Nullable RegisteredCallback wheelNext;
+  @Nullable RegisteredCallback ownerPrev;
+  @Nullable RegisteredCallback ownerNext;
+
   RegisteredCallback(
-      final Duration duration,
+      final long id,
+      final long deadlineNanos,
+      final long deadlineTick,
       final int maxUses,
-      final ClickCallback<Audience> callback
+      final ClickCallback<Audience> callback,
+      final ClickCallbackManager.Owner owner
   ) {
-    this(
-        duration,
-        maxUses == ClickCallback.UNLIMITED_USES
-          ? null
-          : new AtomicInteger(maxUses),
-        callback
-    );
+    this.id = id;
+    this.deadlineNanos = deadlineNanos;
+    this.deadlineTick = deadlineTick;
+    this.remainingUses = maxUses;
+    this.callback = callback;
+    this.owner = owner;
+  }
+
+  boolean isExpired(final long nanos) {
+    return nanos - this.deadlineNanos >= 0;
   }
 
   boolean tryUse() {
-    if (this.remainingUses != null) {
-      return this.remainingUses.decrementAndGet() >= 0;
+    if (this.remainingUses == ClickCallback.UNLIMITED_USES) {
+      return true;
+    }
+    if (this.remainingUses <= 0) {
+      return false;
     }
+    this.remainingUses--;
     return true;
   }
+
+  boolean isUsedUp() {
+    return this.remainingUses == 0;
+  }
 }
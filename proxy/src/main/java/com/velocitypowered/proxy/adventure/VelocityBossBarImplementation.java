@@ -21,21 +21,29 @@ import com.google.common.collect.MapMaker;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import io.netty.channel.EventLoop;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.bossbar.BossBarImplementation;
 import net.kyori.adventure.text.Component;
 
 /**
  * Implementation of a {@link BossBarImplementation}.
+ *
+ * <p>Viewers are grouped by the event loop of their connection. A change to the boss bar is
+ * handed to each of those event loops as a single task, which writes the packet to all viewers
+ * of that loop; the {@link com.velocitypowered.proxy.connection.player.bossbar.BossBarManager}
+ * of each viewer is only ever touched from its own event loop.
  */
 @SuppressWarnings("MissingJavadocMethod")
 public final class VelocityBossBarImplementation implements BossBar.Listener,
     BossBarImplementation {
-  private final Set<ConnectedPlayer> viewers = Collections.newSetFromMap(
-      new MapMaker().weakKeys().makeMap());
+  private final Map<EventLoop, Set<ConnectedPlayer>> viewers = new ConcurrentHashMap<>();
   private final UUID id = UUID.randomUUID();
   private final BossBar bar;
 
@@ -48,35 +56,77 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
   }
 
   public boolean viewerAdd(final ConnectedPlayer viewer) {
-    if (this.viewers.add(viewer)) {
-      final ComponentHolder name = new ComponentHolder(
-          viewer.getProtocolVersion(),
-          viewer.translateMessage(this.bar.name())
-      );
-      viewer.getBossBarManager().writeUpdate(this, BossBarPacket.createAddPacket(this.id, this.bar, name));
+    final EventLoop loop = viewer.getConnection().eventLoop();
+    final Set<ConnectedPlayer> group = this.viewers.computeIfAbsent(loop,
+        key -> Collections.newSetFromMap(new MapMaker().weakKeys().makeMap()));
+    if (group.add(viewer)) {
+      // The packet is created on the event loop, so that it reflects every change made before it
+      // reaches the viewer.
+      execute(loop, () -> viewer.getBossBarManager().add(this, this.createAddPacket(viewer)));
       return true;
     }
     return false;
   }
 
   public void createDirect(final ConnectedPlayer viewer) {
-    final ComponentHolder name = new ComponentHolder(
-        viewer.getProtocolVersion(),
-        viewer.translateMessage(this.bar.name())
-    );
-    viewer.getConnection().write(BossBarPacket.createAddPacket(this.id, this.bar, name));
+    viewer.getConnection().write(this.createAddPacket(viewer));
   }
 
   public boolean viewerRemove(final ConnectedPlayer viewer) {
-    if (this.viewers.remove(viewer)) {
-      viewer.getBossBarManager().remove(this, BossBarPacket.createRemovePacket(this.id, this.bar));
+    final EventLoop loop = viewer.getConnection().eventLoop();
+    final Set<ConnectedPlayer> group = this.viewers.get(loop);
+    if (group != null && group.remove(viewer)) {
+      final BossBarPacket packet = BossBarPacket.createRemovePacket(this.id, this.bar);
+      execute(loop, () -> viewer.getBossBarManager().remove(this, packet));
       return true;
     }
     return false;
   }
 
   public void viewerDisconnected(final ConnectedPlayer viewer) {
-    this.viewers.remove(viewer);
+    final Set<ConnectedPlayer> group = this.viewers.get(viewer.getConnection().eventLoop());
+    if (group != null) {
+      group.remove(viewer);
+    }
+  }
+
+  private BossBarPacket createAddPacket(final ConnectedPlayer viewer) {
+    final ComponentHolder name = new ComponentHolder(
+        viewer.getProtocolVersion(),
+        viewer.translateMessage(this.bar.name())
+    );
+    return BossBarPacket.createAddPacket(this.id, this.bar, name);
+  }
+
+  private void broadcast(final BossBarPacket packet) {
+    this.forEachViewer(viewer -> viewer.getBossBarManager().writeUpdate(this, packet));
+  }
+
+  /**
+   * Runs the action for every viewer on the event loop of the viewer, with one task per event
+   * loop instead of one per viewer. The groups are read when the tasks run; viewers added in the
+   * meantime are skipped by their boss bar manager until the boss bar was created for them.
+   */
+  private void forEachViewer(final Consumer<ConnectedPlayer> action) {
+    for (final Map.Entry<EventLoop, Set<ConnectedPlayer>> entry : this.viewers.entrySet()) {
+      final Set<ConnectedPlayer> group = entry.getValue();
+      if (group.isEmpty()) {
+        continue;
+      }
+      execute(entry.getKey(), () -> {
+        for (final ConnectedPlayer viewer : group) {
+          action.accept(viewer);
+        }
+      });
+    }
+  }
+
+  private static void execute(final EventLoop loop, final Runnable task) {
+    if (loop.inEventLoop()) {
+      task.run();
+    } else {
+      loop.execute(task);
+    }
   }
 
   @Override
@@ -85,7 +135,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final Component oldName,
       final Component newName
   ) {
-    for (final ConnectedPlayer viewer : this.viewers) {
+    this.forEachViewer(viewer -> {
       final Component translated = viewer.translateMessage(newName);
       final BossBarPacket packet = BossBarPacket.createUpdateNamePacket(
           this.id,
@@ -93,7 +143,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
           new ComponentHolder(viewer.getProtocolVersion(), translated)
       );
       viewer.getBossBarManager().writeUpdate(this, packet);
-    }
+    });
   }
 
   @Override
@@ -102,10 +152,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final float oldProgress,
       final float newProgress
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateProgressPacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getBossBarManager().writeUpdate(this, packet);
-    }
+    this.broadcast(BossBarPacket.createUpdateProgressPacket(this.id, this.bar));
   }
 
   @Override
@@ -114,10 +161,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final BossBar.Color oldColor,
       final BossBar.Color newColor
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateStylePacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getBossBarManager().writeUpdate(this, packet);
-    }
+    this.broadcast(BossBarPacket.createUpdateStylePacket(this.id, this.bar));
   }
 
   @Override
@@ -126,10 +170,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final BossBar.Overlay oldOverlay,
       final BossBar.Overlay newOverlay
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateStylePacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getBossBarManager().writeUpdate(this, packet);
-    }
+    this.broadcast(BossBarPacket.createUpdateStylePacket(this.id, this.bar));
   }
 
   @Override
@@ -138,9 +179,6 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final Set<BossBar.Flag> flagsAdded,
       final Set<BossBar.Flag> flagsRemoved
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdatePropertiesPacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getBossBarManager().writeUpdate(this, packet);
-    }
+    this.broadcast(BossBarPacket.createUpdatePropertiesPacket(this.id, this.bar));
   }
 }
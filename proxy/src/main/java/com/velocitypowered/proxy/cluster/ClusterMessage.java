@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import java.util.UUID;
+
+/**
+ * A message exchanged between the proxies of a cluster. Every message starts with the protocol
+ * version and its type, followed by the ID of the sending proxy. Messages are broadcast to every
+ * proxy; those meant for a single proxy name it as their target, and the others ignore them.
+ */
+interface ClusterMessage {
+
+  int PROTOCOL_VERSION = 2;
+
+  /**
+   * Returns the ID of the proxy that sent the message.
+   *
+   * @return the ID of the sending proxy
+   */
+  String proxyId();
+
+  /**
+   * Writes the message, including its header.
+   *
+   * @param buf the buffer to write to
+   */
+  void encode(ByteBuf buf);
+
+  /**
+   * Reads a message written by {@link #encode(ByteBuf)}.
+   *
+   * @param buf the buffer to read from
+   * @return the message
+   */
+  static ClusterMessage decode(ByteBuf buf) {
+    int version = buf.readUnsignedByte();
+    if (version != PROTOCOL_VERSION) {
+      throw new IllegalArgumentException("Unsupported cluster protocol version " + version);
+    }
+    int type = buf.readUnsignedByte();
+    return switch (type) {
+      case PresenceBatch.TYPE -> PresenceBatch.decodeBody(buf);
+      case PlayerQuery.TYPE -> PlayerQuery.decodeBody(buf);
+      case PlayerQueryReply.TYPE -> PlayerQueryReply.decodeBody(buf);
+      case PlayerKick.TYPE -> PlayerKick.decodeBody(buf);
+      default -> throw new IllegalArgumentException("Unknown cluster message type " + type);
+    };
+  }
+
+  /**
+   * Writes the header every message starts with.
+   *
+   * @param buf the buffer to write to
+   * @param type the type of the message
+   * @param proxyId the ID of the sending proxy
+   */
+  static void writeHeader(ByteBuf buf, int type, String proxyId) {
+    buf.writeByte(PROTOCOL_VERSION);
+    buf.writeByte(type);
+    ProtocolUtils.writeString(buf, proxyId);
+  }
+
+  /**
+   * Asks the proxy a player is believed to be connected to whether that is still the case,
+   * before another proxy turns the player away.
+   *
+   * @param proxyId the ID of the asking proxy
+   * @param target the ID of the proxy the player is believed to be connected to
+   * @param requestId identifies the query within the asking proxy
+   * @param uniqueId the UUID of the player
+   * @param username the username of the player
+   */
+  record PlayerQuery(String proxyId, String target, long requestId, UUID uniqueId,
+                     String username) implements ClusterMessage {
+
+    static final int TYPE = 1;
+
+    @Override
+    public void encode(ByteBuf buf) {
+      writeHeader(buf, TYPE, proxyId);
+      ProtocolUtils.writeString(buf, target);
+      buf.writeLong(requestId);
+      ProtocolUtils.writeUuid(buf, uniqueId);
+      ProtocolUtils.writeString(buf, username);
+    }
+
+    static PlayerQuery decodeBody(ByteBuf buf) {
+      return new PlayerQuery(ProtocolUtils.readString(buf), ProtocolUtils.readString(buf),
+          buf.readLong(), ProtocolUtils.readUuid(buf), ProtocolUtils.readString(buf));
+    }
+  }
+
+  /**
+   * Answers a {@link PlayerQuery}.
+   *
+   * @param proxyId the ID of the answering proxy
+   * @param target the ID of the proxy that asked
+   * @param requestId the ID of the query
+   * @param connected whether the player is connected to the answering proxy
+   */
+  record PlayerQueryReply(String proxyId, String target, long requestId, boolean connected)
+      implements ClusterMessage {
+
+    static final int TYPE = 2;
+
+    @Override
+    public void encode(ByteBuf buf) {
+      writeHeader(buf, TYPE, proxyId);
+      ProtocolUtils.writeString(buf, target);
+      buf.writeLong(requestId);
+      buf.writeBoolean(connected);
+    }
+
+    static PlayerQueryReply decodeBody(ByteBuf buf) {
+      return new PlayerQueryReply(ProtocolUtils.readString(buf), ProtocolUtils.readString(buf),
+          buf.readLong(), buf.readBoolean());
+    }
+  }
+
+  /**
+   * Tells a proxy to disconnect a player who logged in to another proxy, if existing players are
+   * to be kicked.
+   *
+   * @param proxyId the ID of the proxy the player logged in to
+   * @param target the ID of the proxy the player was connected to
+   * @param uniqueId the UUID of the player
+   */
+  record PlayerKick(String proxyId, String target, UUID uniqueId) implements ClusterMessage {
+
+    static final int TYPE = 3;
+
+    @Override
+    public void encode(ByteBuf buf) {
+      writeHeader(buf, TYPE, proxyId);
+      ProtocolUtils.writeString(buf, target);
+      ProtocolUtils.writeUuid(buf, uniqueId);
+    }
+
+    static PlayerKick decodeBody(ByteBuf buf) {
+      return new PlayerKick(ProtocolUtils.readString(buf), ProtocolUtils.readString(buf),
+          ProtocolUtils.readUuid(buf));
+    }
+  }
+}
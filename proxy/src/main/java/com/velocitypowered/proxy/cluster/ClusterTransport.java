@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Carries presence batches between the proxies of a cluster. Implementations only have to deliver
+ * every message to every other proxy, in order per proxy; they do not need to understand them.
+ */
+public interface ClusterTransport {
+
+  /**
+   * Starts the transport.
+   *
+   * @param listener the listener to hand received messages to
+   */
+  void start(Listener listener);
+
+  /**
+   * Sends a message to every connected proxy.
+   *
+   * @param message the message, which is released by the transport
+   */
+  void broadcast(ByteBuf message);
+
+  /**
+   * Stops the transport and closes its connections.
+   */
+  void close();
+
+  /**
+   * Receives the events of a {@link ClusterTransport}. The methods may be called from any thread.
+   */
+  interface Listener {
+
+    /**
+     * Called when a connection to another proxy was established. Messages sent before may have
+     * been missed, so the whole state of this proxy is sent again.
+     */
+    void peerConnected();
+
+    /**
+     * Called when a message was received from another proxy.
+     *
+     * @param connection identifies the connection the message was received on
+     * @param message the message, which is only valid during the call
+     */
+    void messageReceived(Object connection, ByteBuf message);
+
+    /**
+     * Called when a connection to another proxy over which messages were received was lost.
+     *
+     * @param connection identifies the connection, as passed to {@link #messageReceived}
+     */
+    void peerDisconnected(Object connection);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A batch of presence changes sent by one proxy. A full batch replaces everything known about the
+ * proxy, any other batch only describes what changed since the previous one.
+ *
+ * @param proxyId the ID of the sending proxy
+ * @param session a random number identifying the run of the sending proxy
+ * @param sequence the number of the batch within the session
+ * @param full whether the batch contains all players of the proxy
+ * @param online the players that joined the proxy or switched servers
+ * @param offline the players that left the proxy
+ */
+record PresenceBatch(String proxyId, long session, long sequence, boolean full,
+                     List<VelocityClusterPlayer> online, List<UUID> offline)
+    implements ClusterMessage {
+
+  static final int TYPE = 0;
+  private static final int MAX_PREALLOCATED = 1024;
+
+  @Override
+  public void encode(ByteBuf buf) {
+    ClusterMessage.writeHeader(buf, TYPE, proxyId);
+    buf.writeLong(session);
+    buf.writeLong(sequence);
+    buf.writeBoolean(full);
+
+    // Server names repeat a lot, so each batch starts with a table of them. Index 0 means that
+    // the player is not connected to a server.
+    Object2IntMap<String> serverIndexes = new Object2IntOpenHashMap<>();
+    List<String> servers = new ArrayList<>();
+    for (VelocityClusterPlayer player : online) {
+      if (player.serverName() != null && !serverIndexes.containsKey(player.serverName())) {
+        servers.add(player.serverName());
+        serverIndexes.put(player.serverName(), servers.size());
+      }
+    }
+    ProtocolUtils.writeVarInt(buf, servers.size());
+    for (String server : servers) {
+      ProtocolUtils.writeString(buf, server);
+    }
+
+    ProtocolUtils.writeVarInt(buf, online.size());
+    for (VelocityClusterPlayer player : online) {
+      ProtocolUtils.writeUuid(buf, player.uniqueId());
+      ProtocolUtils.writeString(buf, player.username());
+      ProtocolUtils.writeVarInt(buf, player.serverName() == null
+          ? 0 : serverIndexes.getInt(player.serverName()));
+    }
+
+    ProtocolUtils.writeVarInt(buf, offline.size());
+    for (UUID uuid : offline) {
+      ProtocolUtils.writeUuid(buf, uuid);
+    }
+  }
+
+  static PresenceBatch decodeBody(ByteBuf buf) {
+    String proxyId = ProtocolUtils.readString(buf);
+    long session = buf.readLong();
+    long sequence = buf.readLong();
+    boolean full = buf.readBoolean();
+
+    String[] servers = new String[ProtocolUtils.readVarInt(buf)];
+    for (int i = 0; i < servers.length; i++) {
+      servers[i] = ProtocolUtils.readString(buf);
+    }
+
+    int onlineCount = ProtocolUtils.readVarInt(buf);
+    List<VelocityClusterPlayer> online = new ArrayList<>(Math.min(onlineCount, MAX_PREALLOCATED));
+    for (int i = 0; i < onlineCount; i++) {
+      UUID uuid = ProtocolUtils.readUuid(buf);
+      String username = ProtocolUtils.readString(buf);
+      int server = ProtocolUtils.readVarInt(buf);
+      online.add(new VelocityClusterPlayer(uuid, username,
+          server == 0 ? null : servers[server - 1], proxyId));
+    }
+
+    int offlineCount = ProtocolUtils.readVarInt(buf);
+    List<UUID> offline = new ArrayList<>(Math.min(offlineCount, MAX_PREALLOCATED));
+    for (int i = 0; i < offlineCount; i++) {
+      offline.add(ProtocolUtils.readUuid(buf));
+    }
+    return new PresenceBatch(proxyId, session, sequence, full, online, offline);
+  }
+}
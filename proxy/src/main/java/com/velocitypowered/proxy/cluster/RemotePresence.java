@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Holds the players connected to the other proxies of the cluster. Batches are applied under a
+ * lock, while lookups read the concurrent indexes without one.
+ */
+final class RemotePresence {
+
+  private final Map<String, RemoteProxy> proxies = new ConcurrentHashMap<>();
+  private final Map<UUID, VelocityClusterPlayer> players = new ConcurrentHashMap<>();
+  private final Map<String, VelocityClusterPlayer> playersByName = new ConcurrentHashMap<>();
+  private final AtomicInteger version = new AtomicInteger();
+
+  /**
+   * Applies a batch received from another proxy.
+   *
+   * @param batch the batch
+   * @param now the current time, from {@link System#nanoTime()}
+   */
+  synchronized void apply(PresenceBatch batch, long now) {
+    RemoteProxy proxy = proxies.computeIfAbsent(batch.proxyId(), RemoteProxy::new);
+    if (proxy.session == batch.session() && batch.sequence() <= proxy.sequence) {
+      // Proxies that connected to each other twice receive every batch twice.
+      return;
+    }
+    proxy.lastSeen = now;
+
+    boolean changed = false;
+    if (proxy.session != batch.session() || batch.full()) {
+      // A new session means the proxy restarted, so everything we knew about it is gone.
+      changed = !proxy.players.isEmpty();
+      clear(proxy);
+    }
+    proxy.session = batch.session();
+    proxy.sequence = batch.sequence();
+
+    for (VelocityClusterPlayer player : batch.online()) {
+      put(proxy, player);
+      changed = true;
+    }
+    for (UUID uuid : batch.offline()) {
+      changed |= remove(proxy, uuid);
+    }
+    if (changed) {
+      version.incrementAndGet();
+    }
+  }
+
+  /**
+   * Forgets the proxies that were not heard from since the given time.
+   *
+   * @param deadline the oldest acceptable time, from {@link System#nanoTime()}
+   * @return the IDs of the proxies that were forgotten
+   */
+  synchronized List<String> expire(long deadline) {
+    List<String> expired = new ArrayList<>();
+    for (RemoteProxy proxy : proxies.values()) {
+      if (proxy.lastSeen - deadline < 0) {
+        clear(proxy);
+        proxies.remove(proxy.id);
+        expired.add(proxy.id);
+      }
+    }
+    if (!expired.isEmpty()) {
+      version.incrementAndGet();
+    }
+    return expired;
+  }
+
+  /**
+   * Forgets a proxy and its players, for instance because the connection to it was lost.
+   *
+   * @param proxyId the ID of the proxy
+   * @return whether the proxy was known
+   */
+  synchronized boolean forget(String proxyId) {
+    RemoteProxy proxy = proxies.remove(proxyId);
+    if (proxy == null) {
+      return false;
+    }
+    clear(proxy);
+    version.incrementAndGet();
+    return true;
+  }
+
+  private void put(RemoteProxy proxy, VelocityClusterPlayer player) {
+    VelocityClusterPlayer previous = players.put(player.uniqueId(), player);
+    if (previous != null) {
+      if (!previous.proxyId().equals(proxy.id)) {
+        // The player moved to this proxy before the old one told us that they left.
+        RemoteProxy other = proxies.get(previous.proxyId());
+        if (other != null) {
+          other.players.remove(player.uniqueId());
+        }
+      }
+      playersByName.remove(lowerName(previous), previous);
+    }
+    playersByName.put(lowerName(player), player);
+    proxy.players.add(player.uniqueId());
+  }
+
+  private boolean remove(RemoteProxy proxy, UUID uuid) {
+    if (!proxy.players.remove(uuid)) {
+      return false;
+    }
+    VelocityClusterPlayer current = players.get(uuid);
+    if (current != null && current.proxyId().equals(proxy.id)) {
+      players.remove(uuid, current);
+      playersByName.remove(lowerName(current), current);
+    }
+    return true;
+  }
+
+  private void clear(RemoteProxy proxy) {
+    for (UUID uuid : List.copyOf(proxy.players)) {
+      remove(proxy, uuid);
+    }
+  }
+
+  private static String lowerName(VelocityClusterPlayer player) {
+    return player.username().toLowerCase(Locale.US);
+  }
+
+  Collection<VelocityClusterPlayer> players() {
+    return players.values();
+  }
+
+  @Nullable VelocityClusterPlayer get(UUID uuid) {
+    return players.get(uuid);
+  }
+
+  @Nullable VelocityClusterPlayer get(String username) {
+    return playersByName.get(username.toLowerCase(Locale.US));
+  }
+
+  int size() {
+    return players.size();
+  }
+
+  Set<String> proxyIds() {
+    return proxies.keySet();
+  }
+
+  /**
+   * Returns a number that changes whenever a player joins, leaves or switches servers on another
+   * proxy.
+   *
+   * @return the version of the remote players
+   */
+  int version() {
+    return version.get();
+  }
+
+  private static final class RemoteProxy {
+
+    private final String id;
+    private final Set<UUID> players = new HashSet<>();
+    private long session;
+    private long sequence;
+    private long lastSeen;
+
+    private RemoteProxy(String id) {
+      this.id = id;
+    }
+  }
+}
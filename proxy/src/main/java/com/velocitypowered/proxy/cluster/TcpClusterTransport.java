@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import com.google.common.collect.ImmutableList;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The default {@link ClusterTransport}, which connects every proxy directly to the others over
+ * TCP. Each proxy listens for its peers and also connects to every configured peer, reconnecting
+ * whenever a connection is lost.
+ *
+ * <p>Before any presence is exchanged, both ends send a random challenge and answer the other's
+ * with an HMAC keyed by the shared secret, so the secret itself never goes over the wire. The HMAC
+ * covers the role of the answering end and both challenges, so an answer obtained on one
+ * connection can't be replayed on another, and a challenge this proxy sent itself is never
+ * answered. Until the handshake is done, frames are limited to the size of a challenge and the
+ * peer has a few seconds to complete it.
+ */
+public final class TcpClusterTransport implements ClusterTransport {
+
+  private static final Logger logger = LogManager.getLogger(TcpClusterTransport.class);
+  private static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+  private static final int CHALLENGE_SIZE = 32;
+  private static final int MAX_HANDSHAKE_FRAME_SIZE = 64;
+  private static final long HANDSHAKE_TIMEOUT_SECONDS = 10;
+  private static final long RECONNECT_DELAY_SECONDS = 5;
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+  private static final byte[] INITIATOR_LABEL =
+      "velocity-cluster initiator".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] ACCEPTOR_LABEL =
+      "velocity-cluster acceptor".getBytes(StandardCharsets.US_ASCII);
+
+  private final ServerBootstrap serverBootstrap;
+  private final Bootstrap bootstrap;
+  private final InetSocketAddress bind;
+  private final List<InetSocketAddress> peers;
+  private final SecretKeySpec secret;
+  private final SecureRandom random = new SecureRandom();
+  private final ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+  private final ChannelGroup authenticatedChannels =
+      new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+  // The challenges of handshakes in progress, to notice when a peer sends one of them back
+  private final Set<ByteBuffer> pendingChallenges = ConcurrentHashMap.newKeySet();
+  private volatile boolean closed;
+  private @MonotonicNonNull Listener listener;
+  private @Nullable Channel serverChannel;
+
+  /**
+   * Creates a new transport.
+   *
+   * @param serverBootstrap the bootstrap to listen for peers with
+   * @param bootstrap the bootstrap to connect to peers with
+   * @param bind the address to listen on
+   * @param peers the addresses of the other proxies
+   * @param secret the secret shared by the proxies of the cluster
+   */
+  public TcpClusterTransport(ServerBootstrap serverBootstrap, Bootstrap bootstrap,
+      InetSocketAddress bind, List<InetSocketAddress> peers, byte[] secret) {
+    this.serverBootstrap = serverBootstrap;
+    this.bootstrap = bootstrap;
+    this.bind = bind;
+    this.peers = ImmutableList.copyOf(peers);
+    this.secret = new SecretKeySpec(secret, HMAC_ALGORITHM);
+  }
+
+  @Override
+  public void start(Listener listener) {
+    this.listener = listener;
+    ChannelFuture bound = serverBootstrap.clone()
+        .childHandler(new PeerInitializer(false))
+        .childOption(ChannelOption.SO_KEEPALIVE, true)
+        .bind(bind)
+        .awaitUninterruptibly();
+    if (bound.isSuccess()) {
+      serverChannel = bound.channel();
+      channels.add(serverChannel);
+      logger.info("Listening for cluster peers on {}", serverChannel.localAddress());
+    } else {
+      logger.error("Can't bind to {} for cluster peers", bind, bound.cause());
+    }
+
+    for (InetSocketAddress peer : peers) {
+      connect(peer);
+    }
+  }
+
+  /**
+   * Returns the address this transport listens on.
+   *
+   * @return the address, or {@code null} if the transport is not listening
+   */
+  public @Nullable SocketAddress getLocalAddress() {
+    Channel channel = serverChannel;
+    return channel == null ? null : channel.localAddress();
+  }
+
+  private void connect(InetSocketAddress peer) {
+    if (closed) {
+      return;
+    }
+    bootstrap.clone()
+        .handler(new PeerInitializer(true))
+        .option(ChannelOption.SO_KEEPALIVE, true)
+        .connect(peer)
+        .addListener((ChannelFutureListener) future -> {
+          if (future.isSuccess()) {
+            future.channel().closeFuture().addListener(closeFuture ->
+                reconnectLater(future.channel().eventLoop(), peer));
+          } else {
+            logger.debug("Unable to connect to cluster peer {}", peer, future.cause());
+            reconnectLater(future.channel().eventLoop(), peer);
+          }
+        });
+  }
+
+  private void reconnectLater(EventLoop loop, InetSocketAddress peer) {
+    if (!closed) {
+      loop.schedule(() -> connect(peer), RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+  }
+
+  @Override
+  public void broadcast(ByteBuf message) {
+    // The group sends a retained duplicate to every channel and releases the message afterwards.
+    authenticatedChannels.writeAndFlush(message);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    channels.close().awaitUninterruptibly();
+  }
+
+  /**
+   * Computes the answer of one end of a connection to the challenge of the other end.
+   *
+   * @param label the role of the answering end
+   * @param challenge the challenge being answered
+   * @param ownChallenge the challenge the answering end sent
+   * @return the answer
+   */
+  private byte[] sign(byte[] label, byte[] challenge, byte[] ownChallenge) {
+    try {
+      Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(secret);
+      mac.update(label);
+      mac.update(challenge);
+      return mac.doFinal(ownChallenge);
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Unable to sign the cluster challenge", e);
+    }
+  }
+
+  private final class PeerInitializer extends ChannelInitializer<Channel> {
+
+    private final boolean initiator;
+
+    private PeerInitializer(boolean initiator) {
+      this.initiator = initiator;
+    }
+
+    @Override
+    protected void initChannel(Channel ch) {
+      channels.add(ch);
+      PeerFrameDecoder frameDecoder = new PeerFrameDecoder();
+      ch.pipeline()
+          .addLast(frameDecoder)
+          .addLast(new LengthFieldPrepender(4))
+          .addLast(new PeerHandler(frameDecoder, initiator));
+    }
+  }
+
+  /**
+   * Splits the stream into frames, only allowing frames the size of a challenge until the peer
+   * is authenticated.
+   */
+  private static final class PeerFrameDecoder extends LengthFieldBasedFrameDecoder {
+
+    private boolean authenticated;
+
+    private PeerFrameDecoder() {
+      super(MAX_FRAME_SIZE, 0, 4, 0, 4);
+    }
+
+    @Override
+    protected long getUnadjustedFrameLength(ByteBuf buf, int offset, int length,
+        ByteOrder order) {
+      long frameLength = super.getUnadjustedFrameLength(buf, offset, length, order);
+      if (!authenticated && frameLength > MAX_HANDSHAKE_FRAME_SIZE) {
+        throw new CorruptedFrameException("Handshake frame of " + frameLength + " bytes");
+      }
+      return frameLength;
+    }
+  }
+
+  private final class PeerHandler extends ChannelInboundHandlerAdapter {
+
+    private final PeerFrameDecoder frameDecoder;
+    private final byte[] label;
+    private final byte[] peerLabel;
+    private final byte[] challenge = new byte[CHALLENGE_SIZE];
+    private byte @Nullable [] peerChallenge;
+    private boolean authenticated;
+    private @Nullable ScheduledFuture<?> handshakeTimeout;
+
+    private PeerHandler(PeerFrameDecoder frameDecoder, boolean initiator) {
+      this.frameDecoder = frameDecoder;
+      this.label = initiator ? INITIATOR_LABEL : ACCEPTOR_LABEL;
+      this.peerLabel = initiator ? ACCEPTOR_LABEL : INITIATOR_LABEL;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) {
+      random.nextBytes(challenge);
+      pendingChallenges.add(ByteBuffer.wrap(challenge));
+      handshakeTimeout = ctx.executor().schedule(() -> {
+        logger.warn("Cluster peer {} did not complete the handshake in time, disconnecting",
+            ctx.channel().remoteAddress());
+        ctx.close();
+      }, HANDSHAKE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      ctx.writeAndFlush(Unpooled.wrappedBuffer(challenge.clone()));
+      ctx.fireChannelActive();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+      ByteBuf buf = (ByteBuf) msg;
+      try {
+        if (authenticated) {
+          listener.messageReceived(ctx.channel().id(), buf);
+        } else if (peerChallenge == null) {
+          // The first frame is the challenge of the other end.
+          byte[] received = ByteBufUtil.getBytes(buf);
+          if (received.length != CHALLENGE_SIZE
+              || pendingChallenges.contains(ByteBuffer.wrap(received))) {
+            logger.warn("Cluster peer {} sent an invalid challenge, disconnecting",
+                ctx.channel().remoteAddress());
+            ctx.close();
+            return;
+          }
+          peerChallenge = received;
+          ctx.writeAndFlush(Unpooled.wrappedBuffer(sign(label, peerChallenge, challenge)));
+        } else if (MessageDigest.isEqual(sign(peerLabel, challenge, peerChallenge),
+            ByteBufUtil.getBytes(buf))) {
+          authenticated = true;
+          frameDecoder.authenticated = true;
+          endHandshake();
+          authenticatedChannels.add(ctx.channel());
+          logger.info("Connected to cluster peer {}", ctx.channel().remoteAddress());
+          listener.peerConnected();
+        } else {
+          logger.warn("Cluster peer {} does not know the cluster secret, disconnecting",
+              ctx.channel().remoteAddress());
+          ctx.close();
+        }
+      } catch (Exception e) {
+        logger.error("Unable to handle a message from cluster peer {}",
+            ctx.channel().remoteAddress(), e);
+      } finally {
+        buf.release();
+      }
+    }
+
+    private void endHandshake() {
+      pendingChallenges.remove(ByteBuffer.wrap(challenge));
+      if (handshakeTimeout != null) {
+        handshakeTimeout.cancel(false);
+        handshakeTimeout = null;
+      }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+      endHandshake();
+      if (authenticated) {
+        if (!closed) {
+          logger.info("Lost connection to cluster peer {}", ctx.channel().remoteAddress());
+        }
+        listener.peerDisconnected(ctx.channel().id());
+      }
+      ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      logger.debug("Exception in cluster connection to {}", ctx.channel().remoteAddress(), cause);
+      ctx.close();
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import com.velocitypowered.api.proxy.cluster.ClusterPlayer;
+import java.util.Optional;
+import java.util.UUID;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable snapshot of where a player is connected.
+ */
+record VelocityClusterPlayer(UUID uniqueId, String username, @Nullable String serverName,
+                             String proxyId) implements ClusterPlayer {
+
+  @Override
+  public UUID getUniqueId() {
+    return uniqueId;
+  }
+
+  @Override
+  public String getUsername() {
+    return username;
+  }
+
+  @Override
+  public Optional<String> getServerName() {
+    return Optional.ofNullable(serverName);
+  }
+
+  @Override
+  public String getProxyId() {
+    return proxyId;
+  }
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.cluster.ClusterPlayer;
+import com.velocitypowered.api.proxy.cluster.ProxyCluster;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.util.AddressUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.kyori.adventure.text.Component;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Shares the players of this proxy with the other proxies of the cluster and keeps track of
+ * theirs.
+ *
+ * <p>Changes are not sent as they happen. Instead, joins, leaves and server switches mark the
+ * local state as dirty, and every sync interval the current players are compared with the ones
+ * sent last, so that a burst of changes goes out as one delta batch.
+ *
+ * <p>The players of another proxy are forgotten as soon as the connection to it is lost. Since
+ * the shared presence may lag behind, a login is only refused after the proxy the player is
+ * believed to be connected to confirms it.
+ */
+public final class VelocityProxyCluster implements ProxyCluster, ClusterTransport.Listener {
+
+  private static final Logger logger = LogManager.getLogger(VelocityProxyCluster.class);
+  private static final String DEFAULT_PROXY_ID = "velocity";
+  private static final long QUERY_TIMEOUT_MILLIS = 2000;
+
+  private final VelocityServer server;
+  private final RemotePresence remote = new RemotePresence();
+  private final long session = ThreadLocalRandom.current().nextLong();
+  private final Map<Object, String> connectionProxies = new ConcurrentHashMap<>();
+  private final Map<Long, CompletableFuture<Boolean>> pendingQueries = new ConcurrentHashMap<>();
+  private final AtomicLong nextRequestId = new AtomicLong();
+  private volatile String proxyId = DEFAULT_PROXY_ID;
+  private volatile @Nullable ClusterTransport transport;
+  private @Nullable ScheduledExecutorService executor;
+  private volatile boolean dirty;
+  private volatile boolean fullSyncRequested;
+  private boolean duplicateIdWarned;
+
+  // Only accessed from the executor
+  private Map<UUID, VelocityClusterPlayer> sent = Map.of();
+  private long sequence;
+  private long lastSentNanos;
+  private long heartbeatNanos;
+  private long peerTimeoutNanos;
+
+  public VelocityProxyCluster(VelocityServer server) {
+    this.server = server;
+  }
+
+  /**
+   * Starts sharing players with the other proxies, if clustering is enabled.
+   *
+   * @param config the cluster configuration
+   */
+  public void start(VelocityConfiguration.Cluster config) {
+    if (!config.getProxyId().isBlank()) {
+      this.proxyId = config.getProxyId();
+    }
+    if (!config.isEnabled()) {
+      return;
+    }
+
+    List<InetSocketAddress> peers = new ArrayList<>();
+    for (String peer : config.getPeers()) {
+      peers.add(AddressUtil.parseAndResolveAddress(peer));
+    }
+    start(new TcpClusterTransport(server.cm.createServerWorker(), server.cm.createWorker(null),
+        AddressUtil.parseAndResolveAddress(config.getBind()), peers,
+        config.getSecret().getBytes(StandardCharsets.UTF_8)),
+        config.getSyncInterval(), config.getPeerTimeout());
+  }
+
+  /**
+   * Starts sharing players with the other proxies over the given transport.
+   *
+   * @param transport the transport to use
+   * @param syncIntervalMillis how often changes are sent
+   * @param peerTimeoutMillis how long a proxy may stay silent before its players are forgotten
+   */
+  public void start(ClusterTransport transport, long syncIntervalMillis, long peerTimeoutMillis) {
+    this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(peerTimeoutMillis) / 3;
+    this.peerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(peerTimeoutMillis);
+    this.lastSentNanos = System.nanoTime();
+    this.fullSyncRequested = true;
+    this.transport = transport;
+    this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("Velocity Cluster Sync")
+        .setDaemon(true)
+        .build());
+    transport.start(this);
+    executor.scheduleWithFixedDelay(this::tick, syncIntervalMillis, syncIntervalMillis,
+        TimeUnit.MILLISECONDS);
+    logger.info("Sharing players with the cluster as proxy {}", proxyId);
+  }
+
+  /**
+   * Tells the other proxies that this proxy has no players anymore and stops the transport.
+   */
+  public void shutdown() {
+    ClusterTransport transport = this.transport;
+    ScheduledExecutorService executor = this.executor;
+    if (transport == null || executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    sendBatch(new PresenceBatch(proxyId, session, ++sequence, true, List.of(), List.of()));
+    transport.close();
+    this.transport = null;
+  }
+
+  /**
+   * Notes that a player joined, left or switched servers on this proxy.
+   */
+  public void markDirty() {
+    dirty = true;
+  }
+
+  private void tick() {
+    try {
+      long now = System.nanoTime();
+      boolean full = fullSyncRequested;
+      if (full || dirty) {
+        fullSyncRequested = false;
+        dirty = false;
+        sync(full);
+      } else if (now - lastSentNanos >= heartbeatNanos) {
+        // An empty batch tells the other proxies that we are still alive.
+        sendBatch(new PresenceBatch(proxyId, session, ++sequence, false, List.of(), List.of()));
+      }
+
+      for (String expired : remote.expire(now - peerTimeoutNanos)) {
+        logger.info("Cluster proxy {} timed out, forgetting its players", expired);
+      }
+    } catch (Exception e) {
+      logger.error("Unable to synchronize with the cluster", e);
+    }
+  }
+
+  private void sync(boolean full) {
+    Map<UUID, VelocityClusterPlayer> current = new HashMap<>();
+    for (Player player : server.getAllPlayers()) {
+      current.put(player.getUniqueId(), snapshot(player));
+    }
+
+    List<VelocityClusterPlayer> online = new ArrayList<>();
+    List<UUID> offline = new ArrayList<>();
+    if (full) {
+      online.addAll(current.values());
+    } else {
+      for (VelocityClusterPlayer player : current.values()) {
+        if (!player.equals(sent.get(player.uniqueId()))) {
+          online.add(player);
+        }
+      }
+      for (UUID uuid : sent.keySet()) {
+        if (!current.containsKey(uuid)) {
+          offline.add(uuid);
+        }
+      }
+    }
+    sent = current;
+
+    if (full || !online.isEmpty() || !offline.isEmpty()) {
+      sendBatch(new PresenceBatch(proxyId, session, ++sequence, full, online, offline));
+    }
+  }
+
+  private void sendBatch(PresenceBatch batch) {
+    send(batch);
+    lastSentNanos = System.nanoTime();
+  }
+
+  private void send(ClusterMessage message) {
+    ClusterTransport transport = this.transport;
+    if (transport == null) {
+      return;
+    }
+    ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
+    try {
+      message.encode(buf);
+    } catch (Exception e) {
+      buf.release();
+      throw e;
+    }
+    transport.broadcast(buf);
+  }
+
+  @Override
+  public void peerConnected() {
+    fullSyncRequested = true;
+  }
+
+  @Override
+  public void messageReceived(Object connection, ByteBuf buf) {
+    ClusterMessage message = ClusterMessage.decode(buf);
+    if (message.proxyId().equals(proxyId)) {
+      if (!duplicateIdWarned) {
+        duplicateIdWarned = true;
+        logger.warn("Another proxy in the cluster uses the same proxy-id {}. Its players are "
+            + "ignored.", proxyId);
+      }
+      return;
+    }
+    connectionProxies.put(connection, message.proxyId());
+
+    if (message instanceof PresenceBatch batch) {
+      remote.apply(batch, System.nanoTime());
+    } else if (message instanceof ClusterMessage.PlayerQuery query) {
+      if (query.target().equals(proxyId)) {
+        boolean connected = server.getPlayer(query.uniqueId()).isPresent()
+            || server.getPlayer(query.username()).isPresent();
+        send(new ClusterMessage.PlayerQueryReply(proxyId, query.proxyId(), query.requestId(),
+            connected));
+      }
+    } else if (message instanceof ClusterMessage.PlayerQueryReply reply) {
+      if (reply.target().equals(proxyId)) {
+        CompletableFuture<Boolean> pending = pendingQueries.remove(reply.requestId());
+        if (pending != null) {
+          pending.complete(reply.connected());
+        }
+      }
+    } else if (message instanceof ClusterMessage.PlayerKick kick) {
+      if (kick.target().equals(proxyId)) {
+        server.getPlayer(kick.uniqueId()).ifPresent(player -> player.disconnect(
+            Component.translatable("multiplayer.disconnect.duplicate_login")));
+      }
+    }
+  }
+
+  @Override
+  public void peerDisconnected(Object connection) {
+    String peerId = connectionProxies.remove(connection);
+    // Proxies connect to each other both ways, so the other connection may still be up.
+    if (peerId != null && !connectionProxies.containsValue(peerId) && remote.forget(peerId)) {
+      logger.info("Lost connection to cluster proxy {}, forgetting its players", peerId);
+    }
+  }
+
+  private VelocityClusterPlayer snapshot(Player player) {
+    String serverName = player.getCurrentServer()
+        .map(connection -> connection.getServerInfo().getName())
+        .orElse(null);
+    return new VelocityClusterPlayer(player.getUniqueId(), player.getUsername(), serverName,
+        proxyId);
+  }
+
+  /**
+   * Returns a number that changes whenever a player joins, leaves or switches servers on another
+   * proxy.
+   *
+   * @return the version of the players of other proxies
+   */
+  public int getRemoteVersion() {
+    return remote.version();
+  }
+
+  /**
+   * Checks whether a player may log in to this proxy, as far as the other proxies are concerned.
+   * If the player appears to be connected to another proxy, that proxy is told to disconnect them
+   * if existing players are kicked, and otherwise asked whether they are still connected. Without
+   * an answer in time, the player is let in.
+   *
+   * @param uuid the UUID of the player
+   * @param username the username of the player
+   * @param kickExisting whether players connected to another proxy are kicked
+   * @return a future completing with whether the player may log in
+   */
+  public CompletableFuture<Boolean> checkLogin(UUID uuid, String username, boolean kickExisting) {
+    VelocityClusterPlayer existing = remote.get(uuid);
+    if (existing == null) {
+      existing = remote.get(username);
+    }
+    if (existing == null || transport == null) {
+      return CompletableFuture.completedFuture(true);
+    }
+    if (kickExisting) {
+      send(new ClusterMessage.PlayerKick(proxyId, existing.proxyId(), existing.uniqueId()));
+      return CompletableFuture.completedFuture(true);
+    }
+
+    long requestId = nextRequestId.incrementAndGet();
+    CompletableFuture<Boolean> connected = new CompletableFuture<>();
+    pendingQueries.put(requestId, connected);
+    send(new ClusterMessage.PlayerQuery(proxyId, existing.proxyId(), requestId, uuid, username));
+    return connected
+        .completeOnTimeout(false, QUERY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+        .whenComplete((result, error) -> pendingQueries.remove(requestId))
+        .thenApply(connectedElsewhere -> !connectedElsewhere);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return transport != null;
+  }
+
+  @Override
+  public String getProxyId() {
+    return proxyId;
+  }
+
+  @Override
+  public Collection<String> getProxyIds() {
+    return ImmutableSet.<String>builder()
+        .add(proxyId)
+        .addAll(remote.proxyIds())
+        .build();
+  }
+
+  @Override
+  public int getPlayerCount() {
+    // Counted like getPlayers(): a player who is also connected here only counts once.
+    int count = server.getPlayerCount();
+    for (VelocityClusterPlayer player : remote.players()) {
+      if (server.getPlayer(player.uniqueId()).isEmpty()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public Collection<ClusterPlayer> getPlayers() {
+    ImmutableList.Builder<ClusterPlayer> players = ImmutableList.builder();
+    for (Player player : server.getAllPlayers()) {
+      players.add(snapshot(player));
+    }
+    for (VelocityClusterPlayer player : remote.players()) {
+      if (server.getPlayer(player.uniqueId()).isEmpty()) {
+        players.add(player);
+      }
+    }
+    return players.build();
+  }
+
+  @Override
+  public Collection<ClusterPlayer> getPlayers(String serverName) {
+    ImmutableList.Builder<ClusterPlayer> players = ImmutableList.builder();
+    Optional<RegisteredServer> local = server.getServer(serverName);
+    if (local.isPresent()) {
+      for (Player player : local.get().getPlayersConnected()) {
+        players.add(snapshot(player));
+      }
+    }
+    for (VelocityClusterPlayer player : remote.players()) {
+      if (serverName.equalsIgnoreCase(player.serverName())
+          && server.getPlayer(player.uniqueId()).isEmpty()) {
+        players.add(player);
+      }
+    }
+    return players.build();
+  }
+
+  @Override
+  public Optional<ClusterPlayer> getPlayer(UUID uuid) {
+    Optional<Player> local = server.getPlayer(uuid);
+    if (local.isPresent()) {
+      return Optional.of(snapshot(local.get()));
+    }
+    return Optional.ofNullable(remote.get(uuid));
+  }
+
+  @Override
+  public Optional<ClusterPlayer> getPlayer(String username) {
+    Optional<Player> local = server.getPlayer(username);
+    if (local.isPresent()) {
+      return Optional.of(snapshot(local.get()));
+    }
+    return Optional.ofNullable(remote.get(username));
+  }
+
+  @Override
+  public Collection<ClusterPlayer> matchPlayer(String partialName) {
+    ImmutableList.Builder<ClusterPlayer> matches = ImmutableList.builder();
+    for (ClusterPlayer player : getPlayers()) {
+      if (player.getUsername().regionMatches(true, 0, partialName, 0, partialName.length())) {
+        matches.add(player);
+      }
+    }
+    return matches.build();
+  }
+}
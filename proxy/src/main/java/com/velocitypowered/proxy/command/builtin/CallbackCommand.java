@@ -24,7 +24,6 @@ import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.velocitypowered.api.command.BrigadierCommand;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.proxy.adventure.ClickCallbackManager;
-import java.util.UUID;
 
 /**
  * Callback Command.
@@ -44,14 +43,7 @@ public final class CallbackCommand implements Command<CommandSource> {
 
   @Override
   public int run(final CommandContext<CommandSource> context) {
-    final String providedId = StringArgumentType.getString(context, "id");
-    final UUID id;
-    try {
-      id = UUID.fromString(providedId);
-    } catch (final IllegalArgumentException ignored) {
-      return Command.SINGLE_SUCCESS;
-    }
-
+    final String id = StringArgumentType.getString(context, "id");
     ClickCallbackManager.INSTANCE.runCallback(context.getSource(), id);
     return Command.SINGLE_SUCCESS;
   }
@@ -28,8 +28,8 @@ import com.mojang.brigadier.tree.ArgumentCommandNode;
 import com.velocitypowered.api.command.BrigadierCommand;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.permission.Tristate;
-import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.cluster.ClusterPlayer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
 import java.util.List;
@@ -120,7 +120,7 @@ public class GlistCommand {
   }
 
   private void sendTotalProxyCount(CommandSource target) {
-    final int online = server.getPlayerCount();
+    final int online = server.getCluster().getPlayerCount();
     final TranslatableComponent.Builder msg = Component.translatable()
             .key(online == 1
                   ? "velocity.command.glist-player-singular"
@@ -132,7 +132,8 @@ public class GlistCommand {
 
   private void sendServerPlayers(final CommandSource target,
                                  final RegisteredServer server, final boolean fromAll) {
-    final List<Player> onServer = ImmutableList.copyOf(server.getPlayersConnected());
+    final List<ClusterPlayer> onServer = ImmutableList.copyOf(
+        this.server.getCluster().getPlayers(server.getServerInfo().getName()));
     if (onServer.isEmpty() && fromAll) {
       return;
     }
@@ -145,7 +146,7 @@ public class GlistCommand {
         .resetStyle();
 
     for (int i = 0; i < onServer.size(); i++) {
-      final Player player = onServer.get(i);
+      final ClusterPlayer player = onServer.get(i);
       builder.append(Component.text(player.getUsername()));
 
       if (i + 1 < onServer.size()) {
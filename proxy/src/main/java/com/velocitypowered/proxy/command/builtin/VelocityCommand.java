@@ -20,6 +20,7 @@ package com.velocitypowered.proxy.command.builtin;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
@@ -30,10 +31,18 @@ import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.permission.Tristate;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginDescription;
+import com.velocitypowered.api.plugin.PluginTimings;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.util.ProxyVersion;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.adventure.ClickCallbackManager;
+import com.velocitypowered.proxy.event.VelocityEventManager;
+import com.velocitypowered.proxy.network.BackpressureStatistics;
+import com.velocitypowered.proxy.plugin.VelocityPluginTimings;
+import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
+import com.velocitypowered.proxy.protocol.netty.AdaptiveCompressionLevel;
+import com.velocitypowered.proxy.protocol.netty.PacketCompressionStatistics;
 import com.velocitypowered.proxy.util.InformationUtils;
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -49,8 +58,11 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -95,9 +107,17 @@ public final class VelocityCommand {
         .requires(source -> source.getPermissionValue("velocity.command.reload") == Tristate.TRUE)
         .executes(new Reload(server))
         .build();
+    final LiteralCommandNode<CommandSource> profile = BrigadierCommand
+        .literalArgumentBuilder("profile")
+        .requires(source -> source.getPermissionValue("velocity.command.profile") == Tristate.TRUE)
+        .executes(new Profile(server, false))
+        .then(BrigadierCommand.requiredArgumentBuilder("seconds",
+                IntegerArgumentType.integer(1, Profile.MAX_SECONDS))
+            .executes(new Profile(server, true)))
+        .build();
 
     final List<LiteralCommandNode<CommandSource>> commands = List
-            .of(dump, heap, info, plugins, reload);
+            .of(dump, heap, info, plugins, profile, reload);
     return new BrigadierCommand(
       commands.stream()
         .reduce(
@@ -265,7 +285,7 @@ public final class VelocityCommand {
     }
   }
 
-  private record Dump(ProxyServer server) implements Command<CommandSource> {
+  private record Dump(VelocityServer server) implements Command<CommandSource> {
     private static final Logger logger = LogManager.getLogger(Dump.class);
 
 
@@ -297,6 +317,54 @@ public final class VelocityCommand {
       dump.add("platform", InformationUtils.collectEnvironmentInfo());
       dump.add("config", proxyConfig);
       dump.add("plugins", InformationUtils.collectPluginInfo(server));
+      if (server.getConfiguration().isAdaptiveCompression()) {
+        final JsonArray compression = new JsonArray();
+        for (final AdaptiveCompressionLevel.Statistics statistics
+            : server.getAdaptiveCompressionLevel().getStatistics()) {
+          final JsonObject loop = new JsonObject();
+          loop.addProperty("thread", statistics.thread());
+          loop.addProperty("level", statistics.level());
+          loop.addProperty("ratio", statistics.ratio());
+          loop.addProperty("compressionShare", statistics.compressionShare());
+          loop.addProperty("averageNanos", statistics.averageNanos());
+          compression.add(loop);
+        }
+        dump.add("adaptiveCompression", compression);
+      }
+      final JsonArray packetCompression = new JsonArray();
+      for (final PacketCompressionStatistics.Entry entry
+          : PacketCompressionStatistics.get().getEntries()) {
+        final JsonObject packet = new JsonObject();
+        packet.addProperty("packetId", entry.packetId());
+        packet.addProperty("packets", entry.packets());
+        packet.addProperty("storedPackets", entry.storedPackets());
+        packet.addProperty("ratio", entry.ratio());
+        packetCompression.add(packet);
+      }
+      dump.add("packetCompression", packetCompression);
+      final JsonArray eventHandlers = new JsonArray();
+      for (final VelocityEventManager.HandlerLatency handler
+          : server.getEventManager().getHandlerLatencies()) {
+        final JsonObject latency = new JsonObject();
+        latency.addProperty("plugin", handler.pluginId());
+        latency.addProperty("handler", handler.handler());
+        latency.addProperty("count", handler.latency().count());
+        latency.addProperty("meanMicros", handler.latency().meanNanos() / 1000);
+        latency.addProperty("p50Micros", handler.latency().percentileNanos(0.5) / 1000);
+        latency.addProperty("p99Micros", handler.latency().percentileNanos(0.99) / 1000);
+        latency.addProperty("maxMicros", handler.latency().maxNanos() / 1000);
+        eventHandlers.add(latency);
+      }
+      dump.add("eventHandlers", eventHandlers);
+      final BackpressureStatistics backpressureStatistics = BackpressureStatistics.get();
+      final JsonObject backpressure = new JsonObject();
+      backpressure.addProperty("pausedConnections", backpressureStatistics.getPausedConnections());
+      backpressure.addProperty("pauses", backpressureStatistics.getPauses());
+      backpressure.addProperty("pausedMillis", backpressureStatistics.getPausedMillis());
+      backpressure.addProperty("overflowDisconnects",
+          backpressureStatistics.getOverflowDisconnects());
+      dump.add("backpressure", backpressure);
+      dump.add("clickCallbacks", collectClickCallbacks());
 
       final Path dumpPath = Path.of("velocity-dump-"
           + new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date())
@@ -319,6 +387,30 @@ public final class VelocityCommand {
       }
       return Command.SINGLE_SUCCESS;
     }
+
+    private JsonObject collectClickCallbacks() {
+      final Map<ClassLoader, String> pluginLoaders = new HashMap<>();
+      for (final PluginContainer plugin : server.getPluginManager().getPlugins()) {
+        plugin.getInstance().ifPresent(instance -> pluginLoaders.put(
+            instance.getClass().getClassLoader(), plugin.getDescription().getId()));
+      }
+
+      final ClickCallbackManager.Statistics statistics =
+          ClickCallbackManager.INSTANCE.getStatistics();
+      final JsonObject callbacks = new JsonObject();
+      callbacks.addProperty("registered", statistics.callbacks());
+      callbacks.addProperty("totalRegistered", statistics.registered());
+      callbacks.addProperty("expired", statistics.expired());
+      callbacks.addProperty("evicted", statistics.evicted());
+      final JsonObject owners = new JsonObject();
+      for (final ClickCallbackManager.OwnerStatistics owner : statistics.owners()) {
+        final String id = pluginLoaders.getOrDefault(owner.loader(), "velocity");
+        final int previous = owners.has(id) ? owners.get(id).getAsInt() : 0;
+        owners.addProperty(id, previous + owner.callbacks());
+      }
+      callbacks.add("plugins", owners);
+      return callbacks;
+    }
   }
 
   /**
@@ -394,4 +486,68 @@ public final class VelocityCommand {
       return Command.SINGLE_SUCCESS;
     }
   }
+
+  /**
+   * Profile SubCommand. Records plugin timings for a while and reports the most expensive
+   * scheduled tasks and event handlers.
+   */
+  private record Profile(VelocityServer server, boolean hasSeconds)
+      implements Command<CommandSource> {
+
+    private static final int DEFAULT_SECONDS = 30;
+    private static final int MAX_SECONDS = 600;
+    private static final int MAX_ENTRIES = 10;
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      final CommandSource source = context.getSource();
+      final int seconds = hasSeconds
+          ? IntegerArgumentType.getInteger(context, "seconds") : DEFAULT_SECONDS;
+
+      final VelocityPluginTimings timings = server.getPluginTimings();
+      timings.startProfile();
+      final Collection<PluginTimings.Entry> before = timings.getEntries();
+      source.sendMessage(Component.text("Profiling plugins for " + seconds + " seconds...",
+          NamedTextColor.GREEN));
+
+      server.getScheduler().buildTask(VelocityVirtualPlugin.INSTANCE, () -> {
+        final List<PluginTimings.Entry> entries;
+        try {
+          entries = VelocityPluginTimings.difference(before, timings.getEntries());
+        } finally {
+          timings.stopProfile();
+        }
+        report(source, seconds, entries);
+      }).delay(seconds, TimeUnit.SECONDS).schedule();
+      return Command.SINGLE_SUCCESS;
+    }
+
+    private static void report(final CommandSource source, final int seconds,
+        final List<PluginTimings.Entry> entries) {
+      if (entries.isEmpty()) {
+        source.sendMessage(Component.text("No plugin tasks or event handlers ran in the last "
+            + seconds + " seconds.", NamedTextColor.YELLOW));
+        return;
+      }
+
+      source.sendMessage(Component.text("Top plugin tasks and event handlers in the last "
+          + seconds + " seconds:", NamedTextColor.DARK_AQUA));
+      for (final PluginTimings.Entry entry : entries.subList(0,
+          Math.min(MAX_ENTRIES, entries.size()))) {
+        final String type = entry.getType() == PluginTimings.Type.SCHEDULED_TASK
+            ? "task" : "event";
+        final String cpu = entry.getCpuTimeNanos() < 0 ? "n/a"
+            : TimeUnit.NANOSECONDS.toMillis(entry.getCpuTimeNanos()) + "ms";
+        source.sendMessage(Component.text()
+            .append(Component.text(entry.getPlugin().getDescription().getId(),
+                NamedTextColor.GRAY))
+            .append(Component.text(" [" + type + "] ", NamedTextColor.DARK_GRAY))
+            .append(Component.text(entry.getName(), NamedTextColor.WHITE))
+            .append(Component.text(" - " + entry.getInvocations() + " calls, cpu " + cpu
+                + ", wall " + TimeUnit.NANOSECONDS.toMillis(entry.getWallTimeNanos()) + "ms",
+                NamedTextColor.GRAY))
+            .build());
+      }
+    }
+  }
 }
@@ -87,6 +87,8 @@ public class VelocityConfiguration implements ProxyConfig {
   @Expose
   private final Query query;
   private final Metrics metrics;
+  private final Cluster cluster;
+  private final ResourcePackServer resourcePackServer;
   @Expose
   private boolean enablePlayerAddressLogging = true;
   private net.kyori.adventure.text.@MonotonicNonNull Component motdAsComponent;
@@ -101,6 +103,8 @@ public class VelocityConfiguration implements ProxyConfig {
     this.advanced = advanced;
     this.query = query;
     this.metrics = metrics;
+    this.cluster = new Cluster(null);
+    this.resourcePackServer = new ResourcePackServer(null);
   }
 
   private VelocityConfiguration(String bind, String motd, int showMaxPlayers, boolean onlineMode,
@@ -108,8 +112,8 @@ public class VelocityConfiguration implements ProxyConfig {
       PlayerInfoForwarding playerInfoForwardingMode, byte[] forwardingSecret,
       boolean onlineModeKickExistingPlayers, PingPassthroughMode pingPassthrough,
       boolean samplePlayersInPing, boolean enablePlayerAddressLogging, Servers servers,
-      ForcedHosts forcedHosts, Advanced advanced, Query query, Metrics metrics,
-      boolean forceKeyAuthentication) {
+      ForcedHosts forcedHosts, Advanced advanced, Query query, Metrics metrics, Cluster cluster,
+      ResourcePackServer resourcePackServer, boolean forceKeyAuthentication) {
     this.bind = bind;
     this.motd = motd;
     this.showMaxPlayers = showMaxPlayers;
@@ -127,6 +131,8 @@ public class VelocityConfiguration implements ProxyConfig {
     this.advanced = advanced;
     this.query = query;
     this.metrics = metrics;
+    this.cluster = cluster;
+    this.resourcePackServer = resourcePackServer;
     this.forceKeyAuthentication = forceKeyAuthentication;
   }
 
@@ -221,6 +227,34 @@ public class VelocityConfiguration implements ProxyConfig {
           + "bandwidth usage.");
     }
 
+    if (advanced.adaptiveCompressionFloor < 1 || advanced.adaptiveCompressionFloor > 9
+        || advanced.adaptiveCompressionCeiling < 1 || advanced.adaptiveCompressionCeiling > 9) {
+      logger.error("Adaptive compression levels must be between 1 and 9");
+      valid = false;
+    } else if (advanced.adaptiveCompressionFloor > advanced.adaptiveCompressionCeiling) {
+      logger.error("The adaptive compression floor ({}) is above the ceiling ({})",
+          advanced.adaptiveCompressionFloor, advanced.adaptiveCompressionCeiling);
+      valid = false;
+    }
+
+    if (advanced.eventHandlerTimeout < 0
+        || advanced.eventHandlerTimeoutOverrides.values().stream().anyMatch(t -> t < 0)) {
+      logger.error("Event handler timeouts must not be negative");
+      valid = false;
+    }
+
+    if (advanced.maxBufferedBytesPerPlayer < 0) {
+      logger.error("Invalid maximum of buffered bytes per player {}",
+          advanced.maxBufferedBytesPerPlayer);
+      valid = false;
+    }
+
+    if (advanced.maxClickCallbacksPerPlugin < 0) {
+      logger.error("Invalid maximum of click callbacks per plugin {}",
+          advanced.maxClickCallbacksPerPlugin);
+      valid = false;
+    }
+
     if (advanced.compressionThreshold < -1) {
       logger.error("Invalid compression threshold {}", advanced.compressionLevel);
       valid = false;
@@ -239,6 +273,45 @@ public class VelocityConfiguration implements ProxyConfig {
       valid = false;
     }
 
+    if (cluster.isEnabled()) {
+      if (cluster.getProxyId().isBlank()) {
+        logger.error("Clustering is enabled, but this proxy has no 'proxy-id'.");
+        valid = false;
+      }
+      if (cluster.getSecret().isEmpty()) {
+        logger.error("Clustering is enabled, but no cluster 'secret' is set.");
+        valid = false;
+      }
+      try {
+        AddressUtil.parseAddress(cluster.getBind());
+        for (String peer : cluster.getPeers()) {
+          AddressUtil.parseAddress(peer);
+        }
+      } catch (IllegalArgumentException e) {
+        logger.error("A cluster address is not a valid IP address.", e);
+        valid = false;
+      }
+      if (cluster.getSyncInterval() <= 0 || cluster.getPeerTimeout() <= cluster.getSyncInterval()) {
+        logger.error("The cluster sync-interval must be positive and below the peer-timeout.");
+        valid = false;
+      }
+    }
+
+    if (resourcePackServer.isEnabled()) {
+      try {
+        AddressUtil.parseAddress(resourcePackServer.getBind());
+      } catch (IllegalArgumentException e) {
+        logger.error("The resource pack server bind address is not a valid IP address.", e);
+        valid = false;
+      }
+      String publicUrl = resourcePackServer.getPublicUrl();
+      if (!publicUrl.startsWith("http://") && !publicUrl.startsWith("https://")) {
+        logger.error("The resource pack server is enabled, but its 'public-url' is not an HTTP "
+            + "URL.");
+        valid = false;
+      }
+    }
+
     loadFavicon();
 
     return valid;
@@ -401,6 +474,14 @@ public class VelocityConfiguration implements ProxyConfig {
     return metrics;
   }
 
+  public Cluster getCluster() {
+    return cluster;
+  }
+
+  public ResourcePackServer getResourcePackServer() {
+    return resourcePackServer;
+  }
+
   public PingPassthroughMode getPingPassthrough() {
     return pingPassthrough;
   }
@@ -449,6 +530,86 @@ public class VelocityConfiguration implements ProxyConfig {
     return advanced.isEnableReusePort();
   }
 
+  /**
+   * Returns the window, in milliseconds, over which tab list updates sent by the given server are
+   * coalesced before being forwarded to the player. A value of zero disables coalescing.
+   *
+   * @param serverName the name of the server
+   * @return the coalescing window in milliseconds
+   */
+  public int getTabListCoalescingWindow(String serverName) {
+    return advanced.getTabListCoalescingWindow(serverName);
+  }
+
+  /**
+   * Determines whether the executor of the given plugin should run its tasks on virtual threads.
+   *
+   * @param pluginId the ID of the plugin
+   * @return whether the plugin should use virtual threads
+   */
+  public boolean isPluginVirtualThreads(String pluginId) {
+    return advanced.isPluginVirtualThreads(pluginId);
+  }
+
+  public boolean isPluginVirtualThreadsTracePinning() {
+    return advanced.isPluginVirtualThreadsTracePinning();
+  }
+
+  public boolean isPluginTimings() {
+    return advanced.isPluginTimings();
+  }
+
+  public boolean isAdaptiveCompression() {
+    return advanced.isAdaptiveCompression();
+  }
+
+  public int getAdaptiveCompressionFloor() {
+    return advanced.getAdaptiveCompressionFloor();
+  }
+
+  public int getAdaptiveCompressionCeiling() {
+    return advanced.getAdaptiveCompressionCeiling();
+  }
+
+  /**
+   * Returns how long, in milliseconds, a single event handler may take before the proxy stops
+   * waiting for it. A value of zero disables the deadline.
+   *
+   * @return the event handler timeout in milliseconds
+   */
+  public int getEventHandlerTimeout() {
+    return advanced.getEventHandlerTimeout();
+  }
+
+  /**
+   * Returns the event handler timeouts for specific events, keyed by event class name.
+   *
+   * @return the event handler timeouts in milliseconds
+   */
+  public Map<String, Integer> getEventHandlerTimeoutOverrides() {
+    return advanced.getEventHandlerTimeoutOverrides();
+  }
+
+  /**
+   * Returns how many bytes may be waiting to be written to a player before they are
+   * disconnected. A value of zero disables the limit.
+   *
+   * @return the maximum number of buffered bytes per player
+   */
+  public int getMaxBufferedBytesPerPlayer() {
+    return advanced.getMaxBufferedBytesPerPlayer();
+  }
+
+  /**
+   * Returns how many click callbacks a single plugin may have registered at once. A value of zero
+   * disables the limit.
+   *
+   * @return the maximum number of click callbacks per plugin
+   */
+  public int getMaxClickCallbacksPerPlugin() {
+    return advanced.getMaxClickCallbacksPerPlugin();
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -463,6 +624,8 @@ public class VelocityConfiguration implements ProxyConfig {
         .add("forcedHosts", forcedHosts)
         .add("advanced", advanced)
         .add("query", query)
+        .add("cluster", cluster)
+        .add("resourcePackServer", resourcePackServer)
         .add("favicon", favicon)
         .add("enablePlayerAddressLogging", enablePlayerAddressLogging)
         .add("forceKeyAuthentication", forceKeyAuthentication)
@@ -544,6 +707,8 @@ public class VelocityConfiguration implements ProxyConfig {
       final CommentedConfig advancedConfig = config.get("advanced");
       final CommentedConfig queryConfig = config.get("query");
       final CommentedConfig metricsConfig = config.get("metrics");
+      final CommentedConfig clusterConfig = config.get("cluster");
+      final CommentedConfig resourcePackServerConfig = config.get("resource-pack-server");
       final PlayerInfoForwarding forwardingMode = config.getEnumOrElse(
               "player-info-forwarding-mode", PlayerInfoForwarding.NONE);
       final PingPassthroughMode pingPassthroughMode = config.getEnumOrElse("ping-passthrough",
@@ -588,6 +753,8 @@ public class VelocityConfiguration implements ProxyConfig {
               new Advanced(advancedConfig),
               new Query(queryConfig),
               new Metrics(metricsConfig),
+              new Cluster(clusterConfig),
+              new ResourcePackServer(resourcePackServerConfig),
               forceKeyAuthentication
       );
     }
@@ -777,6 +944,32 @@ public class VelocityConfiguration implements ProxyConfig {
     private int tabCompleteRateLimit = 50;
     @Expose
     private int kickAfterRateLimitedTabCompletes = 10;
+    @Expose
+    private int tabListCoalescingWindow = 0;
+    @Expose
+    private Map<String, Integer> tabListCoalescingOverrides = ImmutableMap.of();
+    @Expose
+    private boolean pluginVirtualThreads = false;
+    @Expose
+    private List<String> pluginVirtualThreadsPlugins = ImmutableList.of();
+    @Expose
+    private boolean pluginVirtualThreadsTracePinning = false;
+    @Expose
+    private boolean pluginTimings = false;
+    @Expose
+    private boolean adaptiveCompression = false;
+    @Expose
+    private int adaptiveCompressionFloor = 1;
+    @Expose
+    private int adaptiveCompressionCeiling = 6;
+    @Expose
+    private int eventHandlerTimeout = 0;
+    @Expose
+    private Map<String, Integer> eventHandlerTimeoutOverrides = ImmutableMap.of();
+    @Expose
+    private int maxBufferedBytesPerPlayer = 16777216;
+    @Expose
+    private int maxClickCallbacksPerPlugin = 100000;
 
     private Advanced() {
     }
@@ -808,6 +1001,46 @@ public class VelocityConfiguration implements ProxyConfig {
         this.kickAfterRateLimitedCommands = config.getIntOrElse("kick-after-rate-limited-commands", 0);
         this.tabCompleteRateLimit = config.getIntOrElse("tab-complete-rate-limit", 10); // very lenient
         this.kickAfterRateLimitedTabCompletes = config.getIntOrElse("kick-after-rate-limited-tab-completes", 0);
+        this.tabListCoalescingWindow = config.getIntOrElse("tab-list-coalescing-window", 0);
+        final UnmodifiableConfig overrides = config.get("tab-list-coalescing-overrides");
+        if (overrides != null) {
+          final Map<String, Integer> windows = new HashMap<>();
+          for (UnmodifiableConfig.Entry entry : overrides.entrySet()) {
+            if (!(entry.getValue() instanceof Number)) {
+              throw new IllegalArgumentException("Tab list coalescing window for server "
+                  + entry.getKey() + " is not a number!");
+            }
+            windows.put(entry.getKey().replace("\"", ""), ((Number) entry.getValue()).intValue());
+          }
+          this.tabListCoalescingOverrides = ImmutableMap.copyOf(windows);
+        }
+        this.pluginVirtualThreads = config.getOrElse("plugin-virtual-threads", false);
+        this.pluginVirtualThreadsPlugins = ImmutableList.copyOf(
+            config.<List<String>>getOrElse("plugin-virtual-threads-plugins", ImmutableList.of()));
+        this.pluginVirtualThreadsTracePinning = config.getOrElse(
+            "plugin-virtual-threads-trace-pinning", false);
+        this.pluginTimings = config.getOrElse("plugin-timings", false);
+        this.adaptiveCompression = config.getOrElse("adaptive-compression", false);
+        this.adaptiveCompressionFloor = config.getIntOrElse("adaptive-compression-floor", 1);
+        this.adaptiveCompressionCeiling = config.getIntOrElse("adaptive-compression-ceiling", 6);
+        this.eventHandlerTimeout = config.getIntOrElse("event-handler-timeout", 0);
+        final UnmodifiableConfig timeouts = config.get("event-handler-timeout-overrides");
+        if (timeouts != null) {
+          final Map<String, Integer> timeoutOverrides = new HashMap<>();
+          for (UnmodifiableConfig.Entry entry : timeouts.entrySet()) {
+            if (!(entry.getValue() instanceof Number)) {
+              throw new IllegalArgumentException("Event handler timeout for event "
+                  + entry.getKey() + " is not a number!");
+            }
+            timeoutOverrides.put(entry.getKey().replace("\"", ""),
+                ((Number) entry.getValue()).intValue());
+          }
+          this.eventHandlerTimeoutOverrides = ImmutableMap.copyOf(timeoutOverrides);
+        }
+        this.maxBufferedBytesPerPlayer = config.getIntOrElse("max-buffered-bytes-per-player",
+            16777216);
+        this.maxClickCallbacksPerPlugin = config.getIntOrElse("max-click-callbacks-per-plugin",
+            100000);
       }
     }
 
@@ -895,6 +1128,50 @@ public class VelocityConfiguration implements ProxyConfig {
       return kickAfterRateLimitedTabCompletes;
     }
 
+    public int getTabListCoalescingWindow(String serverName) {
+      return tabListCoalescingOverrides.getOrDefault(serverName, tabListCoalescingWindow);
+    }
+
+    public boolean isPluginVirtualThreads(String pluginId) {
+      return pluginVirtualThreads || pluginVirtualThreadsPlugins.contains(pluginId);
+    }
+
+    public boolean isPluginVirtualThreadsTracePinning() {
+      return pluginVirtualThreadsTracePinning;
+    }
+
+    public boolean isPluginTimings() {
+      return pluginTimings;
+    }
+
+    public boolean isAdaptiveCompression() {
+      return adaptiveCompression;
+    }
+
+    public int getAdaptiveCompressionFloor() {
+      return adaptiveCompressionFloor;
+    }
+
+    public int getAdaptiveCompressionCeiling() {
+      return adaptiveCompressionCeiling;
+    }
+
+    public int getEventHandlerTimeout() {
+      return eventHandlerTimeout;
+    }
+
+    public Map<String, Integer> getEventHandlerTimeoutOverrides() {
+      return eventHandlerTimeoutOverrides;
+    }
+
+    public int getMaxBufferedBytesPerPlayer() {
+      return maxBufferedBytesPerPlayer;
+    }
+
+    public int getMaxClickCallbacksPerPlugin() {
+      return maxClickCallbacksPerPlugin;
+    }
+
     @Override
     public String toString() {
       return "Advanced{"
@@ -913,6 +1190,19 @@ public class VelocityConfiguration implements ProxyConfig {
           + ", logPlayerConnections=" + logPlayerConnections
           + ", acceptTransfers=" + acceptTransfers
           + ", enableReusePort=" + enableReusePort
+          + ", tabListCoalescingWindow=" + tabListCoalescingWindow
+          + ", tabListCoalescingOverrides=" + tabListCoalescingOverrides
+          + ", pluginVirtualThreads=" + pluginVirtualThreads
+          + ", pluginVirtualThreadsPlugins=" + pluginVirtualThreadsPlugins
+          + ", pluginVirtualThreadsTracePinning=" + pluginVirtualThreadsTracePinning
+          + ", pluginTimings=" + pluginTimings
+          + ", adaptiveCompression=" + adaptiveCompression
+          + ", adaptiveCompressionFloor=" + adaptiveCompressionFloor
+          + ", adaptiveCompressionCeiling=" + adaptiveCompressionCeiling
+          + ", eventHandlerTimeout=" + eventHandlerTimeout
+          + ", eventHandlerTimeoutOverrides=" + eventHandlerTimeoutOverrides
+          + ", maxBufferedBytesPerPlayer=" + maxBufferedBytesPerPlayer
+          + ", maxClickCallbacksPerPlugin=" + maxClickCallbacksPerPlugin
           + '}';
     }
   }
@@ -991,4 +1281,110 @@ public class VelocityConfiguration implements ProxyConfig {
       return enabled;
     }
   }
+
+  /**
+   * Configuration for sharing the players of this proxy with other proxies.
+   */
+  public static class Cluster {
+
+    private boolean enabled = false;
+    private String proxyId = "";
+    private String bind = "0.0.0.0:25580";
+    private List<String> peers = ImmutableList.of();
+    private String secret = "";
+    private int syncInterval = 250;
+    private int peerTimeout = 15000;
+
+    private Cluster(CommentedConfig toml) {
+      if (toml != null) {
+        this.enabled = toml.getOrElse("enabled", false);
+        this.proxyId = toml.getOrElse("proxy-id", "");
+        this.bind = toml.getOrElse("bind", "0.0.0.0:25580");
+        this.peers = ImmutableList.copyOf(toml.<List<String>>getOrElse("peers",
+            ImmutableList.of()));
+        this.secret = toml.getOrElse("secret", "");
+        this.syncInterval = toml.getIntOrElse("sync-interval", 250);
+        this.peerTimeout = toml.getIntOrElse("peer-timeout", 15000);
+      }
+    }
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public String getProxyId() {
+      return proxyId;
+    }
+
+    public String getBind() {
+      return bind;
+    }
+
+    public List<String> getPeers() {
+      return peers;
+    }
+
+    public String getSecret() {
+      return secret;
+    }
+
+    public int getSyncInterval() {
+      return syncInterval;
+    }
+
+    public int getPeerTimeout() {
+      return peerTimeout;
+    }
+
+    @Override
+    public String toString() {
+      return "Cluster{"
+          + "enabled=" + enabled
+          + ", proxyId='" + proxyId + '\''
+          + ", bind='" + bind + '\''
+          + ", peers=" + peers
+          + ", syncInterval=" + syncInterval
+          + ", peerTimeout=" + peerTimeout
+          + '}';
+    }
+  }
+
+  /**
+   * Configuration for the built-in resource pack server.
+   */
+  public static class ResourcePackServer {
+
+    private boolean enabled = false;
+    private String bind = "0.0.0.0:25590";
+    private String publicUrl = "";
+
+    private ResourcePackServer(CommentedConfig toml) {
+      if (toml != null) {
+        this.enabled = toml.getOrElse("enabled", false);
+        this.bind = toml.getOrElse("bind", "0.0.0.0:25590");
+        this.publicUrl = toml.getOrElse("public-url", "");
+      }
+    }
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public String getBind() {
+      return bind;
+    }
+
+    public String getPublicUrl() {
+      return publicUrl;
+    }
+
+    @Override
+    public String toString() {
+      return "ResourcePackServer{"
+          + "enabled=" + enabled
+          + ", bind='" + bind + '\''
+          + ", publicUrl='" + publicUrl + '\''
+          + '}';
+    }
+  }
 }
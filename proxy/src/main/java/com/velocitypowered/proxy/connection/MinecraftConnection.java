@@ -33,13 +33,18 @@ import com.velocitypowered.natives.encryption.VelocityCipher;
 import com.velocitypowered.natives.encryption.VelocityCipherFactory;
 import com.velocitypowered.natives.util.Natives;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.connection.client.HandshakeSessionHandler;
 import com.velocitypowered.proxy.connection.client.InitialLoginSessionHandler;
 import com.velocitypowered.proxy.connection.client.StatusSessionHandler;
+import com.velocitypowered.proxy.network.BackpressureStatistics;
 import com.velocitypowered.proxy.network.Connections;
+import com.velocitypowered.proxy.network.VelocityNetworkTelemetry;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.VelocityConnectionEvent;
+import com.velocitypowered.proxy.protocol.netty.AdaptiveCompressionLevel;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCipherDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCipherEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftCompressDecoder;
@@ -96,6 +101,13 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
   public final VelocityServer server;
   private ConnectionType connectionType = ConnectionTypes.UNDETERMINED;
   private boolean knownDisconnect = false;
+  private final VelocityNetworkTelemetry telemetry = new VelocityNetworkTelemetry();
+  // Reading is paused either on request (setAutoReading) or because the connection we forward
+  // to can't keep up (setBackpressure). We only read while neither wants us to pause.
+  private boolean autoReadingRequested = true;
+  private boolean backpressure;
+  private long backpressureSince;
+  private volatile boolean overflowed;
 
   /**
    * Initializes a new {@link MinecraftConnection} instance.
@@ -126,6 +138,15 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
 
   @Override
   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    if (backpressure) {
+      backpressure = false;
+      BackpressureStatistics.get().recordResumed(System.nanoTime() - backpressureSince);
+    }
+    if (!ctx.channel().isWritable()) {
+      // Don't leave the other side paused on our behalf.
+      propagateWritability(true);
+    }
+
     if (activeSessionHandler != null) {
       activeSessionHandler.disconnected();
     }
@@ -154,6 +175,7 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
       }
 
       if (msg instanceof MinecraftPacket pkt) {
+        telemetry.recordPacketReceived();
         if (!pkt.handle(activeSessionHandler)) {
           activeSessionHandler.handleGeneric((MinecraftPacket) msg);
         }
@@ -161,6 +183,7 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
         this.remoteAddress = new InetSocketAddress(proxyMessage.sourceAddress(),
             proxyMessage.sourcePort());
       } else if (msg instanceof ByteBuf) {
+        telemetry.recordPacketReceived();
         activeSessionHandler.handleUnknown((ByteBuf) msg);
       }
     } finally {
@@ -213,11 +236,47 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
 
   @Override
   public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+    boolean writable = ctx.channel().isWritable();
+    telemetry.recordWritability(writable);
+    propagateWritability(writable);
     if (activeSessionHandler != null) {
       activeSessionHandler.writabilityChanged();
     }
   }
 
+  /**
+   * Stops reading from the connections that forward to this one while it is not writable, and
+   * resumes once it drained, so that a slow reader can't make us buffer without bound.
+   *
+   * @param writable whether this connection is writable
+   */
+  private void propagateWritability(boolean writable) {
+    if (association instanceof ConnectedPlayer player) {
+      applyBackpressure(player.getConnectedServer(), writable);
+      applyBackpressure(player.getConnectionInFlight(), writable);
+    } else if (association instanceof VelocityServerConnection serverConnection) {
+      serverConnection.getPlayer().getConnection().applyBackpressure(!writable);
+    }
+  }
+
+  private static void applyBackpressure(@Nullable VelocityServerConnection serverConnection,
+      boolean writable) {
+    if (serverConnection != null) {
+      MinecraftConnection connection = serverConnection.getConnection();
+      if (connection != null) {
+        connection.applyBackpressure(!writable);
+      }
+    }
+  }
+
+  private void applyBackpressure(boolean backpressure) {
+    if (channel.eventLoop().inEventLoop()) {
+      setBackpressure(backpressure);
+    } else {
+      channel.eventLoop().execute(() -> setBackpressure(backpressure));
+    }
+  }
+
   private void ensureInEventLoop() {
     Preconditions.checkState(this.channel.eventLoop().inEventLoop(), "Not in event loop");
   }
@@ -226,6 +285,10 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
     return channel.eventLoop();
   }
 
+  public VelocityNetworkTelemetry getTelemetry() {
+    return telemetry;
+  }
+
   /**
    * Writes and immediately flushes a message to the connection.
    *
@@ -235,7 +298,11 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
   @Nullable
   public ChannelFuture write(Object msg) {
     if (channel.isActive()) {
-      return channel.writeAndFlush(msg, channel.newPromise());
+      ChannelFuture future = channel.writeAndFlush(msg, channel.newPromise());
+      if (!channel.isWritable()) {
+        checkBufferedBytes();
+      }
+      return future;
     } else {
       ReferenceCountUtil.release(msg);
       return null;
@@ -250,11 +317,38 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
   public void delayedWrite(Object msg) {
     if (channel.isActive()) {
       channel.write(msg, channel.voidPromise());
+      if (!channel.isWritable()) {
+        checkBufferedBytes();
+      }
     } else {
       ReferenceCountUtil.release(msg);
     }
   }
 
+  /**
+   * Disconnects a player once more data is waiting to be sent to them than allowed. Reading from
+   * their server already stopped, so this only catches data the proxy sends on its own.
+   */
+  private void checkBufferedBytes() {
+    if (overflowed || !(association instanceof ConnectedPlayer)) {
+      return;
+    }
+    int limit = server.getConfiguration().getMaxBufferedBytesPerPlayer();
+    if (limit <= 0) {
+      return;
+    }
+    // Only called while the channel is not writable, that is with at least the low water mark
+    // still pending.
+    long buffered = channel.bytesBeforeWritable() + channel.config().getWriteBufferLowWaterMark();
+    if (buffered > limit) {
+      overflowed = true;
+      BackpressureStatistics.get().recordOverflowDisconnect();
+      logger.warn("{} has {} bytes waiting to be sent, disconnecting them", association,
+          buffered);
+      channel.close();
+    }
+  }
+
   /**
    * Flushes the connection.
    */
@@ -349,6 +443,34 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
   public void setAutoReading(boolean autoReading) {
     ensureInEventLoop();
 
+    this.autoReadingRequested = autoReading;
+    updateAutoRead();
+  }
+
+  /**
+   * Pauses or resumes reading because the connection we forward to is not writable. Unlike
+   * {@link #setAutoReading(boolean)}, this does not override pauses requested elsewhere.
+   *
+   * @param backpressure whether the connection we forward to is not writable
+   */
+  public void setBackpressure(boolean backpressure) {
+    ensureInEventLoop();
+
+    if (this.backpressure == backpressure || !channel.isActive()) {
+      return;
+    }
+    this.backpressure = backpressure;
+    if (backpressure) {
+      backpressureSince = System.nanoTime();
+      BackpressureStatistics.get().recordPaused();
+    } else {
+      BackpressureStatistics.get().recordResumed(System.nanoTime() - backpressureSince);
+    }
+    updateAutoRead();
+  }
+
+  private void updateAutoRead() {
+    boolean autoReading = autoReadingRequested && !backpressure;
     channel.config().setAutoRead(autoReading);
     if (autoReading) {
       // For some reason, the channel may not completely read its queued contents once autoread
@@ -544,10 +666,14 @@ public class MinecraftConnection extends ChannelInboundHandlerAdapter {
         decoder.setThreshold(threshold);
         encoder.setThreshold(threshold);
       } else {
-        int level = server.getConfiguration().getCompressionLevel();
+        AdaptiveCompressionLevel adaptiveLevel = server.getConfiguration().isAdaptiveCompression()
+            ? server.getAdaptiveCompressionLevel() : null;
+        int level = adaptiveLevel != null ? adaptiveLevel.level()
+            : server.getConfiguration().getCompressionLevel();
         VelocityCompressor compressor = Natives.compress.get().create(level);
 
-        encoder = new MinecraftCompressorAndLengthEncoder(threshold, compressor);
+        encoder = new MinecraftCompressorAndLengthEncoder(threshold, compressor, adaptiveLevel,
+            level, telemetry);
         decoder = new MinecraftCompressDecoder(threshold, compressor);
 
         channel.pipeline().remove(FRAME_ENCODER);
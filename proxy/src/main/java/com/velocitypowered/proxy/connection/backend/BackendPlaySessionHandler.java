@@ -21,6 +21,7 @@ import static com.velocitypowered.proxy.connection.backend.BungeeCordMessageResp
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.mojang.brigadier.tree.RootCommandNode;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.event.command.PlayerAvailableCommandsEvent;
@@ -69,6 +70,8 @@ import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import com.velocitypowered.proxy.protocol.packet.config.StartUpdatePacket;
 import com.velocitypowered.proxy.protocol.util.PluginMessageUtil;
+import com.velocitypowered.proxy.tablist.InternalTabList;
+import com.velocitypowered.proxy.tablist.PlayerInfoUpdateCoalescer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
@@ -79,6 +82,7 @@ import java.util.regex.Pattern;
 import net.kyori.adventure.key.Key;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Handles a connected player.
@@ -97,6 +101,7 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
   private final ClientPlaySessionHandler playerSessionHandler;
   private final MinecraftConnection playerConnection;
   private final BungeeCordMessageResponder bungeecordMessageResponder;
+  private @Nullable PlayerInfoUpdateCoalescer playerInfoCoalescer;
   private boolean exceptionTriggered = false;
   private int packetsFlushed;
 
@@ -127,6 +132,14 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
       ));
     }
 
+    int coalescingWindow = server.getConfiguration()
+        .getTabListCoalescingWindow(serverConn.getServerInfo().getName());
+    InternalTabList tabList = serverConn.getPlayer().getTabList();
+    if (coalescingWindow > 0 && PlayerInfoUpdateCoalescer.supports(tabList)) {
+      this.playerInfoCoalescer = new PlayerInfoUpdateCoalescer(tabList, playerConnection,
+          serverMc.eventLoop(), coalescingWindow);
+    }
+
   }
 
   @Override
@@ -311,7 +324,7 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
     }
 
     ChannelIdentifier id = server.getChannelRegistrar().getFromId(packet.getChannel());
-    if (id == null) {
+    if (id == null || !server.getEventManager().hasSubscribers(PluginMessageEvent.class)) {
       return false;
     }
 
@@ -338,18 +351,42 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(LegacyPlayerListItemPacket packet) {
+    if (playerInfoCoalescer != null) {
+      if (!serverConn.getPlayer().getBundleHandler().isInBundleSession()
+          && PlayerInfoUpdateCoalescer.canCoalesce(packet)) {
+        serverConn.getPlayer().getTabList().processLegacy(packet);
+        playerInfoCoalescer.offer(packet);
+        return true;
+      }
+      playerInfoCoalescer.flush(Lists.transform(packet.getItems(),
+          LegacyPlayerListItemPacket.Item::getUuid));
+    }
     serverConn.getPlayer().getTabList().processLegacy(packet);
     return false;
   }
 
   @Override
   public boolean handle(UpsertPlayerInfoPacket packet) {
+    if (playerInfoCoalescer != null) {
+      if (!serverConn.getPlayer().getBundleHandler().isInBundleSession()
+          && PlayerInfoUpdateCoalescer.canCoalesce(packet)) {
+        serverConn.getPlayer().getTabList().processUpdate(packet);
+        playerInfoCoalescer.offer(packet);
+        return true;
+      }
+      // Held back updates for these players have to reach the client before this packet.
+      playerInfoCoalescer.flush(Lists.transform(packet.getEntries(),
+          UpsertPlayerInfoPacket.Entry::getProfileId));
+    }
     serverConn.getPlayer().getTabList().processUpdate(packet);
     return false;
   }
 
   @Override
   public boolean handle(RemovePlayerInfoPacket packet) {
+    if (playerInfoCoalescer != null) {
+      playerInfoCoalescer.flush(packet.getProfilesToRemove());
+    }
     serverConn.getPlayer().getTabList().processRemove(packet);
     return false;
   }
@@ -490,6 +527,9 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
 
   @Override
   public void disconnected() {
+    if (playerInfoCoalescer != null) {
+      playerInfoCoalescer.close();
+    }
     serverConn.getServer().removePlayer(serverConn.getPlayer());
     if (!serverConn.isGracefulDisconnect() && !exceptionTriggered) {
       if (server.getConfiguration().isFailoverOnUnexpectedServerDisconnect()) {
@@ -510,12 +550,11 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
 
     if (BACKPRESSURE_LOG) {
       if (writable) {
-        logger.info("{} is not writable, not auto-reading player connection data", this.serverConn);
-      } else {
         logger.info("{} is writable, will auto-read player connection data", this.serverConn);
+      } else {
+        logger.info("{} is not writable, not auto-reading player connection data", this.serverConn);
       }
     }
-
-    playerConnection.setAutoReading(writable);
+    // MinecraftConnection itself stops reading from the player until we are writable again.
   }
 }
@@ -37,7 +37,6 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import java.util.Optional;
-import java.util.StringJoiner;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.ComponentSerializer;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
@@ -100,76 +99,27 @@ public class BungeeCordMessageResponder {
   }
 
   private void processPlayerCount(ByteBufDataInput in) {
-    ByteBuf buf = Unpooled.buffer();
-    ByteBufDataOutput out = new ByteBufDataOutput(buf);
-
     String target = in.readUTF();
     if (target.equals("ALL")) {
-      out.writeUTF("PlayerCount");
-      out.writeUTF("ALL");
-      out.writeInt(proxy.getPlayerCount());
+      sendResponseOnConnection(proxy.getBungeeCordResponses().playerCount(null));
     } else {
-      proxy.getServer(target).ifPresent(rs -> {
-        int playersOnServer = rs.getPlayersConnected().size();
-        out.writeUTF("PlayerCount");
-        out.writeUTF(rs.getServerInfo().getName());
-        out.writeInt(playersOnServer);
-      });
-    }
-
-    if (buf.isReadable()) {
-      sendResponseOnConnection(buf);
-    } else {
-      buf.release();
+      proxy.getServer(target).ifPresent(rs -> sendResponseOnConnection(
+          proxy.getBungeeCordResponses().playerCount((VelocityRegisteredServer) rs)));
     }
   }
 
   private void processPlayerList(ByteBufDataInput in) {
-    ByteBuf buf = Unpooled.buffer();
-    ByteBufDataOutput out = new ByteBufDataOutput(buf);
-
     String target = in.readUTF();
     if (target.equals("ALL")) {
-      out.writeUTF("PlayerList");
-      out.writeUTF("ALL");
-
-      StringJoiner joiner = new StringJoiner(", ");
-      for (Player online : proxy.getAllPlayers()) {
-        joiner.add(online.getUsername());
-      }
-      out.writeUTF(joiner.toString());
+      sendResponseOnConnection(proxy.getBungeeCordResponses().playerList(null));
     } else {
-      proxy.getServer(target).ifPresent(info -> {
-        out.writeUTF("PlayerList");
-        out.writeUTF(info.getServerInfo().getName());
-
-        final StringJoiner joiner = new StringJoiner(", ");
-        for (Player online : info.getPlayersConnected()) {
-          joiner.add(online.getUsername());
-        }
-        out.writeUTF(joiner.toString());
-      });
-    }
-
-    if (buf.isReadable()) {
-      sendResponseOnConnection(buf);
-    } else {
-      buf.release();
+      proxy.getServer(target).ifPresent(rs -> sendResponseOnConnection(
+          proxy.getBungeeCordResponses().playerList((VelocityRegisteredServer) rs)));
     }
   }
 
   private void processGetServers() {
-    StringJoiner joiner = new StringJoiner(", ");
-    for (RegisteredServer server : proxy.getAllServers()) {
-      joiner.add(server.getServerInfo().getName());
-    }
-
-    ByteBuf buf = Unpooled.buffer();
-    ByteBufDataOutput out = new ByteBufDataOutput(buf);
-    out.writeUTF("GetServers");
-    out.writeUTF(joiner.toString());
-
-    sendResponseOnConnection(buf);
+    sendResponseOnConnection(proxy.getBungeeCordResponses().serverList());
   }
 
   private void processMessage(ByteBufDataInput in) {
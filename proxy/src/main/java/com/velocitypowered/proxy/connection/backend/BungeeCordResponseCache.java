@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Collections2;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.cluster.ClusterPlayer;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.protocol.util.ByteBufDataOutput;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches the answers to the BungeeCord {@code PlayerList}, {@code PlayerCount} and
+ * {@code GetServers} requests, which backend plugins tend to poll every second. An answer is only
+ * encoded again once the player or server list it describes has changed; until then, every
+ * request gets a duplicate of the same buffer. The answers for {@code ALL} cover every proxy of
+ * the cluster.
+ */
+@SuppressFBWarnings(
+    value = "OS_OPEN_STREAM",
+    justification = "ByteBufDataOutput is backed by a heap-allocated ByteBuf. Closing it does "
+        + "nothing."
+)
+public final class BungeeCordResponseCache {
+
+  private static final String ALL = "ALL";
+
+  private final VelocityServer proxy;
+  private final VersionedResponse allPlayerList = new VersionedResponse();
+  private final VersionedResponse allPlayerCount = new VersionedResponse();
+  private final VersionedResponse serverList = new VersionedResponse();
+  private final Cache<RegisteredServer, ServerResponses> serverResponses = Caffeine.newBuilder()
+      .weakKeys()
+      .build();
+
+  public BungeeCordResponseCache(VelocityServer proxy) {
+    this.proxy = proxy;
+  }
+
+  /**
+   * Returns the answer to a {@code PlayerList} request.
+   *
+   * @param server the server to list the players of, or {@code null} for all players
+   * @return the answer, which the caller must release
+   */
+  ByteBuf playerList(@Nullable VelocityRegisteredServer server) {
+    if (server == null) {
+      return allPlayerList.get(allPlayersVersion(), () -> encodePlayerList(ALL,
+          Collections2.transform(proxy.getCluster().getPlayers(), ClusterPlayer::getUsername)));
+    }
+    return responses(server).playerList.get(server.getPlayersVersion(),
+        () -> encodePlayerList(server.getServerInfo().getName(),
+            Collections2.transform(server.getPlayersConnected(), Player::getUsername)));
+  }
+
+  /**
+   * Returns the answer to a {@code PlayerCount} request.
+   *
+   * @param server the server to count the players of, or {@code null} for all players
+   * @return the answer, which the caller must release
+   */
+  ByteBuf playerCount(@Nullable VelocityRegisteredServer server) {
+    if (server == null) {
+      return allPlayerCount.get(allPlayersVersion(),
+          () -> encodePlayerCount(ALL, proxy.getCluster().getPlayerCount()));
+    }
+    return responses(server).playerCount.get(server.getPlayersVersion(),
+        () -> encodePlayerCount(server.getServerInfo().getName(),
+            server.getPlayersConnected().size()));
+  }
+
+  /**
+   * Returns the answer to a {@code GetServers} request.
+   *
+   * @return the answer, which the caller must release
+   */
+  ByteBuf serverList() {
+    return serverList.get(proxy.getServersVersion(), () -> {
+      StringJoiner joiner = new StringJoiner(", ");
+      for (RegisteredServer server : proxy.getAllServers()) {
+        joiner.add(server.getServerInfo().getName());
+      }
+
+      ByteBuf buf = Unpooled.buffer();
+      ByteBufDataOutput out = new ByteBufDataOutput(buf);
+      out.writeUTF("GetServers");
+      out.writeUTF(joiner.toString());
+      return buf;
+    });
+  }
+
+  private int allPlayersVersion() {
+    // Both versions only ever grow, so their sum changes whenever one of them does.
+    return proxy.getPlayersVersion() + proxy.getCluster().getRemoteVersion();
+  }
+
+  private ServerResponses responses(VelocityRegisteredServer server) {
+    return serverResponses.get(server, key -> new ServerResponses());
+  }
+
+  private static ByteBuf encodePlayerList(String target, Iterable<String> usernames) {
+    StringJoiner joiner = new StringJoiner(", ");
+    for (String username : usernames) {
+      joiner.add(username);
+    }
+
+    ByteBuf buf = Unpooled.buffer();
+    ByteBufDataOutput out = new ByteBufDataOutput(buf);
+    out.writeUTF("PlayerList");
+    out.writeUTF(target);
+    out.writeUTF(joiner.toString());
+    return buf;
+  }
+
+  private static ByteBuf encodePlayerCount(String target, int count) {
+    ByteBuf buf = Unpooled.buffer();
+    ByteBufDataOutput out = new ByteBufDataOutput(buf);
+    out.writeUTF("PlayerCount");
+    out.writeUTF(target);
+    out.writeInt(count);
+    return buf;
+  }
+
+  private static final class ServerResponses {
+
+    private final VersionedResponse playerList = new VersionedResponse();
+    private final VersionedResponse playerCount = new VersionedResponse();
+  }
+
+  /**
+   * Holds the most recently encoded answer together with the version of the data it was encoded
+   * from.
+   */
+  static final class VersionedResponse {
+
+    private volatile @Nullable Entry entry;
+
+    /**
+     * Returns the cached answer, encoding it again if the version changed. Concurrent callers may
+     * both encode the answer, in which case the last one wins; that is cheaper than locking.
+     *
+     * @param version the current version of the data
+     * @param encoder encodes the answer from the current data
+     * @return a duplicate of the answer
+     */
+    ByteBuf get(int version, Supplier<ByteBuf> encoder) {
+      Entry current = entry;
+      if (current == null || current.version != version) {
+        current = new Entry(version, Unpooled.unreleasableBuffer(encoder.get()));
+        entry = current;
+      }
+      // The cached buffer can't be released, so a duplicate is safe to hand out to every writer.
+      return current.buf.duplicate();
+    }
+
+    private record Entry(int version, ByteBuf buf) {
+    }
+  }
+}
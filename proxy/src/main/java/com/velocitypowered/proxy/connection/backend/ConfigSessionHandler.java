@@ -274,10 +274,9 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
           PluginMessageUtil.rewriteMinecraftBrand(packet, server.getVersion(),
               serverConn.getPlayer().getProtocolVersion()));
     } else {
-      byte[] bytes = ByteBufUtil.getBytes(packet.content());
       ChannelIdentifier id = this.server.getChannelRegistrar().getFromId(packet.getChannel());
 
-      if (id == null) {
+      if (id == null || !server.getEventManager().hasSubscribers(PluginMessageEvent.class)) {
         serverConn.getPlayer().getConnection().write(packet.retain());
         return true;
       }
@@ -285,17 +284,19 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
       // Handling this stuff async means that we should probably pause
       // the connection while we toss this off into another pool
       this.serverConn.getConnection().setAutoReading(false);
+      final byte[] copy = ByteBufUtil.getBytes(packet.content());
       this.server.getEventManager()
-          .fire(new PluginMessageEvent(serverConn, serverConn.getPlayer(), id, bytes))
+          .fire(new PluginMessageEvent(serverConn, serverConn.getPlayer(), id, copy))
           .thenAcceptAsync(pme -> {
             if (pme.getResult().isAllowed() && !serverConn.getPlayer().getConnection().isClosed()) {
               serverConn.getPlayer().getConnection().write(new PluginMessagePacket(
-                  pme.getIdentifier().getId(), Unpooled.wrappedBuffer(bytes)));
+                  pme.getIdentifier().getId(), Unpooled.wrappedBuffer(copy)));
+            }
+          },  serverConn.ensureConnected().eventLoop()).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+              logger.error("Exception while handling plugin message {}", packet, ex);
             }
             this.serverConn.getConnection().setAutoReading(true);
-          },  serverConn.ensureConnected().eventLoop()).exceptionally((ex) -> {
-            logger.error("Exception while handling plugin message {}", packet, ex);
-            return null;
           });
     }
     return true;
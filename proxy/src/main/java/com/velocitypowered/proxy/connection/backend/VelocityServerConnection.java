@@ -19,6 +19,7 @@ package com.velocitypowered.proxy.connection.backend;
 
 import static com.velocitypowered.proxy.connection.forge.legacy.LegacyForgeConstants.HANDSHAKE_HOSTNAME_TOKEN;
 import static com.velocitypowered.proxy.network.Connections.HANDLER;
+import static com.velocitypowered.proxy.network.Connections.TELEMETRY;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Preconditions;
@@ -39,7 +40,10 @@ import com.velocitypowered.proxy.connection.PlayerDataForwarding;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.connection.forge.modern.ModernForgeConnectionType;
 import com.velocitypowered.proxy.connection.util.ConnectionRequestResults.Impl;
+import com.velocitypowered.proxy.connection.util.PendingPings;
 import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
+import com.velocitypowered.proxy.protocol.netty.NetworkTelemetryHandler;
 import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
 import com.velocitypowered.proxy.protocol.packet.JoinGamePacket;
 import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
@@ -49,8 +53,6 @@ import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFutureListener;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -70,7 +72,7 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
   private boolean hasCompletedJoin = false;
   private boolean gracefulDisconnect = false;
   private BackendConnectionPhase connectionPhase = BackendConnectionPhases.UNKNOWN;
-  private final Map<Long, Long> pendingPings = new HashMap<>();
+  private final PendingPings pendingPings = new PendingPings();
   private @MonotonicNonNull Integer entityId;
 
   /**
@@ -109,6 +111,15 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
             connection = new MinecraftConnection(proxyPlayer.getConnection().getListenerName(), future.channel(), server);
             connection.setAssociation(VelocityServerConnection.this);
             future.channel().pipeline().addLast(HANDLER, connection);
+            future.channel().pipeline().addFirst(TELEMETRY,
+                new NetworkTelemetryHandler(connection.getTelemetry()));
+            future.channel().pipeline().get(MinecraftEncoder.class)
+                .setTelemetry(connection.getTelemetry());
+            registeredServer.trackTelemetry(connection);
+            if (!proxyPlayer.getConnection().getChannel().isWritable()) {
+              // The player is already behind, don't read from the server until they caught up.
+              connection.setBackpressure(true);
+            }
 
             // Kick off the connection process
             if (!connection.setActiveSessionHandler(StateRegistry.HANDSHAKE)) {
@@ -323,7 +334,7 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
     return gracefulDisconnect;
   }
 
-  public Map<Long, Long> getPendingPings() {
+  public PendingPings getPendingPings() {
     return pendingPings;
   }
 
@@ -100,39 +100,53 @@ public class AuthSessionHandler implements MinecraftSessionHandler {
           inbound.getHandshakeIntent(), inbound.getIdentifiedKey());
       this.connectedPlayer = player;
       if (!server.canRegisterConnection(player)) {
-        player.disconnect0(
-            Component.translatable("velocity.error.already-connected-proxy", NamedTextColor.RED),
-            true);
+        disconnectAlreadyConnected(player);
         return CompletableFuture.completedFuture(null);
       }
 
-      if (server.getConfiguration().isLogPlayerConnections()) {
-        logger.info("{} has connected", player);
-      }
+      return server.canRegisterClusterConnection(player).thenComposeAsync(allowed -> {
+        if (mcConnection.isClosed()) {
+          return CompletableFuture.completedFuture(null);
+        }
+        if (!allowed) {
+          disconnectAlreadyConnected(player);
+          return CompletableFuture.completedFuture(null);
+        }
 
-      return server.getEventManager()
-          .fire(new PermissionsSetupEvent(player, ConnectedPlayer.DEFAULT_PERMISSIONS))
-          .thenAcceptAsync(event -> {
-            if (!mcConnection.isClosed()) {
-              // wait for permissions to load, then set the players permission function
-              final PermissionFunction function = event.createFunction(player);
-              if (function == null) {
-                logger.error("A plugin permission provider {} provided an invalid permission "
-                        + "function for player {}. This is a bug in the plugin, not in "
-                        + "Velocity. Falling back to the default permission function.",
-                    event.getProvider().getClass().getName(), player.getUsername());
-              } else {
-                player.setPermissionFunction(function);
+        if (server.getConfiguration().isLogPlayerConnections()) {
+          logger.info("{} has connected", player);
+        }
+
+        return server.getEventManager()
+            .fire(new PermissionsSetupEvent(player, ConnectedPlayer.DEFAULT_PERMISSIONS))
+            .thenAcceptAsync(event -> {
+              if (!mcConnection.isClosed()) {
+                // wait for permissions to load, then set the players permission function
+                final PermissionFunction function = event.createFunction(player);
+                if (function == null) {
+                  logger.error("A plugin permission provider {} provided an invalid permission "
+                          + "function for player {}. This is a bug in the plugin, not in "
+                          + "Velocity. Falling back to the default permission function.",
+                      event.getProvider().getClass().getName(), player.getUsername());
+                } else {
+                  player.setPermissionFunction(function);
+                }
+                startLoginCompletion(player);
               }
-              startLoginCompletion(player);
-            }
-          }, mcConnection.eventLoop());
+            }, mcConnection.eventLoop());
+      }, mcConnection.eventLoop());
     }, mcConnection.eventLoop()).exceptionally((ex) -> {
       logger.error("Exception during connection of {}", finalProfile, ex);
       return null;
     });
   }
 
+  private void disconnectAlreadyConnected(ConnectedPlayer player) {
+    player.disconnect0(
+        Component.translatable("velocity.error.already-connected-proxy", NamedTextColor.RED),
+        true);
+  }
+
   private void startLoginCompletion(ConnectedPlayer player) {
     int threshold = server.getConfiguration().getCompressionThreshold();
     if (threshold >= 0 && mcConnection.getProtocolVersion().noLessThan(MINECRAFT_1_8)) {
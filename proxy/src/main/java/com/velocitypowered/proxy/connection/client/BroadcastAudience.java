@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.ChatType;
+import com.velocitypowered.proxy.protocol.packet.chat.builder.ChatBuilderFactory;
+import com.velocitypowered.proxy.protocol.packet.title.GenericTitlePacket;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.sound.SoundStop;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.title.TitlePart;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An audience of many players that hands each operation to the event loops of the players in
+ * batches. The players are partitioned by event loop once, and every event loop gets a single
+ * task that writes to all of its players and flushes each of them once.
+ *
+ * <p>Messages, action bars and titles are translated and turned into packets once per locale and
+ * protocol version within a batch, and the packets are shared by the players of that batch.
+ * Operations that depend on the state of a player, such as sounds, are run for each player on its
+ * event loop instead.
+ */
+public final class BroadcastAudience implements Audience {
+
+  private final Supplier<? extends Collection<? extends Player>> players;
+
+  public BroadcastAudience(Supplier<? extends Collection<? extends Player>> players) {
+    this.players = players;
+  }
+
+  @Override
+  public void sendMessage(@NonNull Component message) {
+    this.sendMessage(Identity.nil(), message);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message) {
+    Preconditions.checkNotNull(source, "source");
+    Preconditions.checkNotNull(message, "message");
+    this.render((version, locale) -> List.of(new ChatBuilderFactory(version).builder()
+        .component(translate(message, locale)).forIdentity(source).toClient()));
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message,
+      @NonNull MessageType type) {
+    Preconditions.checkNotNull(source, "source");
+    Preconditions.checkNotNull(message, "message");
+    Preconditions.checkNotNull(type, "type");
+    this.render((version, locale) -> List.of(new ChatBuilderFactory(version).builder()
+        .component(translate(message, locale)).forIdentity(source)
+        .setType(type == MessageType.CHAT ? ChatType.CHAT : ChatType.SYSTEM)
+        .toClient()));
+  }
+
+  @Override
+  public void sendActionBar(@NonNull Component message) {
+    Preconditions.checkNotNull(message, "message");
+    this.render((version, locale) -> List.of(
+        ConnectedPlayer.createActionBarPacket(version, translate(message, locale))));
+  }
+
+  @Override
+  public void showTitle(@NonNull Title title) {
+    Preconditions.checkNotNull(title, "title");
+    this.render((version, locale) -> {
+      if (version.lessThan(ProtocolVersion.MINECRAFT_1_8)) {
+        return List.of();
+      }
+      return ConnectedPlayer.createTitlePackets(version, title,
+          translate(title.title(), locale), translate(title.subtitle(), locale));
+    });
+  }
+
+  @Override
+  public <T> void sendTitlePart(@NonNull TitlePart<T> part, @NonNull T value) {
+    Preconditions.checkNotNull(part, "part");
+    Preconditions.checkNotNull(value, "value");
+    this.forEachPlayer(player -> player.sendTitlePart(part, value));
+  }
+
+  @Override
+  public void clearTitle() {
+    this.sendTitleAction(GenericTitlePacket.ActionType.HIDE);
+  }
+
+  @Override
+  public void resetTitle() {
+    this.sendTitleAction(GenericTitlePacket.ActionType.RESET);
+  }
+
+  private void sendTitleAction(GenericTitlePacket.ActionType action) {
+    this.render((version, locale) -> {
+      if (version.lessThan(ProtocolVersion.MINECRAFT_1_8)) {
+        return List.of();
+      }
+      return List.of(GenericTitlePacket.constructTitlePacket(action, version));
+    });
+  }
+
+  @Override
+  public void playSound(@NonNull Sound sound, Sound.@NonNull Emitter emitter) {
+    Preconditions.checkNotNull(sound, "sound");
+    Preconditions.checkNotNull(emitter, "emitter");
+    this.forEachPlayer(player -> player.playSound(sound, emitter));
+  }
+
+  @Override
+  public void stopSound(@NonNull SoundStop stop) {
+    Preconditions.checkNotNull(stop, "stop");
+    this.forEachPlayer(player -> player.stopSound(stop));
+  }
+
+  private static Component translate(Component message, Locale locale) {
+    return GlobalTranslator.render(message, locale);
+  }
+
+  private void forEachPlayer(Consumer<ConnectedPlayer> action) {
+    dispatch(this.players.get(), BroadcastAudience::eventLoop, batch -> {
+      for (Player player : batch) {
+        action.accept((ConnectedPlayer) player);
+      }
+    });
+  }
+
+  private void render(PacketRenderer renderer) {
+    dispatch(this.players.get(), BroadcastAudience::eventLoop, batch -> {
+      Map<RenderKey, List<? extends MinecraftPacket>> rendered = new HashMap<>();
+      for (Player player : batch) {
+        ConnectedPlayer connected = (ConnectedPlayer) player;
+        List<? extends MinecraftPacket> packets = rendered.computeIfAbsent(
+            new RenderKey(connected.getProtocolVersion(), connected.getTranslationLocale()),
+            key -> renderer.render(key.version(), key.locale()));
+        if (packets.isEmpty()) {
+          continue;
+        }
+        MinecraftConnection connection = connected.getConnection();
+        for (MinecraftPacket packet : packets) {
+          connection.delayedWrite(packet);
+        }
+        connection.flush();
+      }
+    });
+  }
+
+  private static EventLoop eventLoop(Player player) {
+    return ((ConnectedPlayer) player).getConnection().eventLoop();
+  }
+
+  /**
+   * Partitions the recipients by event loop and runs the batch of every event loop on it, using
+   * one task per event loop. The batch of the current event loop, if any, is run directly.
+   *
+   * @param recipients the recipients
+   * @param loopOf returns the event loop of a recipient
+   * @param batch called on each event loop with the recipients of that loop
+   * @param <T> the type of the recipients
+   */
+  static <T> void dispatch(Iterable<? extends T> recipients, Function<T, EventLoop> loopOf,
+      Consumer<List<T>> batch) {
+    Map<EventLoop, List<T>> byLoop = new IdentityHashMap<>();
+    for (T recipient : recipients) {
+      byLoop.computeIfAbsent(loopOf.apply(recipient), loop -> new ArrayList<>()).add(recipient);
+    }
+    for (Map.Entry<EventLoop, List<T>> entry : byLoop.entrySet()) {
+      EventLoop loop = entry.getKey();
+      List<T> members = entry.getValue();
+      if (loop.inEventLoop()) {
+        batch.accept(members);
+      } else {
+        loop.execute(() -> batch.accept(members));
+      }
+    }
+  }
+
+  /**
+   * Creates the packets sent to the players of a protocol version and locale.
+   */
+  @FunctionalInterface
+  private interface PacketRenderer {
+
+    List<? extends MinecraftPacket> render(ProtocolVersion version, Locale locale);
+  }
+
+  private record RenderKey(ProtocolVersion version, Locale locale) {
+  }
+}
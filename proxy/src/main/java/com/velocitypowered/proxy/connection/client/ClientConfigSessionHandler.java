@@ -132,10 +132,9 @@ public class ClientConfigSessionHandler implements MinecraftSessionHandler {
     } else if (BungeeCordMessageResponder.isBungeeCordMessage(packet)) {
       return true;
     } else if (serverConn != null) {
-      byte[] bytes = ByteBufUtil.getBytes(packet.content());
       ChannelIdentifier id = this.server.getChannelRegistrar().getFromId(packet.getChannel());
 
-      if (id == null) {
+      if (id == null || !server.getEventManager().hasSubscribers(PluginMessageEvent.class)) {
         serverConn.ensureConnected().write(packet.retain());
         return true;
       }
@@ -143,17 +142,19 @@ public class ClientConfigSessionHandler implements MinecraftSessionHandler {
       // Handling this stuff async means that we should probably pause
       // the connection while we toss this off into another pool
       serverConn.getPlayer().getConnection().setAutoReading(false);
+      final byte[] copy = ByteBufUtil.getBytes(packet.content());
       this.server.getEventManager()
-          .fire(new PluginMessageEvent(serverConn.getPlayer(), serverConn, id, bytes))
+          .fire(new PluginMessageEvent(serverConn.getPlayer(), serverConn, id, copy))
           .thenAcceptAsync(pme -> {
             if (pme.getResult().isAllowed() && serverConn.getConnection() != null) {
               serverConn.ensureConnected().write(new PluginMessagePacket(
-                  pme.getIdentifier().getId(), Unpooled.wrappedBuffer(bytes)));
+                  pme.getIdentifier().getId(), Unpooled.wrappedBuffer(copy)));
+            }
+          }, player.getConnection().eventLoop()).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+              logger.error("Exception while handling plugin message packet for {}", player, ex);
             }
             serverConn.getPlayer().getConnection().setAutoReading(true);
-          }, player.getConnection().eventLoop()).exceptionally((ex) -> {
-            logger.error("Exception while handling plugin message packet for {}", player, ex);
-            return null;
           });
     }
     return true;
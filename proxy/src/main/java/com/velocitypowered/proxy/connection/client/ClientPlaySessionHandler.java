@@ -20,6 +20,7 @@ package com.velocitypowered.proxy.connection.client;
 import static com.velocitypowered.proxy.protocol.util.PluginMessageUtil.constructChannelsPacket;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.mojang.brigadier.suggestion.Suggestion;
 import com.velocitypowered.api.event.connection.PluginMessageEvent;
 import com.velocitypowered.api.event.player.CookieReceiveEvent;
@@ -314,17 +315,15 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
             PluginMessageUtil.getChannels(this.player.getClientsideChannels().size(), packet,
                 this.player.getProtocolVersion());
         player.getClientsideChannels().addAll(channels);
-        server.getEventManager()
-            .fireAndForget(
-                new PlayerChannelRegisterEvent(player, ImmutableList.copyOf(channels)));
+        server.getEventManager().fireIfSubscribed(PlayerChannelRegisterEvent.class,
+            () -> new PlayerChannelRegisterEvent(player, ImmutableList.copyOf(channels)));
         backendConn.write(packet.retain());
       } else if (PluginMessageUtil.isUnregister(packet)) {
         List<ChannelIdentifier> channels =
             PluginMessageUtil.getChannels(0, packet, this.player.getProtocolVersion());
         player.getClientsideChannels().removeAll(channels);
-        server.getEventManager()
-            .fireAndForget(
-                new PlayerChannelUnregisterEvent(player, ImmutableList.copyOf(channels)));
+        server.getEventManager().fireIfSubscribed(PlayerChannelUnregisterEvent.class,
+            () -> new PlayerChannelUnregisterEvent(player, ImmutableList.copyOf(channels)));
         backendConn.write(packet.retain());
       } else if (PluginMessageUtil.isMcBrand(packet)) {
         String brand = PluginMessageUtil.readBrandMessage(packet.content());
@@ -345,7 +344,8 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
 
         if (!player.getPhase().handle(player, packet, serverConn)) {
           ChannelIdentifier id = server.getChannelRegistrar().getFromId(packet.getChannel());
-          if (id == null) {
+          if (id == null
+              || !server.getEventManager().hasSubscribers(PluginMessageEvent.class)) {
             // We don't have any plugins listening on this channel, process the packet now.
             if (!player.getPhase().consideredComplete() || !serverConn.getPhase()
                 .consideredComplete()) {
@@ -371,7 +371,7 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
                 if (!player.getPhase().consideredComplete() || !serverConn.getPhase()
                     .consideredComplete()) {
                   // We're still processing the connection (see above), enqueue the packet for now.
-                  loginPluginMessages.add(message.retain());
+                  loginPluginMessages.add(message);
                 } else {
                   backendConn.write(message);
                 }
@@ -512,14 +512,7 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
       // get client timeouts.
       player.getConnection().eventLoop().execute(() -> player.getConnection().flush());
     }
-
-    VelocityServerConnection serverConn = player.getConnectedServer();
-    if (serverConn != null) {
-      MinecraftConnection smc = serverConn.getConnection();
-      if (smc != null) {
-        smc.setAutoReading(writable);
-      }
-    }
+    // MinecraftConnection itself stops reading from the server until we are writable again.
   }
 
   /**
@@ -816,12 +809,15 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
 
   private void finishRegularTabComplete(TabCompleteRequestPacket request,
                                         TabCompleteResponsePacket response) {
-    List<String> offers = new ArrayList<>();
-    for (Offer offer : response.getOffers()) {
-      offers.add(offer.getText());
-    }
-    server.getEventManager().fire(new TabCompleteEvent(player, request.getCommand(), offers))
+    server.getEventManager().fireIfSubscribed(TabCompleteEvent.class,
+            () -> new TabCompleteEvent(player, request.getCommand(),
+                Lists.transform(response.getOffers(), Offer::getText)))
         .thenAcceptAsync(e -> {
+          if (e == null) {
+            // Nobody can change the suggestions, send them on as they are.
+            player.getConnection().write(response);
+            return;
+          }
           response.getOffers().clear();
           for (String s : e.getSuggestions()) {
             response.getOffers().add(new Offer(s));
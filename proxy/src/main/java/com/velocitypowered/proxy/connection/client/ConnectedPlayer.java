@@ -39,6 +39,7 @@ import com.velocitypowered.api.event.player.PlayerSettingsChangedEvent;
 import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.event.player.configuration.PlayerEnterConfigurationEvent;
 import com.velocitypowered.api.network.HandshakeIntent;
+import com.velocitypowered.api.network.NetworkTelemetry;
 import com.velocitypowered.api.network.ProtocolState;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.permission.PermissionFunction;
@@ -68,7 +69,9 @@ import com.velocitypowered.proxy.connection.player.resourcepack.VelocityResource
 import com.velocitypowered.proxy.connection.player.resourcepack.handler.ResourcePackHandler;
 import com.velocitypowered.proxy.connection.util.ConnectionMessages;
 import com.velocitypowered.proxy.connection.util.ConnectionRequestResults.Impl;
+import com.velocitypowered.proxy.connection.util.PendingPings;
 import com.velocitypowered.proxy.connection.util.VelocityInboundConnection;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
 import com.velocitypowered.proxy.protocol.packet.BundleDelimiterPacket;
@@ -178,7 +181,6 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
   private GameProfile profile;
   private PermissionFunction permissionFunction;
   private int tryIndex = 0;
-  private long ping = -1;
   private final boolean onlineMode;
   private @Nullable VelocityServerConnection connectedServer;
   private @Nullable VelocityServerConnection connectionInFlight;
@@ -321,11 +323,12 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
   @Override
   public long getPing() {
-    return this.ping;
+    return connection.getTelemetry().getLatestRoundTripTime();
   }
 
-  void setPing(long ping) {
-    this.ping = ping;
+  @Override
+  public NetworkTelemetry getNetworkTelemetry() {
+    return connection.getTelemetry();
   }
 
   @Override
@@ -411,6 +414,15 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
    * @return the translated message
    */
   public Component translateMessage(Component message) {
+    return GlobalTranslator.render(message, getTranslationLocale());
+  }
+
+  /**
+   * Returns the locale messages are translated to for this player.
+   *
+   * @return the closest supported locale of the player
+   */
+  Locale getTranslationLocale() {
     Locale locale = this.getEffectiveLocale();
     if (locale == null && settings != null) {
       locale = settings.getLocale();
@@ -418,8 +430,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     if (locale == null) {
       locale = Locale.getDefault();
     }
-    locale = ClosestLocaleMatcher.INSTANCE.lookupClosest(locale);
-    return GlobalTranslator.render(message, locale);
+    return ClosestLocaleMatcher.INSTANCE.lookupClosest(locale);
   }
 
   @Override
@@ -446,15 +457,16 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
   @Override
   public void sendActionBar(net.kyori.adventure.text.@NonNull Component message) {
-    Component translated = translateMessage(message);
+    connection.write(createActionBarPacket(getProtocolVersion(), translateMessage(message)));
+  }
 
-    ProtocolVersion playerVersion = getProtocolVersion();
-    if (playerVersion.noLessThan(ProtocolVersion.MINECRAFT_1_11)) {
+  static MinecraftPacket createActionBarPacket(ProtocolVersion version, Component translated) {
+    if (version.noLessThan(ProtocolVersion.MINECRAFT_1_11)) {
       // Use the title packet instead.
       GenericTitlePacket pkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_ACTION_BAR, playerVersion);
-      pkt.setComponent(new ComponentHolder(playerVersion, translated));
-      connection.write(pkt);
+          GenericTitlePacket.ActionType.SET_ACTION_BAR, version);
+      pkt.setComponent(new ComponentHolder(version, translated));
+      return pkt;
     } else {
       // Due to issues with action bar packets, we'll need to convert the text message into a
       // legacy message and then inject the legacy text into a component... yuck!
@@ -464,7 +476,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
       LegacyChatPacket legacyChat = new LegacyChatPacket();
       legacyChat.setMessage(object.toString());
       legacyChat.setType(LegacyChatPacket.GAME_INFO_TYPE);
-      connection.write(legacyChat);
+      return legacyChat;
     }
   }
 
@@ -504,30 +516,34 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
   @Override
   public void showTitle(net.kyori.adventure.title.@NonNull Title title) {
     if (this.getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_8)) {
-      GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TIMES, this.getProtocolVersion());
-      net.kyori.adventure.title.Title.Times times = title.times();
-      if (times != null) {
-        timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
-        timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
-        timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
+      for (GenericTitlePacket packet : createTitlePackets(this.getProtocolVersion(), title,
+          translateMessage(title.title()), translateMessage(title.subtitle()))) {
+        connection.delayedWrite(packet);
       }
-      connection.delayedWrite(timesPkt);
+      connection.flush();
+    }
+  }
 
-      GenericTitlePacket subtitlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_SUBTITLE, this.getProtocolVersion());
-      subtitlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage(title.subtitle())));
-      connection.delayedWrite(subtitlePkt);
+  static List<GenericTitlePacket> createTitlePackets(ProtocolVersion version,
+      net.kyori.adventure.title.Title title, Component translatedTitle,
+      Component translatedSubtitle) {
+    GenericTitlePacket timesPkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_TIMES, version);
+    net.kyori.adventure.title.Title.Times times = title.times();
+    if (times != null) {
+      timesPkt.setFadeIn((int) DurationUtils.toTicks(times.fadeIn()));
+      timesPkt.setStay((int) DurationUtils.toTicks(times.stay()));
+      timesPkt.setFadeOut((int) DurationUtils.toTicks(times.fadeOut()));
+    }
 
-      GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
-          GenericTitlePacket.ActionType.SET_TITLE, this.getProtocolVersion());
-      titlePkt.setComponent(new ComponentHolder(
-          this.getProtocolVersion(), translateMessage(title.title())));
-      connection.delayedWrite(titlePkt);
+    GenericTitlePacket subtitlePkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_SUBTITLE, version);
+    subtitlePkt.setComponent(new ComponentHolder(version, translatedSubtitle));
 
-      connection.flush();
-    }
+    GenericTitlePacket titlePkt = GenericTitlePacket.constructTitlePacket(
+        GenericTitlePacket.ActionType.SET_TITLE, version);
+    titlePkt.setComponent(new ComponentHolder(version, translatedTitle));
+    return List.of(timesPkt, subtitlePkt, titlePkt);
   }
 
   @SuppressWarnings("ConstantValue")
@@ -1350,11 +1366,11 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
   private boolean sendKeepAliveToBackend(final @Nullable VelocityServerConnection serverConnection, final @NotNull KeepAlivePacket packet) {
     if (serverConnection != null) {
-      final Long sentTime = serverConnection.getPendingPings().remove(packet.getRandomId());
-      if (sentTime != null) {
+      final long sentTime = serverConnection.getPendingPings().remove(packet.getRandomId());
+      if (sentTime != PendingPings.UNKNOWN) {
         final MinecraftConnection smc = serverConnection.getConnection();
         if (smc != null) {
-          setPing(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentTime));
+          connection.getTelemetry().recordRoundTripTime(System.nanoTime() - sentTime);
           smc.write(packet);
           return true;
         }
@@ -59,7 +59,7 @@ public class InitialConnectSessionHandler implements MinecraftSessionHandler {
       }
 
       ChannelIdentifier id = server.getChannelRegistrar().getFromId(packet.getChannel());
-      if (id == null) {
+      if (id == null || !server.getEventManager().hasSubscribers(PluginMessageEvent.class)) {
         serverConn.ensureConnected().write(packet.retain());
         return true;
       }
@@ -26,6 +26,9 @@ import java.util.Set;
 /**
  * Handles dropping and resending boss bar packets on versions 1.20.2 and newer because the client now
  * deletes all boss bars during the login phase, and sending update packets would cause the client to be disconnected.
+ *
+ * <p>The manager is confined to the event loop of the player, so it needs no locking. Boss bars
+ * hand their packets over to that event loop before calling into it.
  */
 public final class BossBarManager {
 
@@ -39,12 +42,21 @@ public final class BossBarManager {
   }
 
   /**
-   * Records the specified boss bar to be re-sent when a player changes server, and sends the update packet
-   * if the client is able to receive it and not be disconnected.
+   * Records the specified boss bar to be re-sent when a player changes server, and sends the packet
+   * creating it if the client is able to receive it and not be disconnected.
+   */
+  public void add(VelocityBossBarImplementation bar, BossBarPacket packet) {
+    if (this.bossBars.add(bar) && !this.dropPackets) {
+      this.player.getConnection().write(packet);
+    }
+  }
+
+  /**
+   * Sends an update packet for the specified boss bar if the client was sent the boss bar already
+   * and is able to receive it and not be disconnected.
    */
-  public synchronized void writeUpdate(VelocityBossBarImplementation bar, BossBarPacket packet) {
-    this.bossBars.add(bar);
-    if (!this.dropPackets) {
+  public void writeUpdate(VelocityBossBarImplementation bar, BossBarPacket packet) {
+    if (!this.dropPackets && this.bossBars.contains(bar)) {
       this.player.getConnection().write(packet);
     }
   }
@@ -52,9 +64,8 @@ public final class BossBarManager {
   /**
    * Removes the specified boss bar from the player to ensure it is not re-sent.
    */
-  public synchronized void remove(VelocityBossBarImplementation bar, BossBarPacket packet) {
-    this.bossBars.remove(bar);
-    if (!this.dropPackets) {
+  public void remove(VelocityBossBarImplementation bar, BossBarPacket packet) {
+    if (this.bossBars.remove(bar) && !this.dropPackets) {
       this.player.getConnection().write(packet);
     }
   }
@@ -63,7 +74,7 @@ public final class BossBarManager {
    * Re-creates the boss bars the player can see with any updates that may have occurred in the meantime,
    * and allows update packets for those boss bars to be sent.
    */
-  public synchronized void sendBossBars() {
+  public void sendBossBars() {
     for (VelocityBossBarImplementation bossBar : bossBars) {
       bossBar.createDirect(player);
     }
@@ -73,7 +84,7 @@ public final class BossBarManager {
   /**
    * Prevents the player from receiving boss bar update packets while logging in to a new server.
    */
-  public synchronized void dropPackets() {
+  public void dropPackets() {
     this.dropPackets = true;
   }
 }
@@ -0,0 +1,316 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.player.resourcepack;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.velocitypowered.api.proxy.player.ResourcePackInfo;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Computes the SHA-1 hashes of resource packs in the background.
+ *
+ * <p>Local files are read into a pooled direct buffer, and packs behind HTTP URLs are hashed
+ * while they are downloaded, without holding the whole pack in memory. Hashes are cached together
+ * with the size and modification time of a file, or the {@code ETag} or {@code Last-Modified}
+ * header of a download, so a pack is only hashed again once it changed. Concurrent requests for
+ * the same pack share a single computation.
+ */
+public final class ResourcePackHasher {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int MAX_CACHED_HASHES = 256;
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration DOWNLOAD_TIMEOUT = Duration.ofMinutes(2);
+
+  private final ExecutorService executor = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder()
+          .setNameFormat("Velocity Resource Pack Hasher #%d")
+          .setDaemon(true)
+          .build());
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .executor(executor)
+      .followRedirects(HttpClient.Redirect.NORMAL)
+      .connectTimeout(CONNECT_TIMEOUT)
+      .build();
+  private final Cache<String, CachedHash> hashes = Caffeine.newBuilder()
+      .maximumSize(MAX_CACHED_HASHES)
+      .build();
+  private final Map<String, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+
+  /**
+   * Computes the hash of the given file.
+   *
+   * @param file the file
+   * @return a future that completes with the hash
+   */
+  public CompletableFuture<byte[]> hash(Path file) {
+    return deduplicate(keyOf(file),
+        () -> CompletableFuture.supplyAsync(() -> hashFile(file), executor));
+  }
+
+  /**
+   * Computes the hash of the resource pack at the given URL. Both {@code file} and HTTP URLs are
+   * supported.
+   *
+   * @param url the URL of the resource pack
+   * @return a future that completes with the hash
+   */
+  public CompletableFuture<byte[]> hash(String url) {
+    URI uri;
+    try {
+      uri = URI.create(url);
+    } catch (IllegalArgumentException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+    return switch (scheme) {
+      case "file" -> hash(Path.of(uri));
+      case "http", "https" -> deduplicate(url, () -> hashDownload(uri, url));
+      default -> CompletableFuture.failedFuture(
+          new IllegalArgumentException("Unsupported resource pack URL " + url));
+    };
+  }
+
+  /**
+   * Returns the given resource pack with its hash, computing the hash first if it is missing.
+   *
+   * @param info the resource pack
+   * @return a future that completes with the resource pack
+   */
+  public CompletableFuture<ResourcePackInfo> withHash(ResourcePackInfo info) {
+    if (info.getHash() != null) {
+      return CompletableFuture.completedFuture(info);
+    }
+    return hash(info.getUrl()).thenApply(hash -> info.asBuilder().setHash(hash).build());
+  }
+
+  /**
+   * Returns the hash of the given file if it is known for the given size and modification time.
+   * The returned array must not be modified.
+   *
+   * @param file the file
+   * @param size the size of the file
+   * @param modified the modification time of the file in milliseconds
+   * @return the hash, or {@code null} if it is not known
+   */
+  public byte @Nullable [] getCachedHash(Path file, long size, long modified) {
+    CachedHash cached = hashes.getIfPresent(keyOf(file));
+    if (cached != null && fileValidator(size, modified).equals(cached.validator())) {
+      return cached.hash();
+    }
+    return null;
+  }
+
+  /**
+   * Returns the executor that files are hashed on, which may also be used for other blocking file
+   * access.
+   *
+   * @return the executor
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Stops all hashing in progress.
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private CompletableFuture<byte[]> deduplicate(String key,
+      Supplier<CompletableFuture<byte[]>> task) {
+    CompletableFuture<byte[]> future = new CompletableFuture<>();
+    CompletableFuture<byte[]> existing = pending.putIfAbsent(key, future);
+    if (existing != null) {
+      return existing;
+    }
+    CompletableFuture<byte[]> started;
+    try {
+      started = task.get();
+    } catch (RuntimeException e) {
+      started = CompletableFuture.failedFuture(e);
+    }
+    started.whenComplete((hash, cause) -> {
+      pending.remove(key, future);
+      if (cause != null) {
+        future.completeExceptionally(cause);
+      } else {
+        future.complete(hash);
+      }
+    });
+    return future;
+  }
+
+  private byte[] hashFile(Path file) {
+    String key = keyOf(file);
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+      String validator = fileValidator(attributes.size(),
+          attributes.lastModifiedTime().toMillis());
+      CachedHash cached = hashes.getIfPresent(key);
+      if (cached != null && validator.equals(cached.validator())) {
+        return cached.hash();
+      }
+
+      MessageDigest digest = sha1();
+      ByteBuf buf = ByteBufAllocator.DEFAULT.directBuffer(BUFFER_SIZE, BUFFER_SIZE);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        ByteBuffer nioBuf = buf.nioBuffer(0, BUFFER_SIZE);
+        while (channel.read(nioBuf) != -1) {
+          nioBuf.flip();
+          digest.update(nioBuf);
+          nioBuf.clear();
+        }
+      } finally {
+        buf.release();
+      }
+      byte[] hash = digest.digest();
+      hashes.put(key, new CachedHash(validator, hash));
+      return hash;
+    } catch (IOException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private CompletableFuture<byte[]> hashDownload(URI uri, String url) {
+    CachedHash cached = hashes.getIfPresent(url);
+    HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+        .timeout(DOWNLOAD_TIMEOUT)
+        .GET();
+    if (cached != null && cached.validator() != null) {
+      // Only download the pack again if it changed.
+      if (cached.validator().startsWith("etag:")) {
+        request.header("If-None-Match", cached.validator().substring("etag:".length()));
+      } else if (cached.validator().startsWith("modified:")) {
+        request.header("If-Modified-Since", cached.validator().substring("modified:".length()));
+      }
+    }
+
+    return httpClient.sendAsync(request.build(), info -> {
+      if (info.statusCode() / 100 != 2) {
+        return HttpResponse.BodySubscribers.replacing((byte[]) null);
+      }
+      DigestSubscriber subscriber = new DigestSubscriber();
+      return HttpResponse.BodySubscribers.fromSubscriber(subscriber, DigestSubscriber::digest);
+    }).thenApply(response -> {
+      if (response.statusCode() == 304 && cached != null) {
+        return cached.hash();
+      }
+      byte[] hash = response.body();
+      if (hash == null) {
+        throw new CompletionException(new IOException(
+            "Unable to download resource pack " + url + ": HTTP " + response.statusCode()));
+      }
+      Optional<String> etag = response.headers().firstValue("ETag");
+      Optional<String> modified = response.headers().firstValue("Last-Modified");
+      String validator = etag.map(value -> "etag:" + value)
+          .or(() -> modified.map(value -> "modified:" + value))
+          .orElse(null);
+      hashes.put(url, new CachedHash(validator, hash));
+      return hash;
+    });
+  }
+
+  private static String keyOf(Path file) {
+    return file.toAbsolutePath().normalize().toUri().toString();
+  }
+
+  private static String fileValidator(long size, long modified) {
+    return size + "@" + modified;
+  }
+
+  private static MessageDigest sha1() {
+    try {
+      return MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /**
+   * A computed hash.
+   *
+   * @param validator tells whether the pack changed since, or {@code null} if we can't tell
+   * @param hash the hash
+   */
+  private record CachedHash(@Nullable String validator, byte[] hash) {
+  }
+
+  /**
+   * Hashes a download as it arrives.
+   */
+  private static final class DigestSubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+
+    private final MessageDigest digest = sha1();
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> item) {
+      for (ByteBuffer buffer : item) {
+        digest.update(buffer);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    private byte[] digest() {
+      return digest.digest();
+    }
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.player.resourcepack.host;
+
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.timeout.IdleStateEvent;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Answers the HTTP requests of the resource pack server. Pack files are sent with a
+ * {@link DefaultFileRegion}, so that the kernel copies them to the socket directly, and single
+ * byte ranges are supported so clients can resume interrupted downloads.
+ */
+final class ResourcePackHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+  private static final Logger logger = LogManager.getLogger(ResourcePackHttpHandler.class);
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final VelocityResourcePackHost host;
+  private final boolean zeroCopy;
+  private final Executor fileExecutor;
+  private CompletableFuture<?> lastResponse = CompletableFuture.completedFuture(null);
+
+  ResourcePackHttpHandler(VelocityResourcePackHost host, boolean zeroCopy, Executor fileExecutor) {
+    this.host = host;
+    this.zeroCopy = zeroCopy;
+    this.fileExecutor = fileExecutor;
+  }
+
+  @Override
+  protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+    HttpResponseStatus error = null;
+    if (!request.decoderResult().isSuccess()) {
+      error = HttpResponseStatus.BAD_REQUEST;
+    } else if (!HttpMethod.GET.equals(request.method())
+        && !HttpMethod.HEAD.equals(request.method())) {
+      error = HttpResponseStatus.METHOD_NOT_ALLOWED;
+    }
+    HttpResponseStatus requestError = error;
+    boolean head = HttpMethod.HEAD.equals(request.method());
+    boolean keepAlive = requestError == null && HttpUtil.isKeepAlive(request);
+    Path file = requestError == null
+        ? host.lookup(new QueryStringDecoder(request.uri()).path()) : null;
+    HttpHeaders headers = request.headers();
+
+    // Opening the file may block, so it is done on another thread. Each response waits for the
+    // previous one, which keeps the responses to pipelined requests in order.
+    lastResponse = lastResponse
+        .thenApplyAsync(ignored -> file == null ? null : openPack(file), fileExecutor)
+        .handleAsync((pack, ex) -> {
+          if (requestError != null) {
+            sendStatus(ctx, requestError, false);
+          } else if (ex != null) {
+            exceptionCaught(ctx, ex instanceof CompletionException ? ex.getCause() : ex);
+          } else if (pack == null) {
+            sendStatus(ctx, HttpResponseStatus.NOT_FOUND, keepAlive);
+          } else {
+            try {
+              respond(ctx, headers, pack, head, keepAlive);
+            } catch (IOException e) {
+              exceptionCaught(ctx, e);
+            }
+          }
+          return null;
+        }, ctx.executor());
+  }
+
+  private @Nullable PackFile openPack(Path file) {
+    RandomAccessFile raf;
+    try {
+      raf = new RandomAccessFile(file.toFile(), "r");
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+    try {
+      long length = raf.length();
+      return new PackFile(raf, length, host.getCachedHash(file, length,
+          file.toFile().lastModified()));
+    } catch (IOException e) {
+      closeQuietly(raf);
+      throw new CompletionException(e);
+    }
+  }
+
+  private void respond(ChannelHandlerContext ctx, HttpHeaders headers, PackFile pack,
+      boolean head, boolean keepAlive) throws IOException {
+    RandomAccessFile raf = pack.raf();
+    boolean transferred = false;
+    try {
+      long length = pack.length();
+      String etag = pack.hash() == null ? null : '"' + ByteBufUtil.hexDump(pack.hash()) + '"';
+      if (etag != null && etag.equals(headers.get(HttpHeaderNames.IF_NONE_MATCH))) {
+        FullHttpResponse response = emptyResponse(HttpResponseStatus.NOT_MODIFIED);
+        response.headers().set(HttpHeaderNames.ETAG, etag);
+        send(ctx, response, keepAlive);
+        return;
+      }
+
+      ByteRange range = null;
+      String rangeHeader = headers.get(HttpHeaderNames.RANGE);
+      String ifRange = headers.get(HttpHeaderNames.IF_RANGE);
+      // A range only applies to the version of the pack the client already has a part of.
+      if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+        range = ByteRange.parse(rangeHeader, length);
+      }
+      if (range == ByteRange.UNSATISFIABLE) {
+        FullHttpResponse response = emptyResponse(
+            HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.headers().set(HttpHeaderNames.CONTENT_RANGE, "bytes */" + length);
+        send(ctx, response, keepAlive);
+        return;
+      }
+
+      long start = range == null ? 0 : range.start();
+      long count = range == null ? length : range.length();
+      HttpResponse response = new DefaultHttpResponse(HTTP_1_1,
+          range == null ? HttpResponseStatus.OK : HttpResponseStatus.PARTIAL_CONTENT);
+      response.headers()
+          .set(HttpHeaderNames.CONTENT_TYPE, "application/zip")
+          .set(HttpHeaderNames.ACCEPT_RANGES, HttpHeaderValues.BYTES);
+      if (etag != null) {
+        response.headers().set(HttpHeaderNames.ETAG, etag);
+      }
+      if (range != null) {
+        response.headers().set(HttpHeaderNames.CONTENT_RANGE,
+            "bytes " + range.start() + "-" + range.end() + "/" + length);
+      }
+      HttpUtil.setContentLength(response, count);
+      HttpUtil.setKeepAlive(response, keepAlive);
+      ctx.write(response);
+
+      if (!head && count > 0) {
+        // The file region or chunked file closes the file once it is sent.
+        if (zeroCopy) {
+          ctx.write(new DefaultFileRegion(raf.getChannel(), start, count));
+        } else {
+          ctx.write(new ChunkedNioFile(raf.getChannel(), start, count, CHUNK_SIZE));
+        }
+        transferred = true;
+      }
+      ChannelFuture last = ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+      if (!keepAlive) {
+        last.addListener(ChannelFutureListener.CLOSE);
+      }
+    } finally {
+      if (!transferred) {
+        raf.close();
+      }
+    }
+  }
+
+  @Override
+  public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+    if (evt instanceof IdleStateEvent) {
+      logger.debug("Closing idle resource pack connection from {}",
+          ctx.channel().remoteAddress());
+      ctx.close();
+      return;
+    }
+    super.userEventTriggered(ctx, evt);
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    if (cause instanceof IOException) {
+      logger.debug("Unable to serve a resource pack to {}", ctx.channel().remoteAddress(), cause);
+    } else {
+      logger.error("Unable to serve a resource pack to {}", ctx.channel().remoteAddress(), cause);
+    }
+    ctx.close();
+  }
+
+  private static void closeQuietly(RandomAccessFile raf) {
+    try {
+      raf.close();
+    } catch (IOException ignored) {
+      // Nothing was read from the file.
+    }
+  }
+
+  private static FullHttpResponse emptyResponse(HttpResponseStatus status) {
+    FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, status);
+    HttpUtil.setContentLength(response, 0);
+    return response;
+  }
+
+  private static void sendStatus(ChannelHandlerContext ctx, HttpResponseStatus status,
+      boolean keepAlive) {
+    send(ctx, emptyResponse(status), keepAlive);
+  }
+
+  private static void send(ChannelHandlerContext ctx, FullHttpResponse response,
+      boolean keepAlive) {
+    HttpUtil.setKeepAlive(response, keepAlive);
+    ChannelFuture future = ctx.writeAndFlush(response);
+    if (!keepAlive) {
+      future.addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+
+  /**
+   * A pack file opened for a request.
+   *
+   * @param raf the opened file
+   * @param length the length of the file
+   * @param hash the hash of the file, or {@code null} if it is not known yet
+   */
+  private record PackFile(RandomAccessFile raf, long length, byte @Nullable [] hash) {
+  }
+
+  /**
+   * A single range of bytes requested with a {@code Range} header.
+   *
+   * @param start the first byte
+   * @param end the last byte, inclusive
+   */
+  record ByteRange(long start, long end) {
+
+    /**
+     * Returned by {@link #parse(String, long)} for a range that lies beyond the end of the file.
+     */
+    static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    long length() {
+      return end - start + 1;
+    }
+
+    /**
+     * Parses a {@code Range} header. Only single byte ranges are supported; for anything else,
+     * the whole file is sent, which the HTTP specification allows.
+     *
+     * @param header the value of the header
+     * @param length the length of the file
+     * @return the range, {@link #UNSATISFIABLE}, or {@code null} to send the whole file
+     */
+    static @Nullable ByteRange parse(String header, long length) {
+      if (!header.startsWith("bytes=")) {
+        return null;
+      }
+      String spec = header.substring("bytes=".length()).trim();
+      int dash = spec.indexOf('-');
+      if (dash < 0 || spec.indexOf(',') >= 0) {
+        return null;
+      }
+      String first = spec.substring(0, dash).trim();
+      String last = spec.substring(dash + 1).trim();
+      try {
+        if (first.isEmpty()) {
+          // A suffix range, for the last bytes of the file
+          long suffix = last.isEmpty() ? -1 : Long.parseLong(last);
+          if (suffix < 0) {
+            return null;
+          }
+          if (suffix == 0 || length == 0) {
+            return UNSATISFIABLE;
+          }
+          return new ByteRange(Math.max(0, length - suffix), length - 1);
+        }
+        long start = Long.parseLong(first);
+        long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+        if (start >= length) {
+          return UNSATISFIABLE;
+        }
+        if (start < 0 || end < start) {
+          return null;
+        }
+        return new ByteRange(start, end);
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+  }
+}
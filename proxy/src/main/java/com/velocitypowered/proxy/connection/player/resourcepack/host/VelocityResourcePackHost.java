@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.player.resourcepack.host;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.proxy.player.ResourcePackHost;
+import com.velocitypowered.api.proxy.player.ResourcePackInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.connection.player.resourcepack.ResourcePackHasher;
+import com.velocitypowered.proxy.util.AddressUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.handler.timeout.IdleStateHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Serves resource pack files from the proxy host over HTTP, on the event loops of the proxy.
+ *
+ * <p>Packs are served from {@code /<id>.zip}, where the ID is derived from the path of the file.
+ * Their hashes come from the {@link ResourcePackHasher}, which only hashes a file again once its
+ * size or modification time changes.
+ */
+public final class VelocityResourcePackHost implements ResourcePackHost {
+
+  private static final Logger logger = LogManager.getLogger(VelocityResourcePackHost.class);
+  private static final String SUFFIX = ".zip";
+  private static final int MAX_REQUEST_SIZE = 8192;
+
+  private final VelocityServer server;
+  private final Map<UUID, Path> packs = new ConcurrentHashMap<>();
+  private final ResourcePackHasher hasher;
+  private volatile @Nullable String publicUrl;
+  private @Nullable Channel channel;
+
+  public VelocityResourcePackHost(VelocityServer server, ResourcePackHasher hasher) {
+    this.server = server;
+    this.hasher = hasher;
+  }
+
+  /**
+   * Starts the resource pack server if it is enabled.
+   *
+   * @param config the resource pack server configuration
+   */
+  public void start(VelocityConfiguration.ResourcePackServer config) {
+    if (!config.isEnabled()) {
+      return;
+    }
+
+    boolean zeroCopy = server.cm.supportsFileRegion();
+    int idleTimeout = server.getConfiguration().getReadTimeout();
+    ChannelFuture bound = server.cm.createServerWorker()
+        .childHandler(new ChannelInitializer<>() {
+          @Override
+          protected void initChannel(Channel ch) {
+            // Downloads may take far longer than the read timeout, so only connections that
+            // neither send requests nor make progress writing a response are closed.
+            ch.pipeline()
+                .addLast(new IdleStateHandler(true, 0, 0, idleTimeout, TimeUnit.MILLISECONDS))
+                .addLast(new HttpServerCodec())
+                .addLast(new HttpObjectAggregator(MAX_REQUEST_SIZE))
+                .addLast(new ChunkedWriteHandler())
+                .addLast(new ResourcePackHttpHandler(VelocityResourcePackHost.this, zeroCopy,
+                    hasher.getExecutor()));
+          }
+        })
+        .bind(AddressUtil.parseAndResolveAddress(config.getBind()))
+        .awaitUninterruptibly();
+    if (bound.isSuccess()) {
+      this.channel = bound.channel();
+      String url = config.getPublicUrl();
+      this.publicUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+      logger.info("Serving resource packs on {}", channel.localAddress());
+    } else {
+      logger.error("Can't bind to {} for the resource pack server", config.getBind(),
+          bound.cause());
+    }
+  }
+
+  /**
+   * Stops the resource pack server.
+   */
+  public void shutdown() {
+    publicUrl = null;
+    Channel channel = this.channel;
+    if (channel != null) {
+      channel.close().awaitUninterruptibly();
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return publicUrl != null;
+  }
+
+  @Override
+  public CompletableFuture<ResourcePackInfo.Builder> createResourcePackBuilder(Path file) {
+    String baseUrl = this.publicUrl;
+    Preconditions.checkState(baseUrl != null, "The resource pack server is disabled");
+    Path path = file.toAbsolutePath().normalize();
+    UUID id = idOf(path);
+    packs.put(id, path);
+    String url = baseUrl + "/" + id + SUFFIX;
+    return hasher.hash(path).thenApply(hash -> server.createResourcePackBuilder(url)
+        .setId(id)
+        .setHash(hash));
+  }
+
+  @Override
+  public boolean unregister(Path file) {
+    return packs.remove(idOf(file.toAbsolutePath().normalize())) != null;
+  }
+
+  @Override
+  public CompletableFuture<byte[]> computeHash(String url) {
+    // Our own packs are read from disk instead of downloading them from ourselves.
+    String baseUrl = this.publicUrl;
+    if (baseUrl != null && url.startsWith(baseUrl)) {
+      Path file = lookup(url.substring(baseUrl.length()));
+      if (file != null) {
+        return hasher.hash(file);
+      }
+    }
+    return hasher.hash(url);
+  }
+
+  @Override
+  public CompletableFuture<ResourcePackInfo> withHash(ResourcePackInfo info) {
+    if (info.getHash() != null) {
+      return CompletableFuture.completedFuture(info);
+    }
+    return computeHash(info.getUrl())
+        .thenApply(hash -> info.asBuilder().setHash(hash).build());
+  }
+
+  /**
+   * Returns the file served at the given request path.
+   *
+   * @param requestPath the path of the request
+   * @return the file, or {@code null} if no pack is served there
+   */
+  @Nullable Path lookup(String requestPath) {
+    if (!requestPath.startsWith("/") || !requestPath.endsWith(SUFFIX)) {
+      return null;
+    }
+    try {
+      return packs.get(UUID.fromString(
+          requestPath.substring(1, requestPath.length() - SUFFIX.length())));
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Registers a file under the given ID. Only used by tests, which do not bind a server.
+   */
+  void register(UUID id, Path file) {
+    packs.put(id, file);
+  }
+
+  /**
+   * Returns the hash of the given file if it is known for its current size and modification time.
+   *
+   * @param file the file
+   * @param size the size of the file
+   * @param modified the modification time of the file in milliseconds
+   * @return the hash, or {@code null} if it is not known (yet)
+   */
+  byte @Nullable [] getCachedHash(Path file, long size, long modified) {
+    byte[] hash = hasher.getCachedHash(file, size, modified);
+    if (hash == null) {
+      // The file changed, so compute the new hash for the next request.
+      hasher.hash(file);
+    }
+    return hash;
+  }
+
+  private static UUID idOf(Path path) {
+    return UUID.nameUUIDFromBytes(path.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
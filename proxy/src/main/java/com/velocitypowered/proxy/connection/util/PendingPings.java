@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+/**
+ * Keeps track of the keep-alive packets forwarded to a player that were not answered yet. Only
+ * a handful are ever outstanding, so they are kept in small primitive arrays; once full, the
+ * oldest keep-alive is forgotten.
+ */
+public final class PendingPings {
+
+  /**
+   * Returned by {@link #remove(long)} if the keep-alive is unknown.
+   */
+  public static final long UNKNOWN = Long.MIN_VALUE;
+
+  private static final int CAPACITY = 8;
+
+  private final long[] ids = new long[CAPACITY];
+  private final long[] sentAt = new long[CAPACITY];
+  private final boolean[] used = new boolean[CAPACITY];
+  private int next;
+
+  /**
+   * Remembers that a keep-alive was sent.
+   *
+   * @param id the ID of the keep-alive
+   * @param nanos the time the keep-alive was sent, from {@link System#nanoTime()}
+   */
+  public void put(long id, long nanos) {
+    ids[next] = id;
+    sentAt[next] = nanos;
+    used[next] = true;
+    next = (next + 1) % CAPACITY;
+  }
+
+  /**
+   * Forgets the keep-alive with the given ID and returns when it was sent.
+   *
+   * @param id the ID of the keep-alive
+   * @return the time the keep-alive was sent, or {@link #UNKNOWN}
+   */
+  public long remove(long id) {
+    for (int i = 0; i < CAPACITY; i++) {
+      if (used[i] && ids[i] == id) {
+        used[i] = false;
+        return sentAt[i];
+      }
+    }
+    return UNKNOWN;
+  }
+}
@@ -23,8 +23,10 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.base.VerifyException;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.velocitypowered.api.event.Continuation;
 import com.velocitypowered.api.event.EventHandler;
 import com.velocitypowered.api.event.EventManager;
@@ -34,10 +36,16 @@ import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginDescription;
 import com.velocitypowered.api.plugin.PluginManager;
+import com.velocitypowered.api.plugin.PluginTimings;
 import com.velocitypowered.proxy.event.UntargetedEventHandler.EventTaskHandler;
 import com.velocitypowered.proxy.event.UntargetedEventHandler.VoidHandler;
 import com.velocitypowered.proxy.event.UntargetedEventHandler.WithContinuationHandler;
+import com.velocitypowered.proxy.plugin.VelocityPluginTimings;
+import com.velocitypowered.proxy.util.LatencyHistogram;
 import com.velocitypowered.proxy.util.collect.Enum2IntMap;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
@@ -55,6 +63,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
@@ -95,11 +104,19 @@ public class VelocityEventManager implements EventManager {
       Collections.reverseOrder(Comparator.comparingInt(o -> o.order));
 
   private final PluginManager pluginManager;
+  private final VelocityPluginTimings timings;
 
   private final ListMultimap<Class<?>, HandlerRegistration> handlersByType =
       ArrayListMultimap.create();
-  private final LoadingCache<Class<?>, HandlersCache> handlersCache =
-      Caffeine.newBuilder().build(this::bakeHandlers);
+  // Baked handlers are looked up on every fired event, so they are stored directly on the event
+  // class. Any registration change bumps the version, which makes every baked entry stale.
+  private final ClassValue<BakedHandlers> bakedHandlers = new ClassValue<>() {
+    @Override
+    protected BakedHandlers computeValue(final Class<?> type) {
+      return new BakedHandlers();
+    }
+  };
+  private volatile int handlersVersion;
 
   private final LoadingCache<Method, UntargetedEventHandler> untargetedMethodHandlers =
       Caffeine.newBuilder().weakValues().build(this::buildUntargetedMethodHandler);
@@ -109,13 +126,29 @@ public class VelocityEventManager implements EventManager {
   private final List<CustomHandlerAdapter<?>> handlerAdapters = new ArrayList<>();
   private final EventTypeTracker eventTypeTracker = new EventTypeTracker();
 
+  private volatile long defaultHandlerTimeoutNanos;
+  private volatile Map<String, Long> handlerTimeoutOverridesNanos = ImmutableMap.of();
+  private volatile @Nullable Timer timeoutTimer;
+
   /**
    * Initializes the Velocity event manager.
    *
    * @param pluginManager a reference to the Velocity plugin manager
    */
   public VelocityEventManager(final PluginManager pluginManager) {
+    this(pluginManager, new VelocityPluginTimings());
+  }
+
+  /**
+   * Initializes the Velocity event manager.
+   *
+   * @param pluginManager a reference to the Velocity plugin manager
+   * @param timings the timings to record event handler execution times into
+   */
+  public VelocityEventManager(final PluginManager pluginManager,
+      final VelocityPluginTimings timings) {
     this.pluginManager = pluginManager;
+    this.timings = timings;
   }
 
   /**
@@ -148,15 +181,44 @@ public class VelocityEventManager implements EventManager {
      */
     final Object instance;
 
+    /**
+     * The name used to report timings for this handler.
+     */
+    final String name;
+
+    /**
+     * How long it takes until this handler is done with an event, including asynchronous work.
+     */
+    final LatencyHistogram latency = new LatencyHistogram();
+
+    private VelocityPluginTimings.@Nullable Timing timing;
+
     public HandlerRegistration(final PluginContainer plugin, final short order,
         final Class<?> eventType, final Object instance, final EventHandler<Object> handler,
         final AsyncType asyncType) {
+      this(plugin, order, eventType, instance, handler, asyncType,
+          VelocityPluginTimings.describe(instance));
+    }
+
+    public HandlerRegistration(final PluginContainer plugin, final short order,
+        final Class<?> eventType, final Object instance, final EventHandler<Object> handler,
+        final AsyncType asyncType, final String name) {
       this.plugin = plugin;
       this.order = order;
       this.eventType = eventType;
       this.instance = instance;
       this.handler = handler;
       this.asyncType = asyncType;
+      this.name = name + " (" + eventType.getSimpleName() + ")";
+    }
+
+    VelocityPluginTimings.Timing timing(final VelocityPluginTimings timings) {
+      VelocityPluginTimings.Timing timing = this.timing;
+      if (timing == null) {
+        timing = timings.timing(plugin, PluginTimings.Type.EVENT_HANDLER, name);
+        this.timing = timing;
+      }
+      return timing;
     }
   }
 
@@ -180,13 +242,38 @@ public class VelocityEventManager implements EventManager {
 
     final AsyncType asyncType;
     final HandlerRegistration[] handlers;
+    final long timeoutNanos;
 
-    HandlersCache(AsyncType asyncType, final HandlerRegistration[] handlers) {
+    HandlersCache(AsyncType asyncType, final HandlerRegistration[] handlers,
+        final long timeoutNanos) {
       this.asyncType = asyncType;
       this.handlers = handlers;
+      this.timeoutNanos = timeoutNanos;
     }
   }
 
+  private static final class BakedHandlers {
+
+    volatile @Nullable BakedSnapshot snapshot;
+  }
+
+  private record BakedSnapshot(int version, @Nullable HandlersCache handlers) {
+  }
+
+  private @Nullable HandlersCache getHandlers(final Class<?> eventType) {
+    final BakedHandlers baked = bakedHandlers.get(eventType);
+    final BakedSnapshot snapshot = baked.snapshot;
+    // The version must be read before baking: a registration change racing with the bake bumps
+    // it afterwards, and the next lookup bakes again.
+    final int version = handlersVersion;
+    if (snapshot != null && snapshot.version() == version) {
+      return snapshot.handlers();
+    }
+    final HandlersCache handlers = bakeHandlers(eventType);
+    baked.snapshot = new BakedSnapshot(version, handlers);
+    return handlers;
+  }
+
   private @Nullable HandlersCache bakeHandlers(final Class<?> eventType) {
     final List<HandlerRegistration> baked = new ArrayList<>();
     final Collection<Class<?>> types = eventTypeTracker.getFriendsOf(eventType);
@@ -213,7 +300,87 @@ public class VelocityEventManager implements EventManager {
       }
     }
 
-    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]));
+    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]),
+        getHandlerTimeoutNanos(eventType));
+  }
+
+  private long getHandlerTimeoutNanos(final Class<?> eventType) {
+    final Map<String, Long> overrides = handlerTimeoutOverridesNanos;
+    Long timeout = overrides.get(eventType.getName());
+    if (timeout == null) {
+      timeout = overrides.get(eventType.getSimpleName());
+    }
+    return timeout != null ? timeout : defaultHandlerTimeoutNanos;
+  }
+
+  /**
+   * Sets how long a single handler may take to handle an event. Once a handler that returned an
+   * {@link EventTask} exceeds its deadline, it is logged and the next handler is called without
+   * waiting for it any longer. Handlers that block are logged once they return.
+   *
+   * @param defaultMillis the deadline for all events in milliseconds, or zero to disable it
+   * @param overridesMillis deadlines for specific events, keyed by their simple or full class name
+   */
+  public void setHandlerTimeouts(final long defaultMillis,
+      final Map<String, ? extends Number> overridesMillis) {
+    final Map<String, Long> overrides = new HashMap<>();
+    boolean enabled = defaultMillis > 0;
+    for (final Map.Entry<String, ? extends Number> entry : overridesMillis.entrySet()) {
+      final long millis = entry.getValue().longValue();
+      overrides.put(entry.getKey(), Math.max(0, TimeUnit.MILLISECONDS.toNanos(millis)));
+      enabled |= millis > 0;
+    }
+    if (enabled && timeoutTimer == null) {
+      synchronized (this) {
+        if (timeoutTimer == null) {
+          timeoutTimer = new HashedWheelTimer(new ThreadFactoryBuilder().setDaemon(true)
+              .setNameFormat("Velocity Event Handler Watchdog").build(), 100,
+              TimeUnit.MILLISECONDS);
+        }
+      }
+    }
+
+    lock.writeLock().lock();
+    try {
+      this.defaultHandlerTimeoutNanos = Math.max(0, TimeUnit.MILLISECONDS.toNanos(defaultMillis));
+      this.handlerTimeoutOverridesNanos = ImmutableMap.copyOf(overrides);
+      // The deadlines are baked together with the handlers.
+      handlersVersion++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the latency of every registered handler that has handled at least one event.
+   *
+   * @return the latencies of the handlers
+   */
+  public List<HandlerLatency> getHandlerLatencies() {
+    final List<HandlerLatency> latencies = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      for (final HandlerRegistration registration : handlersByType.values()) {
+        final LatencyHistogram.Snapshot snapshot = registration.latency.snapshot();
+        if (snapshot.count() > 0) {
+          latencies.add(new HandlerLatency(registration.plugin.getDescription().getId(),
+              registration.name, snapshot));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return latencies;
+  }
+
+  /**
+   * The latency of a single event handler.
+   *
+   * @param pluginId the plugin that registered the handler
+   * @param handler the name of the handler
+   * @param latency the latency histogram of the handler
+   */
+  public record HandlerLatency(String pluginId, String handler, LatencyHistogram.Snapshot latency) {
   }
 
   /**
@@ -373,14 +540,10 @@ public class VelocityEventManager implements EventManager {
       for (final HandlerRegistration registration : registrations) {
         handlersByType.put(registration.eventType, registration);
       }
+      handlersVersion++;
     } finally {
       lock.writeLock().unlock();
     }
-    // Invalidate all the affected event subtypes
-    handlersCache.invalidateAll(registrations.stream()
-        .flatMap(registration -> eventTypeTracker.getFriendsOf(registration.eventType).stream())
-        .distinct()
-        .collect(Collectors.toList()));
   }
 
   @Override
@@ -449,7 +612,8 @@ public class VelocityEventManager implements EventManager {
 
       final EventHandler<Object> handler = untargetedHandler.buildHandler(listener);
       registrations.add(new HandlerRegistration(pluginContainer, info.order,
-          info.eventType, listener, handler, info.asyncType));
+          info.eventType, listener, handler, info.asyncType,
+          targetClass.getName() + "#" + info.method.getName()));
     }
 
     register(registrations);
@@ -475,7 +639,7 @@ public class VelocityEventManager implements EventManager {
   }
 
   private void unregisterIf(final Predicate<HandlerRegistration> predicate) {
-    final List<HandlerRegistration> removed = new ArrayList<>();
+    boolean removed = false;
     lock.writeLock().lock();
     try {
       final Iterator<HandlerRegistration> it = handlersByType.values().iterator();
@@ -483,18 +647,15 @@ public class VelocityEventManager implements EventManager {
         final HandlerRegistration registration = it.next();
         if (predicate.test(registration)) {
           it.remove();
-          removed.add(registration);
+          removed = true;
         }
       }
+      if (removed) {
+        handlersVersion++;
+      }
     } finally {
       lock.writeLock().unlock();
     }
-
-    // Invalidate all the affected event subtypes
-    handlersCache.invalidateAll(removed.stream()
-        .flatMap(registration -> eventTypeTracker.getFriendsOf(registration.eventType).stream())
-        .distinct()
-        .collect(Collectors.toList()));
   }
 
   /**
@@ -504,16 +665,17 @@ public class VelocityEventManager implements EventManager {
    * @param eventClass the class of the event to check
    * @return {@code true} if any subscribers were found, else {@code false}
    */
+  @Override
   public boolean hasSubscribers(final Class<?> eventClass) {
     requireNonNull(eventClass, "eventClass");
-    final HandlersCache handlersCache = this.handlersCache.get(eventClass);
+    final HandlersCache handlersCache = getHandlers(eventClass);
     return handlersCache != null && handlersCache.handlers.length > 0;
   }
 
   @Override
   public void fireAndForget(final Object event) {
     requireNonNull(event, "event");
-    final HandlersCache handlersCache = this.handlersCache.get(event.getClass());
+    final HandlersCache handlersCache = getHandlers(event.getClass());
     if (handlersCache == null || handlersCache.handlers.length == 0) {
       // Optimization: nobody's listening.
       return;
@@ -524,7 +686,7 @@ public class VelocityEventManager implements EventManager {
   @Override
   public <E> CompletableFuture<E> fire(final E event) {
     requireNonNull(event, "event");
-    final HandlersCache handlersCache = this.handlersCache.get(event.getClass());
+    final HandlersCache handlersCache = getHandlers(event.getClass());
     if (handlersCache == null || handlersCache.handlers.length == 0) {
       // Optimization: nobody's listening.
       return CompletableFuture.completedFuture(event);
@@ -539,9 +701,9 @@ public class VelocityEventManager implements EventManager {
     final HandlerRegistration registration = handlersCache.handlers[0];
     if (registration.asyncType == AsyncType.ALWAYS) {
       registration.plugin.getExecutorService().execute(
-          () -> fire(future, event, 0, true, handlersCache.handlers));
+          () -> fire(future, event, 0, true, handlersCache));
     } else {
-      fire(future, event, 0, false, handlersCache.handlers);
+      fire(future, event, 0, false, handlersCache);
     }
   }
 
@@ -567,11 +729,12 @@ public class VelocityEventManager implements EventManager {
 
     private final EventTask task;
     private final int index;
-    private final HandlerRegistration[] registrations;
+    private final HandlersCache handlersCache;
     private final @Nullable CompletableFuture<E> future;
     private final boolean currentlyAsync;
     private final E event;
     private final Thread firedOnThread;
+    private final long startNanos;
 
     // This field is modified via a VarHandle, so this field is used and cannot be final.
     @SuppressWarnings({"UnusedVariable", "FieldMayBeFinal", "FieldCanBeLocal"})
@@ -581,26 +744,31 @@ public class VelocityEventManager implements EventManager {
     @SuppressWarnings({"UnusedVariable", "FieldMayBeFinal"})
     private volatile boolean resumed = false;
 
+    private volatile @Nullable Timeout timeout;
+    private volatile boolean timedOut;
+
     private ContinuationTask(
         final EventTask task,
-        final HandlerRegistration[] registrations,
+        final HandlersCache handlersCache,
         final @Nullable CompletableFuture<E> future,
         final E event,
         final int index,
-        final boolean currentlyAsync) {
+        final boolean currentlyAsync,
+        final long startNanos) {
       this.task = task;
-      this.registrations = registrations;
+      this.handlersCache = handlersCache;
       this.future = future;
       this.event = event;
       this.index = index;
       this.currentlyAsync = currentlyAsync;
       this.firedOnThread = Thread.currentThread();
+      this.startNanos = startNanos;
     }
 
     @Override
     public void run() {
       if (execute()) {
-        fire(future, event, index + 1, currentlyAsync, registrations);
+        fire(future, event, index + 1, currentlyAsync, handlersCache);
       }
     }
 
@@ -610,17 +778,58 @@ public class VelocityEventManager implements EventManager {
      */
     boolean execute() {
       state = TASK_STATE_EXECUTING;
+      final VelocityPluginTimings.Timing timing =
+          timings.isEnabled() ? handlersCache.handlers[index].timing(timings) : null;
+      final long wallStart = timing != null ? System.nanoTime() : 0;
+      final long cpuStart = timing != null ? VelocityPluginTimings.currentThreadCpuTime() : 0;
       try {
         task.execute(this);
       } catch (final Throwable t) {
         // validateOnlyOnce false here so don't get an exception if the
         // continuation was resumed before
         resume(t, false);
+      } finally {
+        if (timing != null) {
+          // The invocation was already counted when the handler returned this task.
+          timing.record(wallStart, cpuStart, false);
+        }
       }
       return !CONTINUATION_TASK_STATE.compareAndSet(
           this, TASK_STATE_EXECUTING, TASK_STATE_DEFAULT);
     }
 
+    /**
+     * Starts the deadline of the handler, if there is one, while the chain waits for it.
+     */
+    void startTimeout() {
+      final Timer timer = timeoutTimer;
+      final long timeoutNanos = handlersCache.timeoutNanos;
+      if (timer == null || timeoutNanos <= 0) {
+        return;
+      }
+      final long remaining = timeoutNanos - (System.nanoTime() - startNanos);
+      final Timeout timeout = timer.newTimeout(ignored -> expire(),
+          Math.max(0, remaining), TimeUnit.NANOSECONDS);
+      this.timeout = timeout;
+      if (resumed) {
+        timeout.cancel();
+      }
+    }
+
+    private void expire() {
+      if (resumed) {
+        return;
+      }
+      timedOut = true;
+      final HandlerRegistration registration = handlersCache.handlers[index];
+      logger.warn("Handler {} of plugin {} did not finish within {} ms{}, continuing without it",
+          registration.name, registration.plugin.getDescription().getId(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+          state == TASK_STATE_EXECUTING ? " (still executing)" : "");
+      // Don't run the rest of the chain on the timer thread.
+      registration.plugin.getExecutorService().execute(() -> resume(null, false));
+    }
+
     @Override
     public void resume() {
       resume(null, true);
@@ -628,10 +837,12 @@ public class VelocityEventManager implements EventManager {
 
     void resume(final @Nullable Throwable exception, final boolean validateOnlyOnce) {
       final boolean changed = CONTINUATION_TASK_RESUMED.compareAndSet(this, false, true);
-      // Only allow the continuation to be resumed once
-      if (!changed && validateOnlyOnce) {
+      // Only allow the continuation to be resumed once. A handler that exceeded its deadline
+      // will usually resume its continuation later on, which is fine.
+      if (!changed && validateOnlyOnce && !timedOut) {
         throw new IllegalStateException("The continuation can only be resumed once.");
       }
+      final HandlerRegistration[] registrations = handlersCache.handlers;
       final HandlerRegistration registration = registrations[index];
       if (exception != null) {
         logHandlerException(registration, exception);
@@ -639,6 +850,11 @@ public class VelocityEventManager implements EventManager {
       if (!changed) {
         return;
       }
+      final Timeout timeout = this.timeout;
+      if (timeout != null) {
+        timeout.cancel();
+      }
+      handlerFinished(registration, startNanos, timedOut ? 0 : handlersCache.timeoutNanos);
       if (index + 1 == registrations.length) {
         // Optimization: don't schedule a task just to complete the future
         if (future != null) {
@@ -655,10 +871,10 @@ public class VelocityEventManager implements EventManager {
         final HandlerRegistration next = registrations[index + 1];
         final Thread currentThread = Thread.currentThread();
         if (currentThread == firedOnThread && next.asyncType != AsyncType.ALWAYS) {
-          fire(future, event, index + 1, currentlyAsync, registrations);
+          fire(future, event, index + 1, currentlyAsync, handlersCache);
         } else {
           next.plugin.getExecutorService().execute(() ->
-              fire(future, event, index + 1, true, registrations));
+              fire(future, event, index + 1, true, handlersCache));
         }
       }
     }
@@ -670,16 +886,19 @@ public class VelocityEventManager implements EventManager {
   }
 
   private <E> void fire(final @Nullable CompletableFuture<E> future, final E event,
-      final int offset, final boolean currentlyAsync, final HandlerRegistration[] registrations) {
+      final int offset, final boolean currentlyAsync, final HandlersCache handlersCache) {
+    final HandlerRegistration[] registrations = handlersCache.handlers;
     for (int i = offset; i < registrations.length; i++) {
       final HandlerRegistration registration = registrations[i];
+      final long startNanos = System.nanoTime();
       try {
-        final EventTask eventTask = registration.handler.executeAsync(event);
+        final EventTask eventTask = executeHandler(registration, event);
         if (eventTask == null) {
+          handlerFinished(registration, startNanos, handlersCache.timeoutNanos);
           continue;
         }
         final ContinuationTask<E> continuationTask = new ContinuationTask<>(eventTask,
-            registrations, future, event, i, currentlyAsync);
+            handlersCache, future, event, i, currentlyAsync, startNanos);
         if (currentlyAsync || !eventTask.requiresAsync()) {
           if (continuationTask.execute()) {
             continue;
@@ -687,6 +906,7 @@ public class VelocityEventManager implements EventManager {
         } else {
           registration.plugin.getExecutorService().execute(continuationTask);
         }
+        continuationTask.startTimeout();
         // fire will continue in another thread once the async task is
         // executed and the continuation is resumed
         return;
@@ -699,6 +919,32 @@ public class VelocityEventManager implements EventManager {
     }
   }
 
+  private static void handlerFinished(final HandlerRegistration registration,
+      final long startNanos, final long timeoutNanos) {
+    final long elapsed = System.nanoTime() - startNanos;
+    registration.latency.record(elapsed);
+    if (timeoutNanos > 0 && elapsed > timeoutNanos) {
+      logger.warn("Handler {} of plugin {} took {} ms, which is longer than its deadline",
+          registration.name, registration.plugin.getDescription().getId(),
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+  }
+
+  private @Nullable EventTask executeHandler(final HandlerRegistration registration,
+      final Object event) {
+    if (!timings.isEnabled()) {
+      return registration.handler.executeAsync(event);
+    }
+    final VelocityPluginTimings.Timing timing = registration.timing(timings);
+    final long wallStart = System.nanoTime();
+    final long cpuStart = VelocityPluginTimings.currentThreadCpuTime();
+    try {
+      return registration.handler.executeAsync(event);
+    } finally {
+      timing.record(wallStart, cpuStart, true);
+    }
+  }
+
   private static void logHandlerException(
       final HandlerRegistration registration, final Throwable t) {
     final PluginDescription pluginDescription = registration.plugin.getDescription();
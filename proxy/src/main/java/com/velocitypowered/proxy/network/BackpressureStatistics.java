@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Proxy-wide statistics about connections that stopped reading because the connection they
+ * forward to could not keep up, and about players disconnected for buffering too much data.
+ */
+public final class BackpressureStatistics {
+
+  private static final BackpressureStatistics INSTANCE = new BackpressureStatistics();
+
+  private final LongAdder pausedConnections = new LongAdder();
+  private final LongAdder pauses = new LongAdder();
+  private final LongAdder pausedNanos = new LongAdder();
+  private final LongAdder overflowDisconnects = new LongAdder();
+
+  private BackpressureStatistics() {
+  }
+
+  public static BackpressureStatistics get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Records that a connection stopped reading.
+   */
+  public void recordPaused() {
+    pausedConnections.increment();
+    pauses.increment();
+  }
+
+  /**
+   * Records that a connection started reading again.
+   *
+   * @param nanos how long the connection did not read, in nanoseconds
+   */
+  public void recordResumed(long nanos) {
+    pausedConnections.decrement();
+    pausedNanos.add(nanos);
+  }
+
+  /**
+   * Records that a player was disconnected because too much data was waiting to be sent to them.
+   */
+  public void recordOverflowDisconnect() {
+    overflowDisconnects.increment();
+  }
+
+  /**
+   * Returns the number of connections that are currently not reading.
+   *
+   * @return the number of paused connections
+   */
+  public long getPausedConnections() {
+    return pausedConnections.sum();
+  }
+
+  /**
+   * Returns how often a connection stopped reading.
+   *
+   * @return the number of pauses
+   */
+  public long getPauses() {
+    return pauses.sum();
+  }
+
+  /**
+   * Returns how long connections did not read in total, not counting pauses still in progress.
+   *
+   * @return the total pause time in milliseconds
+   */
+  public long getPausedMillis() {
+    return pausedNanos.sum() / 1_000_000;
+  }
+
+  /**
+   * Returns how many players were disconnected because too much data was waiting to be sent to
+   * them.
+   *
+   * @return the number of disconnected players
+   */
+  public long getOverflowDisconnects() {
+    return overflowDisconnects.sum();
+  }
+}
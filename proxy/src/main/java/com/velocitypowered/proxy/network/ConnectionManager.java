@@ -208,6 +208,29 @@ public final class ConnectionManager {
     return bootstrap;
   }
 
+  /**
+   * Creates a TCP {@link ServerBootstrap} using Velocity's event loops, for listeners that do not
+   * speak the Minecraft protocol.
+   *
+   * @return a new {@link ServerBootstrap}
+   */
+  public ServerBootstrap createServerWorker() {
+    return new ServerBootstrap()
+        .channelFactory(this.transportType.serverSocketChannelFactory)
+        .group(this.bossGroup, this.workerGroup)
+        .childOption(ChannelOption.TCP_NODELAY, true);
+  }
+
+  /**
+   * Returns whether channels of the transport in use can send files with zero-copy
+   * {@link io.netty.channel.FileRegion}s.
+   *
+   * @return whether file regions are supported
+   */
+  public boolean supportsFileRegion() {
+    return this.transportType != TransportType.IO_URING;
+  }
+
   /**
    * Closes the specified {@code oldBind} endpoint.
    *
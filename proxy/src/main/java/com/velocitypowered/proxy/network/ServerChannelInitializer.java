@@ -36,6 +36,7 @@ import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftEncoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintFrameDecoder;
 import com.velocitypowered.proxy.protocol.netty.MinecraftVarintLengthEncoder;
+import com.velocitypowered.proxy.protocol.netty.NetworkTelemetryHandler;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.handler.codec.haproxy.HAProxyMessageDecoder;
@@ -83,6 +84,9 @@ public class ServerChannelInitializer extends ChannelInitializer<Channel> {
     connection.setActiveSessionHandler(StateRegistry.HANDSHAKE,
         new HandshakeSessionHandler(connection, this.server));
     ch.pipeline().addLast(Connections.HANDLER, connection);
+    ch.pipeline().addFirst(Connections.TELEMETRY,
+        new NetworkTelemetryHandler(connection.getTelemetry()));
+    ch.pipeline().get(MinecraftEncoder.class).setTelemetry(connection.getTelemetry());
 
     if (isProxyProtocol) {
       ch.pipeline().addFirst(new HAProxyMessageDecoder());
@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.network.NetworkTelemetry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the network telemetry of a single connection.
+ *
+ * <p>The counters are only updated from the event loop of the connection, so they are plain
+ * volatile fields. Round trip times are kept in a small ring buffer of primitive longs.
+ */
+public final class VelocityNetworkTelemetry implements NetworkTelemetry {
+
+  static final int RTT_SAMPLES = 64;
+
+  // Guarded by this
+  private final long[] rttNanos = new long[RTT_SAMPLES];
+  private int rttIndex;
+  private int rttCount;
+  private double jitterNanos;
+
+  private volatile long bytesReceived;
+  private volatile long bytesSent;
+  private volatile long packetsReceived;
+  private volatile long packetsSent;
+  private volatile long uncompressedBytesSent;
+  private volatile long compressedBytesSent;
+  private volatile long unwritableCount;
+  private volatile long unwritableNanos;
+  private long unwritableSince;
+
+  /**
+   * Records a round trip time sample.
+   *
+   * @param nanos the round trip time in nanoseconds
+   */
+  public synchronized void recordRoundTripTime(long nanos) {
+    if (rttCount > 0) {
+      // RFC 3550 interarrival jitter, applied to round trip times.
+      long previous = rttNanos[(rttIndex + RTT_SAMPLES - 1) % RTT_SAMPLES];
+      jitterNanos += (Math.abs(nanos - previous) - jitterNanos) / 16;
+    }
+    rttNanos[rttIndex] = nanos;
+    rttIndex = (rttIndex + 1) % RTT_SAMPLES;
+    if (rttCount < RTT_SAMPLES) {
+      rttCount++;
+    }
+  }
+
+  public void recordBytesReceived(int bytes) {
+    bytesReceived += bytes;
+  }
+
+  public void recordBytesSent(int bytes) {
+    bytesSent += bytes;
+  }
+
+  public void recordPacketReceived() {
+    packetsReceived++;
+  }
+
+  public void recordPacketSent() {
+    packetsSent++;
+  }
+
+  public void recordCompression(int uncompressed, int compressed) {
+    uncompressedBytesSent += uncompressed;
+    compressedBytesSent += compressed;
+  }
+
+  /**
+   * Records a change of the writability of the connection.
+   *
+   * @param writable whether the connection is writable now
+   */
+  public void recordWritability(boolean writable) {
+    if (!writable) {
+      if (unwritableSince == 0) {
+        unwritableCount++;
+        unwritableSince = System.nanoTime();
+      }
+    } else if (unwritableSince != 0) {
+      unwritableNanos += System.nanoTime() - unwritableSince;
+      unwritableSince = 0;
+    }
+  }
+
+  synchronized long[] copyRoundTripTimes() {
+    return Arrays.copyOf(rttNanos, rttCount);
+  }
+
+  synchronized long jitterNanos() {
+    return rttCount < 2 ? -1 : (long) jitterNanos;
+  }
+
+  @Override
+  public synchronized int getRoundTripTimeSamples() {
+    return rttCount;
+  }
+
+  @Override
+  public synchronized long getLatestRoundTripTime() {
+    if (rttCount == 0) {
+      return -1;
+    }
+    return toMillis(rttNanos[(rttIndex + RTT_SAMPLES - 1) % RTT_SAMPLES]);
+  }
+
+  @Override
+  public long getRoundTripTime(double percentile) {
+    return percentile(copyRoundTripTimes(), percentile);
+  }
+
+  @Override
+  public long getJitter() {
+    long jitter = jitterNanos();
+    return jitter == -1 ? -1 : toMillis(jitter);
+  }
+
+  @Override
+  public long getBytesReceived() {
+    return bytesReceived;
+  }
+
+  @Override
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
+  @Override
+  public long getPacketsReceived() {
+    return packetsReceived;
+  }
+
+  @Override
+  public long getPacketsSent() {
+    return packetsSent;
+  }
+
+  @Override
+  public long getUncompressedBytesSent() {
+    return uncompressedBytesSent;
+  }
+
+  @Override
+  public long getCompressedBytesSent() {
+    return compressedBytesSent;
+  }
+
+  @Override
+  public long getUnwritableCount() {
+    return unwritableCount;
+  }
+
+  @Override
+  public Duration getUnwritableTime() {
+    return Duration.ofNanos(unwritableNanos);
+  }
+
+  static long percentile(long[] samples, double percentile) {
+    Preconditions.checkArgument(percentile >= 0 && percentile <= 1,
+        "percentile must be between 0 and 1");
+    if (samples.length == 0) {
+      return -1;
+    }
+    Arrays.sort(samples);
+    int index = (int) Math.ceil(percentile * samples.length) - 1;
+    return toMillis(samples[Math.max(0, index)]);
+  }
+
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  /**
+   * Combines the telemetry of several connections into a snapshot.
+   *
+   * @param retired the totals of connections that are already closed
+   * @param traffic the connections whose traffic counters are added up
+   * @param roundTrips the connections whose round trip times are combined
+   * @return the combined telemetry
+   */
+  public static NetworkTelemetry aggregate(Totals retired,
+      Iterable<VelocityNetworkTelemetry> traffic, Iterable<VelocityNetworkTelemetry> roundTrips) {
+    Totals totals = new Totals();
+    totals.add(retired);
+    for (VelocityNetworkTelemetry telemetry : traffic) {
+      totals.add(telemetry);
+    }
+
+    List<long[]> connectionRtts = new ArrayList<>();
+    int sampleCount = 0;
+    long latest = -1;
+    double jitterSum = 0;
+    int jitterCount = 0;
+    for (VelocityNetworkTelemetry telemetry : roundTrips) {
+      long[] samples = telemetry.copyRoundTripTimes();
+      if (samples.length == 0) {
+        continue;
+      }
+      connectionRtts.add(samples);
+      sampleCount += samples.length;
+      latest = Math.max(latest, telemetry.getLatestRoundTripTime());
+      long jitter = telemetry.jitterNanos();
+      if (jitter != -1) {
+        jitterSum += jitter;
+        jitterCount++;
+      }
+    }
+    long[] rtts = new long[sampleCount];
+    int offset = 0;
+    for (long[] samples : connectionRtts) {
+      System.arraycopy(samples, 0, rtts, offset, samples.length);
+      offset += samples.length;
+    }
+    Arrays.sort(rtts);
+    long jitter = jitterCount == 0 ? -1 : toMillis((long) (jitterSum / jitterCount));
+    return new Snapshot(totals, rtts, latest, jitter);
+  }
+
+  /**
+   * Running totals of the traffic counters of connections that were closed.
+   */
+  public static final class Totals {
+
+    private long bytesReceived;
+    private long bytesSent;
+    private long packetsReceived;
+    private long packetsSent;
+    private long uncompressedBytesSent;
+    private long compressedBytesSent;
+    private long unwritableCount;
+    private long unwritableNanos;
+
+    /**
+     * Adds the counters of the given connection.
+     *
+     * @param telemetry the connection telemetry
+     */
+    public synchronized void add(VelocityNetworkTelemetry telemetry) {
+      bytesReceived += telemetry.bytesReceived;
+      bytesSent += telemetry.bytesSent;
+      packetsReceived += telemetry.packetsReceived;
+      packetsSent += telemetry.packetsSent;
+      uncompressedBytesSent += telemetry.uncompressedBytesSent;
+      compressedBytesSent += telemetry.compressedBytesSent;
+      unwritableCount += telemetry.unwritableCount;
+      unwritableNanos += telemetry.unwritableNanos;
+    }
+
+    synchronized void add(Totals other) {
+      synchronized (other) {
+        bytesReceived += other.bytesReceived;
+        bytesSent += other.bytesSent;
+        packetsReceived += other.packetsReceived;
+        packetsSent += other.packetsSent;
+        uncompressedBytesSent += other.uncompressedBytesSent;
+        compressedBytesSent += other.compressedBytesSent;
+        unwritableCount += other.unwritableCount;
+        unwritableNanos += other.unwritableNanos;
+      }
+    }
+  }
+
+  private static final class Snapshot implements NetworkTelemetry {
+
+    private final Totals totals;
+    private final long[] sortedRtts;
+    private final long latestRtt;
+    private final long jitter;
+
+    private Snapshot(Totals totals, long[] sortedRtts, long latestRtt, long jitter) {
+      this.totals = totals;
+      this.sortedRtts = sortedRtts;
+      this.latestRtt = latestRtt;
+      this.jitter = jitter;
+    }
+
+    @Override
+    public int getRoundTripTimeSamples() {
+      return sortedRtts.length;
+    }
+
+    @Override
+    public long getLatestRoundTripTime() {
+      return latestRtt;
+    }
+
+    @Override
+    public long getRoundTripTime(double percentile) {
+      return percentile(sortedRtts.clone(), percentile);
+    }
+
+    @Override
+    public long getJitter() {
+      return jitter;
+    }
+
+    @Override
+    public long getBytesReceived() {
+      return totals.bytesReceived;
+    }
+
+    @Override
+    public long getBytesSent() {
+      return totals.bytesSent;
+    }
+
+    @Override
+    public long getPacketsReceived() {
+      return totals.packetsReceived;
+    }
+
+    @Override
+    public long getPacketsSent() {
+      return totals.packetsSent;
+    }
+
+    @Override
+    public long getUncompressedBytesSent() {
+      return totals.uncompressedBytesSent;
+    }
+
+    @Override
+    public long getCompressedBytesSent() {
+      return totals.compressedBytesSent;
+    }
+
+    @Override
+    public long getUnwritableCount() {
+      return totals.unwritableCount;
+    }
+
+    @Override
+    public Duration getUnwritableTime() {
+      return Duration.ofNanos(totals.unwritableNanos);
+    }
+  }
+}
@@ -141,7 +141,8 @@ public class VelocityPluginManager implements PluginManager {
 
       try {
         PluginDescription realPlugin = loader.createPluginFromCandidate(candidate);
-        VelocityPluginContainer container = new VelocityPluginContainer(realPlugin);
+        VelocityPluginContainer container = new VelocityPluginContainer(realPlugin,
+            server::isPluginVirtualThreads);
         pluginContainers.put(container, loader.createModule(container));
         loadedCandidates.put(realPlugin.getId(), realPlugin);
       } catch (Throwable e) {
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.plugin;
+
+import com.velocitypowered.api.plugin.PluginContainer;
+import com.velocitypowered.api.plugin.PluginTimings;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implements {@link PluginTimings}. Call sites obtain a {@link Timing} once and then record
+ * into it, so that recording an invocation does not involve any map lookups.
+ */
+public final class VelocityPluginTimings implements PluginTimings {
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+  private static final boolean CPU_TIME_SUPPORTED =
+      THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+
+  private final Map<Key, Timing> timings = new ConcurrentHashMap<>();
+  private final AtomicInteger activeProfiles = new AtomicInteger();
+  private volatile boolean alwaysEnabled;
+  private volatile boolean enabled;
+
+  /**
+   * Returns the CPU time of the current thread in nanoseconds, or {@code -1} if it cannot be
+   * measured.
+   *
+   * @return the CPU time of the current thread
+   */
+  public static long currentThreadCpuTime() {
+    if (!CPU_TIME_SUPPORTED) {
+      return -1;
+    }
+    try {
+      return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+    } catch (UnsupportedOperationException e) {
+      // Thrown for virtual threads on some JVMs.
+      return -1;
+    }
+  }
+
+  /**
+   * Returns a human-readable name for the given task or event handler, based on its class.
+   *
+   * @param unit the task or event handler
+   * @return the name
+   */
+  public static String describe(Object unit) {
+    String name = unit.getClass().getName();
+    // Hidden classes (such as lambdas) have a unique suffix which is not useful to users.
+    int hiddenSuffix = name.indexOf('/');
+    return hiddenSuffix == -1 ? name : name.substring(0, hiddenSuffix);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Sets whether timings should always be collected, regardless of running profiles.
+   *
+   * @param alwaysEnabled whether timings should always be collected
+   */
+  public void setAlwaysEnabled(boolean alwaysEnabled) {
+    this.alwaysEnabled = alwaysEnabled;
+    updateEnabled();
+  }
+
+  /**
+   * Starts collecting timings until {@link #stopProfile()} is called.
+   */
+  public void startProfile() {
+    activeProfiles.incrementAndGet();
+    updateEnabled();
+  }
+
+  /**
+   * Stops a profile started with {@link #startProfile()}.
+   */
+  public void stopProfile() {
+    activeProfiles.decrementAndGet();
+    updateEnabled();
+  }
+
+  private void updateEnabled() {
+    this.enabled = alwaysEnabled || activeProfiles.get() > 0;
+  }
+
+  /**
+   * Returns the timing for the given task or event handler, creating it if required.
+   *
+   * @param plugin the plugin that owns the task or event handler
+   * @param type the kind of code that is timed
+   * @param name a human-readable name of the task or event handler
+   * @return the timing
+   */
+  public Timing timing(PluginContainer plugin, Type type, String name) {
+    return timings.computeIfAbsent(new Key(plugin, type, name), Timing::new);
+  }
+
+  @Override
+  public Collection<Entry> getEntries() {
+    List<Entry> entries = new ArrayList<>(timings.size());
+    for (Timing timing : timings.values()) {
+      entries.add(timing.snapshot());
+    }
+    return entries;
+  }
+
+  /**
+   * Computes what was recorded between two calls to {@link #getEntries()}, ordered by CPU time
+   * (or by wall-clock time if CPU time is not available) with the most expensive entry first.
+   *
+   * @param before the entries at the start of the window
+   * @param after the entries at the end of the window
+   * @return the entries that were invoked during the window
+   */
+  public static List<Entry> difference(Collection<Entry> before, Collection<Entry> after) {
+    Map<Key, Entry> previous = new HashMap<>();
+    for (Entry entry : before) {
+      previous.put(new Key(entry.getPlugin(), entry.getType(), entry.getName()), entry);
+    }
+
+    List<Entry> result = new ArrayList<>();
+    for (Entry entry : after) {
+      Entry old = previous.get(new Key(entry.getPlugin(), entry.getType(), entry.getName()));
+      long invocations = entry.getInvocations() - (old == null ? 0 : old.getInvocations());
+      long wallTime = entry.getWallTimeNanos() - (old == null ? 0 : old.getWallTimeNanos());
+      long cpuTime = entry.getCpuTimeNanos() - (old == null ? 0 : old.getCpuTimeNanos());
+      if (invocations > 0 || wallTime > 0) {
+        result.add(new Snapshot(entry.getPlugin(), entry.getType(), entry.getName(), invocations,
+            wallTime, cpuTime));
+      }
+    }
+    result.sort(Comparator.comparingLong((Entry entry) -> CPU_TIME_SUPPORTED
+        ? entry.getCpuTimeNanos() : entry.getWallTimeNanos()).reversed());
+    return result;
+  }
+
+  /**
+   * Accumulates the timings of a single task or event handler.
+   */
+  public static final class Timing {
+
+    private final Key key;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder wallTime = new LongAdder();
+    private final LongAdder cpuTime = new LongAdder();
+
+    private Timing(Key key) {
+      this.key = key;
+    }
+
+    /**
+     * Records an invocation that started at the given times.
+     *
+     * @param wallStart the value of {@link System#nanoTime()} when the invocation started
+     * @param cpuStart the value of {@link #currentThreadCpuTime()} when the invocation started
+     * @param countInvocation whether this is a new invocation, or a continuation of an earlier
+     *                        invocation whose time should be added to it
+     */
+    public void record(long wallStart, long cpuStart, boolean countInvocation) {
+      wallTime.add(System.nanoTime() - wallStart);
+      if (cpuStart >= 0) {
+        long cpuEnd = currentThreadCpuTime();
+        if (cpuEnd >= 0) {
+          cpuTime.add(cpuEnd - cpuStart);
+        }
+      }
+      if (countInvocation) {
+        invocations.increment();
+      }
+    }
+
+    private Entry snapshot() {
+      return new Snapshot(key.plugin, key.type, key.name, invocations.sum(), wallTime.sum(),
+          cpuTime.sum());
+    }
+  }
+
+  private static final class Key {
+
+    private final PluginContainer plugin;
+    private final Type type;
+    private final String name;
+
+    private Key(PluginContainer plugin, Type type, String name) {
+      this.plugin = plugin;
+      this.type = type;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return plugin == that.plugin && type == that.type && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(plugin), type, name);
+    }
+  }
+
+  private record Snapshot(PluginContainer plugin, Type type, String name, long invocations,
+                          long wallTimeNanos, long cpuTimeNanos) implements Entry {
+
+    @Override
+    public PluginContainer getPlugin() {
+      return plugin;
+    }
+
+    @Override
+    public Type getType() {
+      return type;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public long getInvocations() {
+      return invocations;
+    }
+
+    @Override
+    public long getWallTimeNanos() {
+      return wallTimeNanos;
+    }
+
+    @Override
+    public long getCpuTimeNanos() {
+      return cpuTimeNanos;
+    }
+  }
+}
@@ -20,21 +20,41 @@ package com.velocitypowered.proxy.plugin.loader;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginDescription;
+import com.velocitypowered.proxy.util.concurrent.VirtualThreads;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * Implements {@link PluginContainer}.
  */
 public class VelocityPluginContainer implements PluginContainer {
 
+  private static final Logger logger = LogManager.getLogger(VelocityPluginContainer.class);
+
   private final PluginDescription description;
+  private final Predicate<PluginDescription> useVirtualThreads;
   private Object instance;
   private volatile ExecutorService service;
 
   public VelocityPluginContainer(PluginDescription description) {
+    this(description, ignored -> false);
+  }
+
+  /**
+   * Creates a new plugin container.
+   *
+   * @param description the description of the plugin
+   * @param useVirtualThreads determines whether the executor service of the plugin should use
+   *                          virtual threads, evaluated when the executor is first requested
+   */
+  public VelocityPluginContainer(PluginDescription description,
+      Predicate<PluginDescription> useVirtualThreads) {
     this.description = description;
+    this.useVirtualThreads = useVirtualThreads;
   }
 
   @Override
@@ -56,15 +76,7 @@ public class VelocityPluginContainer implements PluginContainer {
     if (this.service == null) {
       synchronized (this) {
         if (this.service == null) {
-          String name = this.description.getName().orElse(this.description.getId());
-          this.service = Executors.unconfigurableExecutorService(
-              Executors.newCachedThreadPool(
-                new ThreadFactoryBuilder().setDaemon(true)
-                    .setNameFormat(name + " - Task Executor #%d")
-                    .setDaemon(true)
-                    .build()
-              )
-          );
+          this.service = Executors.unconfigurableExecutorService(createExecutorService());
         }
       }
     }
@@ -72,6 +84,23 @@ public class VelocityPluginContainer implements PluginContainer {
     return this.service;
   }
 
+  private ExecutorService createExecutorService() {
+    String name = this.description.getName().orElse(this.description.getId());
+    if (this.useVirtualThreads.test(this.description)) {
+      if (VirtualThreads.isSupported()) {
+        return VirtualThreads.newVirtualThreadPerTaskExecutor(name + " - Virtual Task Executor #");
+      }
+      logger.warn("Plugin {} is configured to use virtual threads, but they require Java 21 or "
+          + "newer. Falling back to a regular thread pool.", this.description.getId());
+    }
+    return Executors.newCachedThreadPool(
+        new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat(name + " - Task Executor #%d")
+            .setDaemon(true)
+            .build()
+    );
+  }
+
   public boolean hasExecutorService() {
     return this.service != null;
   }
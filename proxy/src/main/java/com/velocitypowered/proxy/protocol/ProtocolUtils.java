@@ -25,23 +25,18 @@ import com.velocitypowered.api.proxy.crypto.IdentifiedKey;
 import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.proxy.crypto.IdentifiedKeyImpl;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
+import com.velocitypowered.proxy.protocol.util.BinaryTagCodec;
 import com.velocitypowered.proxy.util.except.QuietDecoderException;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.CorruptedFrameException;
 import io.netty.handler.codec.DecoderException;
-import io.netty.handler.codec.EncoderException;
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.nbt.BinaryTag;
-import net.kyori.adventure.nbt.BinaryTagIO;
-import net.kyori.adventure.nbt.BinaryTagType;
 import net.kyori.adventure.nbt.BinaryTagTypes;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
 import net.kyori.adventure.sound.Sound;
@@ -143,11 +138,6 @@ public enum ProtocolUtils {
 
   public static final int DEFAULT_MAX_STRING_SIZE = 65536; // 64KiB
   private static final int MAXIMUM_VARINT_SIZE = 5;
-  private static final BinaryTagType<? extends BinaryTag>[] BINARY_TAG_TYPES = new BinaryTagType[] {
-      BinaryTagTypes.END, BinaryTagTypes.BYTE, BinaryTagTypes.SHORT, BinaryTagTypes.INT,
-      BinaryTagTypes.LONG, BinaryTagTypes.FLOAT, BinaryTagTypes.DOUBLE,
-      BinaryTagTypes.BYTE_ARRAY, BinaryTagTypes.STRING, BinaryTagTypes.LIST,
-      BinaryTagTypes.COMPOUND, BinaryTagTypes.INT_ARRAY, BinaryTagTypes.LONG_ARRAY};
   private static final QuietDecoderException BAD_VARINT_CACHED =
       new QuietDecoderException("Bad VarInt decoded");
   private static final int[] VAR_INT_LENGTHS = new int[33];
@@ -472,13 +462,12 @@ public enum ProtocolUtils {
   /**
    * Reads a {@link net.kyori.adventure.nbt.CompoundBinaryTag} from the {@code buf}.
    *
-   * @param buf    the buffer to read from
-   * @param reader the {@link BinaryTagIO.Reader} to use
+   * @param buf     the buffer to read from
+   * @param version the protocol version
    * @return {@link net.kyori.adventure.nbt.CompoundBinaryTag} the CompoundTag from the buffer
    */
-  public static CompoundBinaryTag readCompoundTag(ByteBuf buf, ProtocolVersion version,
-                                                  BinaryTagIO.Reader reader) {
-    BinaryTag binaryTag = readBinaryTag(buf, version, reader);
+  public static CompoundBinaryTag readCompoundTag(ByteBuf buf, ProtocolVersion version) {
+    BinaryTag binaryTag = readBinaryTag(buf, version);
     if (binaryTag.type() != BinaryTagTypes.COMPOUND) {
       throw new DecoderException(
           "Expected root tag to be CompoundTag, but is " + binaryTag.getClass().getSimpleName());
@@ -489,19 +478,37 @@ public enum ProtocolUtils {
   /**
    * Reads a {@link net.kyori.adventure.nbt.BinaryTag} from the {@code buf}.
    *
-   * @param buf    the buffer to read from
-   * @param reader the {@link BinaryTagIO.Reader} to use
+   * @param buf     the buffer to read from
+   * @param version the protocol version
    * @return {@link net.kyori.adventure.nbt.BinaryTag} the BinaryTag from the buffer
    */
-  public static BinaryTag readBinaryTag(ByteBuf buf, ProtocolVersion version,
-                                        BinaryTagIO.Reader reader) {
-    BinaryTagType<?> type = BINARY_TAG_TYPES[buf.readByte()];
+  public static BinaryTag readBinaryTag(ByteBuf buf, ProtocolVersion version) {
+    int type = buf.readByte();
     if (version.lessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
       buf.skipBytes(buf.readUnsignedShort());
     }
     try {
-      return type.read(new ByteBufInputStream(buf));
-    } catch (IOException thrown) {
+      return BinaryTagCodec.read(buf, type);
+    } catch (IndexOutOfBoundsException thrown) {
+      throw new DecoderException("Unable to parse BinaryTag, full error: " + thrown.getMessage());
+    }
+  }
+
+  /**
+   * Skips over a {@link net.kyori.adventure.nbt.BinaryTag} in the {@code buf}, validating its
+   * structure without decoding it.
+   *
+   * @param buf     the buffer to read from
+   * @param version the protocol version
+   */
+  public static void skipBinaryTag(ByteBuf buf, ProtocolVersion version) {
+    int type = buf.readByte();
+    if (version.lessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
+      buf.skipBytes(buf.readUnsignedShort());
+    }
+    try {
+      BinaryTagCodec.skip(buf, type);
+    } catch (IndexOutOfBoundsException thrown) {
       throw new DecoderException("Unable to parse BinaryTag, full error: " + thrown.getMessage());
     }
   }
@@ -514,17 +521,12 @@ public enum ProtocolUtils {
    */
   public static <T extends BinaryTag> void writeBinaryTag(ByteBuf buf, ProtocolVersion version,
                                                           T tag) {
-    BinaryTagType<T> type = (BinaryTagType<T>) tag.type();
-    buf.writeByte(type.id());
-    try {
-      if (version.lessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
-        // Empty name
-        buf.writeShort(0);
-      }
-      type.write(tag, new ByteBufOutputStream(buf));
-    } catch (IOException e) {
-      throw new EncoderException("Unable to encode BinaryTag");
+    buf.writeByte(tag.type().id());
+    if (version.lessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
+      // Empty name
+      buf.writeShort(0);
     }
+    BinaryTagCodec.write(buf, tag);
   }
 
   /**
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Chooses the compression level for each event loop based on how much of its time is spent
+ * compressing packets. Levels are lowered when an event loop is busy and raised again once it
+ * has headroom, staying between a configured floor and ceiling.
+ *
+ * <p>The state of each event loop is only modified from its own thread, so recording a packet
+ * does not require any synchronization.
+ */
+public final class AdaptiveCompressionLevel {
+
+  private static final Logger logger = LogManager.getLogger(AdaptiveCompressionLevel.class);
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(
+      Long.getLong("velocity.adaptive-compression-window-seconds", 5));
+  // Share of an event loop's time spent compressing above which the level is lowered.
+  private static final double LOWER_ABOVE_SHARE = 0.25;
+  // Share of an event loop's time spent compressing below which the level is raised.
+  private static final double RAISE_BELOW_SHARE = 0.05;
+  // Number of queued tasks at which an event loop is considered to be falling behind.
+  private static final int BACKLOG_TASKS = 256;
+
+  private final Set<LoopState> loops = ConcurrentHashMap.newKeySet();
+  private final FastThreadLocal<LoopState> state = new FastThreadLocal<>() {
+    @Override
+    protected LoopState initialValue() {
+      LoopState created = new LoopState(Thread.currentThread().getName(), ceiling);
+      loops.add(created);
+      return created;
+    }
+
+    @Override
+    protected void onRemoval(LoopState value) {
+      loops.remove(value);
+    }
+  };
+
+  private volatile int floor;
+  private volatile int ceiling;
+
+  /**
+   * Creates a new adaptive compression level controller.
+   *
+   * @param floor the lowest level to use
+   * @param ceiling the highest level to use
+   */
+  public AdaptiveCompressionLevel(int floor, int ceiling) {
+    setBounds(floor, ceiling);
+  }
+
+  /**
+   * Updates the range of levels that may be chosen.
+   *
+   * @param floor the lowest level to use
+   * @param ceiling the highest level to use
+   */
+  public void setBounds(int floor, int ceiling) {
+    if (floor > ceiling) {
+      throw new IllegalArgumentException("floor " + floor + " exceeds ceiling " + ceiling);
+    }
+    this.floor = floor;
+    this.ceiling = ceiling;
+  }
+
+  /**
+   * Returns the level compressors on the current event loop should use. Must be called from an
+   * event loop.
+   *
+   * @return the compression level
+   */
+  public int level() {
+    LoopState loop = state.get();
+    return Math.max(floor, Math.min(ceiling, loop.level));
+  }
+
+  /**
+   * Records a compressed packet and adjusts the level of the current event loop if a sampling
+   * window has elapsed. Must be called from {@code eventLoop}.
+   *
+   * @param eventLoop the event loop of the connection
+   * @param uncompressed the size of the packet before compression
+   * @param compressed the size of the packet after compression
+   * @param nanos the time taken to compress the packet
+   */
+  public void record(EventLoop eventLoop, int uncompressed, int compressed, long nanos) {
+    LoopState loop = state.get();
+    loop.packets++;
+    loop.bytesIn += uncompressed;
+    loop.bytesOut += compressed;
+    loop.deflateNanos += nanos;
+
+    long now = System.nanoTime();
+    long elapsed = now - loop.windowStart;
+    if (elapsed >= WINDOW_NANOS) {
+      adjust(loop, eventLoop, elapsed);
+      loop.windowStart = now;
+    }
+  }
+
+  private void adjust(LoopState loop, EventLoop eventLoop, long elapsed) {
+    double share = (double) loop.deflateNanos / elapsed;
+    boolean backlogged = eventLoop instanceof SingleThreadEventExecutor executor
+        && executor.pendingTasks() >= BACKLOG_TASKS;
+
+    int level = Math.max(floor, Math.min(ceiling, loop.level));
+    if (share > LOWER_ABOVE_SHARE || backlogged) {
+      level = Math.max(floor, level - 1);
+    } else if (share < RAISE_BELOW_SHARE) {
+      level = Math.min(ceiling, level + 1);
+    }
+    if (level != loop.level) {
+      logger.debug("Compression level on {} changed from {} to {} ({}% of time compressing, "
+          + "backlogged: {})", loop.thread, loop.level, level, Math.round(share * 100),
+          backlogged);
+      loop.level = level;
+    }
+
+    loop.lastShare = share;
+    loop.lastRatio = loop.bytesIn == 0 ? 1 : (double) loop.bytesOut / loop.bytesIn;
+    loop.lastAverageNanos = loop.packets == 0 ? 0 : loop.deflateNanos / loop.packets;
+    loop.packets = 0;
+    loop.bytesIn = 0;
+    loop.bytesOut = 0;
+    loop.deflateNanos = 0;
+  }
+
+  /**
+   * Returns the current level and the statistics of the last complete sampling window of every
+   * event loop that has compressed packets.
+   *
+   * @return the statistics of each event loop
+   */
+  public List<Statistics> getStatistics() {
+    List<Statistics> statistics = new ArrayList<>(loops.size());
+    for (LoopState loop : loops) {
+      statistics.add(new Statistics(loop.thread, loop.level, loop.lastRatio, loop.lastShare,
+          loop.lastAverageNanos));
+    }
+    return statistics;
+  }
+
+  /**
+   * Statistics of the compression done on a single event loop.
+   *
+   * @param thread the name of the event loop thread
+   * @param level the compression level in use
+   * @param ratio the ratio of compressed to uncompressed bytes
+   * @param compressionShare the share of time spent compressing
+   * @param averageNanos the average time taken to compress a packet
+   */
+  public record Statistics(String thread, int level, double ratio, double compressionShare,
+                           long averageNanos) {
+  }
+
+  private static final class LoopState {
+
+    private final String thread;
+    private volatile int level;
+    private long windowStart = System.nanoTime();
+    private long packets;
+    private long bytesIn;
+    private long bytesOut;
+    private long deflateNanos;
+    private volatile double lastRatio = 1;
+    private volatile double lastShare;
+    private volatile long lastAverageNanos;
+
+    private LoopState(String thread, int level) {
+      this.thread = thread;
+      this.level = level;
+    }
+  }
+}
@@ -21,23 +21,81 @@ import static com.velocitypowered.proxy.protocol.netty.MinecraftVarintLengthEnco
 
 import com.velocitypowered.natives.compression.VelocityCompressor;
 import com.velocitypowered.natives.util.MoreByteBufUtils;
+import com.velocitypowered.proxy.network.VelocityNetworkTelemetry;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import java.nio.ByteBuffer;
+import java.util.zip.Adler32;
 import java.util.zip.DataFormatException;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Handler for compressing Minecraft packets.
  */
 public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<ByteBuf> {
 
+  private static final boolean STORE_INCOMPRESSIBLE =
+      !Boolean.getBoolean("velocity.disable-incompressible-detection");
+  // Packet types whose compressed size is on average above this share of their original size
+  // are written as stored deflate blocks.
+  private static final double INCOMPRESSIBLE_RATIO = 0.97;
+  private static final int MIN_SAMPLES = 8;
+  // Every so often a packet of an incompressible type is compressed anyway, in case the
+  // contents of that type changed.
+  private static final int PROBE_INTERVAL = 64;
+  private static final int MAX_STORED_BLOCK = 65535;
+  private static final int STORED_BLOCK_OVERHEAD = 5;
+  // zlib header for deflate with a 32K window and no preset dictionary, plus the Adler-32 trailer.
+  private static final int ZLIB_OVERHEAD = 2 + 4;
+
   private int threshold;
   private final VelocityCompressor compressor;
+  private final @Nullable AdaptiveCompressionLevel adaptiveLevel;
+  private int level;
+  private final @Nullable VelocityNetworkTelemetry telemetry;
+  private final Int2ObjectMap<TypeStatistics> typeStatistics = new Int2ObjectOpenHashMap<>();
+  private @Nullable Adler32 adler32;
 
   public MinecraftCompressorAndLengthEncoder(int threshold, VelocityCompressor compressor) {
+    this(threshold, compressor, null, -1);
+  }
+
+  /**
+   * Creates a new encoder.
+   *
+   * @param threshold the compression threshold
+   * @param compressor the compressor to use
+   * @param adaptiveLevel the controller choosing the compression level, or {@code null} to
+   *                      always use the level the compressor was created with
+   * @param level the level the compressor was created with
+   */
+  public MinecraftCompressorAndLengthEncoder(int threshold, VelocityCompressor compressor,
+      @Nullable AdaptiveCompressionLevel adaptiveLevel, int level) {
+    this(threshold, compressor, adaptiveLevel, level, null);
+  }
+
+  /**
+   * Creates a new encoder.
+   *
+   * @param threshold the compression threshold
+   * @param compressor the compressor to use
+   * @param adaptiveLevel the controller choosing the compression level, or {@code null} to
+   *                      always use the level the compressor was created with
+   * @param level the level the compressor was created with
+   * @param telemetry the telemetry of the connection to record compression savings into
+   */
+  public MinecraftCompressorAndLengthEncoder(int threshold, VelocityCompressor compressor,
+      @Nullable AdaptiveCompressionLevel adaptiveLevel, int level,
+      @Nullable VelocityNetworkTelemetry telemetry) {
     this.threshold = threshold;
     this.compressor = compressor;
+    this.adaptiveLevel = adaptiveLevel;
+    this.level = level;
+    this.telemetry = telemetry;
   }
 
   @Override
@@ -59,8 +117,31 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
 
     out.writeMedium(0); // Reserve the packet length
     ProtocolUtils.writeVarInt(out, uncompressed);
+
+    int packetId = STORE_INCOMPRESSIBLE ? peekPacketId(msg) : -1;
+    TypeStatistics statistics = null;
+    if (packetId != -1) {
+      statistics = typeStatistics.computeIfAbsent(packetId, id -> new TypeStatistics());
+      if (statistics.shouldStore()) {
+        int startStored = out.writerIndex();
+        writeStored(msg, out);
+        finishPacket(out, packetId, uncompressed, out.writerIndex() - startStored, true);
+        return;
+      }
+    }
+
     ByteBuf compatibleIn = MoreByteBufUtils.ensureCompatible(ctx.alloc(), compressor, msg);
 
+    long start = 0;
+    if (adaptiveLevel != null) {
+      int wanted = adaptiveLevel.level();
+      if (wanted != level) {
+        compressor.setCompressionLevel(wanted);
+        level = wanted;
+      }
+      start = System.nanoTime();
+    }
+
     int startCompressed = out.writerIndex();
     try {
       compressor.deflate(compatibleIn, out);
@@ -68,14 +149,77 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
       compatibleIn.release();
     }
     int compressedLength = out.writerIndex() - startCompressed;
+    if (adaptiveLevel != null) {
+      adaptiveLevel.record(ctx.channel().eventLoop(), uncompressed, compressedLength,
+          System.nanoTime() - start);
+    }
+    if (statistics != null) {
+      statistics.record(uncompressed, compressedLength);
+    }
+
+    finishPacket(out, packetId, uncompressed, compressedLength, false);
+  }
+
+  private void finishPacket(ByteBuf out, int packetId, int uncompressed,
+      int compressedLength, boolean stored) throws DataFormatException {
     if (compressedLength >= 1 << 21) {
       throw new DataFormatException("The server sent a very large (over 2MiB compressed) packet.");
     }
+    if (packetId != -1) {
+      PacketCompressionStatistics.get().record(packetId, uncompressed, compressedLength, stored);
+    }
+    if (telemetry != null) {
+      telemetry.recordCompression(uncompressed, compressedLength);
+    }
 
     int packetLength = out.readableBytes() - 3;
     out.setMedium(0, ProtocolUtils.encode21BitVarInt(packetLength)); // Rewrite packet length
   }
 
+  private static int peekPacketId(ByteBuf msg) {
+    int readerIndex = msg.readerIndex();
+    try {
+      return ProtocolUtils.readVarInt(msg);
+    } catch (Exception e) {
+      return -1;
+    } finally {
+      msg.readerIndex(readerIndex);
+    }
+  }
+
+  /**
+   * Writes {@code msg} as a zlib stream made of stored (uncompressed) deflate blocks. This is
+   * about as large as the input, but costs only a copy and a checksum.
+   */
+  private void writeStored(ByteBuf msg, ByteBuf out) {
+    Adler32 checksum = this.adler32;
+    if (checksum == null) {
+      checksum = new Adler32();
+      this.adler32 = checksum;
+    } else {
+      checksum.reset();
+    }
+    if (msg.nioBufferCount() == 1) {
+      checksum.update(msg.nioBuffer());
+    } else {
+      for (ByteBuffer buffer : msg.nioBuffers()) {
+        checksum.update(buffer);
+      }
+    }
+
+    out.writeShort(0x7801);
+    int remaining = msg.readableBytes();
+    do {
+      int length = Math.min(remaining, MAX_STORED_BLOCK);
+      remaining -= length;
+      out.writeByte(remaining == 0 ? 1 : 0); // BFINAL on the last block, BTYPE 00 (stored)
+      out.writeShortLE(length);
+      out.writeShortLE(~length);
+      out.writeBytes(msg, length);
+    } while (remaining > 0);
+    out.writeInt((int) checksum.getValue());
+  }
+
   @Override
   protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ByteBuf msg, boolean preferDirect)
       throws Exception {
@@ -90,6 +234,11 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
 
     // (maximum data length after compression) + packet length varint + uncompressed data varint
     int initialBufferSize = (uncompressed - 1) + 3 + ProtocolUtils.varIntBytes(uncompressed);
+    if (STORE_INCOMPRESSIBLE) {
+      // Leave room for the framing of stored blocks in case this packet type compresses poorly.
+      initialBufferSize += ZLIB_OVERHEAD + 1
+          + STORED_BLOCK_OVERHEAD * (uncompressed / MAX_STORED_BLOCK + 1);
+    }
     return MoreByteBufUtils.preferredBuffer(ctx.alloc(), compressor, initialBufferSize);
   }
 
@@ -101,4 +250,34 @@ public class MinecraftCompressorAndLengthEncoder extends MessageToByteEncoder<By
   public void setThreshold(int threshold) {
     this.threshold = threshold;
   }
+
+  /**
+   * Tracks how well a single packet type compresses on this connection.
+   */
+  private static final class TypeStatistics {
+
+    private double ratio = 1;
+    private int samples;
+    private int storedSinceProbe;
+
+    boolean shouldStore() {
+      if (samples < MIN_SAMPLES || ratio < INCOMPRESSIBLE_RATIO) {
+        return false;
+      }
+      if (++storedSinceProbe >= PROBE_INTERVAL) {
+        storedSinceProbe = 0;
+        return false;
+      }
+      return true;
+    }
+
+    void record(int uncompressed, int compressed) {
+      double sample = (double) compressed / uncompressed;
+      // Exponentially weighted moving average, so a few outliers don't flip the decision.
+      ratio = samples == 0 ? sample : ratio + (sample - ratio) / 8;
+      if (samples < MIN_SAMPLES) {
+        samples++;
+      }
+    }
+  }
 }
@@ -19,12 +19,15 @@ package com.velocitypowered.proxy.protocol.netty;
 
 import com.google.common.base.Preconditions;
 import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.network.VelocityNetworkTelemetry;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToByteEncoder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Encodes {@link MinecraftPacket} instances.
@@ -34,6 +37,7 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
   private final ProtocolUtils.Direction direction;
   private StateRegistry state;
   private StateRegistry.PacketRegistry.ProtocolRegistry registry;
+  private @Nullable VelocityNetworkTelemetry telemetry;
 
   /**
    * Creates a new {@code MinecraftEncoder} encoding packets for the specified {@code direction}.
@@ -47,6 +51,16 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
     this.state = StateRegistry.HANDSHAKE;
   }
 
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    // Packets forwarded as they are pass through here as a ByteBuf, one per packet.
+    if (telemetry != null && (msg instanceof MinecraftPacket || msg instanceof ByteBuf)) {
+      telemetry.recordPacketSent();
+    }
+    super.write(ctx, msg, promise);
+  }
+
   @Override
   protected void encode(ChannelHandlerContext ctx, MinecraftPacket msg, ByteBuf out) {
     int packetId = this.registry.getPacketId(msg);
@@ -76,6 +90,10 @@ public class MinecraftEncoder extends MessageToByteEncoder<MinecraftPacket> {
     this.setProtocolVersion(registry.version);
   }
 
+  public void setTelemetry(@Nullable VelocityNetworkTelemetry telemetry) {
+    this.telemetry = telemetry;
+  }
+
   public ProtocolUtils.Direction getDirection() {
     return direction;
   }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import com.velocitypowered.proxy.network.VelocityNetworkTelemetry;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Counts the bytes going over the network. This sits at the head of the pipeline, so it sees the
+ * data exactly as it is sent and received. Packets are not counted here, as a single packet may
+ * be written as several buffers: {@link MinecraftEncoder} counts the sent packets and
+ * {@link com.velocitypowered.proxy.connection.MinecraftConnection} the received ones.
+ */
+public class NetworkTelemetryHandler extends ChannelDuplexHandler {
+
+  private final VelocityNetworkTelemetry telemetry;
+
+  public NetworkTelemetryHandler(VelocityNetworkTelemetry telemetry) {
+    this.telemetry = telemetry;
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (msg instanceof ByteBuf buf) {
+      telemetry.recordBytesReceived(buf.readableBytes());
+    }
+    ctx.fireChannelRead(msg);
+  }
+
+  @Override
+  public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise)
+      throws Exception {
+    if (msg instanceof ByteBuf buf) {
+      telemetry.recordBytesSent(buf.readableBytes());
+    }
+    ctx.write(msg, promise);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Proxy-wide statistics about how well packets compress, grouped by packet ID. Only packets
+ * above the compression threshold are counted.
+ *
+ * <p>Packet IDs depend on the protocol version, state and direction of a connection, so a
+ * single ID may cover several kinds of packets.
+ */
+public final class PacketCompressionStatistics {
+
+  private static final int TRACKED_IDS = 256;
+  private static final PacketCompressionStatistics INSTANCE = new PacketCompressionStatistics();
+
+  private final Counters[] counters = new Counters[TRACKED_IDS];
+
+  private PacketCompressionStatistics() {
+    for (int i = 0; i < TRACKED_IDS; i++) {
+      counters[i] = new Counters();
+    }
+  }
+
+  public static PacketCompressionStatistics get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Records a packet written to a compressed connection.
+   *
+   * @param packetId the ID of the packet
+   * @param uncompressed the size of the packet before compression
+   * @param compressed the size of the compressed packet
+   * @param stored whether compression was skipped because the packet type compresses poorly
+   */
+  void record(int packetId, int uncompressed, int compressed, boolean stored) {
+    if (packetId < 0 || packetId >= TRACKED_IDS) {
+      return;
+    }
+    Counters counter = counters[packetId];
+    counter.packets.increment();
+    counter.uncompressedBytes.add(uncompressed);
+    counter.compressedBytes.add(compressed);
+    if (stored) {
+      counter.storedPackets.increment();
+    }
+  }
+
+  /**
+   * Returns the statistics of every packet ID that has been seen so far.
+   *
+   * @return the statistics for each packet ID
+   */
+  public List<Entry> getEntries() {
+    List<Entry> entries = new ArrayList<>();
+    for (int i = 0; i < TRACKED_IDS; i++) {
+      Counters counter = counters[i];
+      long packets = counter.packets.sum();
+      if (packets > 0) {
+        entries.add(new Entry(i, packets, counter.storedPackets.sum(),
+            counter.uncompressedBytes.sum(), counter.compressedBytes.sum()));
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * The compression statistics of a single packet ID.
+   *
+   * @param packetId the packet ID
+   * @param packets the number of packets seen
+   * @param storedPackets the number of packets written without compression
+   * @param uncompressedBytes the total size of the packets before compression
+   * @param compressedBytes the total size of the packets after compression
+   */
+  public record Entry(int packetId, long packets, long storedPackets, long uncompressedBytes,
+                      long compressedBytes) {
+
+    /**
+     * Returns the ratio of compressed to uncompressed bytes.
+     *
+     * @return the compression ratio
+     */
+    public double ratio() {
+      return uncompressedBytes == 0 ? 1 : (double) compressedBytes / uncompressedBytes;
+    }
+  }
+
+  private static final class Counters {
+
+    private final LongAdder packets = new LongAdder();
+    private final LongAdder storedPackets = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+  }
+}
@@ -25,7 +25,6 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils.Direction;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import io.netty.buffer.ByteBuf;
 import net.kyori.adventure.nbt.BinaryTag;
-import net.kyori.adventure.nbt.BinaryTagIO;
 
 public class DialogShowPacket implements MinecraftPacket {
 
@@ -41,7 +40,7 @@ public class DialogShowPacket implements MinecraftPacket {
   public void decode(ByteBuf buf, Direction direction, ProtocolVersion protocolVersion) {
     this.id = this.state == StateRegistry.CONFIG ? 0 : ProtocolUtils.readVarInt(buf);
     if (this.id == 0) {
-      this.nbt = ProtocolUtils.readBinaryTag(buf, protocolVersion, BinaryTagIO.reader());
+      this.nbt = ProtocolUtils.readBinaryTag(buf, protocolVersion);
     }
   }
 
@@ -25,6 +25,7 @@ import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.util.GameProfileInterner;
 import io.netty.buffer.ByteBuf;
 import java.util.ArrayList;
 import java.util.List;
@@ -71,7 +72,8 @@ public class LegacyPlayerListItemPacket implements MinecraftPacket {
         switch (action) {
           case ADD_PLAYER:
             item.setName(ProtocolUtils.readString(buf));
-            item.setProperties(ProtocolUtils.readProperties(buf));
+            item.setProperties(GameProfileInterner.internProperties(
+                ProtocolUtils.readProperties(buf)));
             item.setGameMode(ProtocolUtils.readVarInt(buf));
             item.setLatency(ProtocolUtils.readVarInt(buf));
             item.setDisplayName(readOptionalComponent(buf, version));
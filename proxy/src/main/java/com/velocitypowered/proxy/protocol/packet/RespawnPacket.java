@@ -22,10 +22,9 @@ import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
 import com.velocitypowered.proxy.connection.registry.DimensionInfo;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.util.LazyCompoundBinaryTag;
 import io.netty.buffer.ByteBuf;
 import it.unimi.dsi.fastutil.Pair;
-import net.kyori.adventure.nbt.BinaryTagIO;
-import net.kyori.adventure.nbt.CompoundBinaryTag;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class RespawnPacket implements MinecraftPacket {
@@ -38,7 +37,7 @@ public class RespawnPacket implements MinecraftPacket {
   private byte dataToKeep; // 1.16+
   private DimensionInfo dimensionInfo; // 1.16-1.16.1
   private short previousGamemode; // 1.16+
-  private CompoundBinaryTag currentDimensionData; // 1.16.2+
+  private LazyCompoundBinaryTag currentDimensionData; // 1.16.2+
   private @Nullable Pair<String, Long> lastDeathPosition; // 1.19+
   private int portalCooldown; // 1.20+
   private int seaLevel; // 1.21.2+
@@ -48,7 +47,7 @@ public class RespawnPacket implements MinecraftPacket {
 
   public RespawnPacket(int dimension, long partialHashedSeed, short difficulty, short gamemode,
                        String levelType, byte dataToKeep, DimensionInfo dimensionInfo,
-                       short previousGamemode, CompoundBinaryTag currentDimensionData,
+                       short previousGamemode, LazyCompoundBinaryTag currentDimensionData,
                        @Nullable Pair<String, Long> lastDeathPosition, int portalCooldown,
                        int seaLevel) {
     this.dimension = dimension;
@@ -178,7 +177,7 @@ public class RespawnPacket implements MinecraftPacket {
     if (version.noLessThan(ProtocolVersion.MINECRAFT_1_16)) {
       if (version.noLessThan(ProtocolVersion.MINECRAFT_1_16_2)
           && version.lessThan(ProtocolVersion.MINECRAFT_1_19)) {
-        this.currentDimensionData = ProtocolUtils.readCompoundTag(buf, version, BinaryTagIO.reader());
+        this.currentDimensionData = LazyCompoundBinaryTag.read(buf, version);
         dimensionKey = ProtocolUtils.readString(buf);
       } else {
         if (version.noLessThan(ProtocolVersion.MINECRAFT_1_20_5)) {
@@ -230,7 +229,7 @@ public class RespawnPacket implements MinecraftPacket {
     if (version.noLessThan(ProtocolVersion.MINECRAFT_1_16)) {
       if (version.noLessThan(ProtocolVersion.MINECRAFT_1_16_2)
           && version.lessThan(ProtocolVersion.MINECRAFT_1_19)) {
-        ProtocolUtils.writeBinaryTag(buf, version, currentDimensionData);
+        currentDimensionData.write(buf, version);
         ProtocolUtils.writeString(buf, dimensionInfo.getRegistryIdentifier());
       } else {
         if (version.noLessThan(ProtocolVersion.MINECRAFT_1_20_5)) {
@@ -26,7 +26,6 @@ import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
 import net.kyori.adventure.nbt.BinaryTag;
-import net.kyori.adventure.nbt.BinaryTagIO;
 import net.kyori.adventure.nbt.BinaryTagType;
 import net.kyori.adventure.nbt.BinaryTagTypes;
 import net.kyori.adventure.nbt.ByteArrayBinaryTag;
@@ -97,7 +96,7 @@ public class ComponentHolder {
 
   public String getJson() {
     if (json == null) {
-      json = ProtocolUtils.getJsonChatSerializer(version).serialize(getComponent());
+      json = ComponentSerializationCache.json(version, getComponent());
     }
     return json;
   }
@@ -279,7 +278,7 @@ public class ComponentHolder {
   public static ComponentHolder read(ByteBuf buf, ProtocolVersion version) {
     if (version.noLessThan(ProtocolVersion.MINECRAFT_1_20_3)) {
       return new ComponentHolder(version,
-          ProtocolUtils.readBinaryTag(buf, version, BinaryTagIO.reader()));
+          ProtocolUtils.readBinaryTag(buf, version));
     } else if (version.noLessThan(ProtocolVersion.MINECRAFT_1_13)) {
       return new ComponentHolder(version, ProtocolUtils.readString(buf, DEFAULT_MAX_STRING_SIZE));
     } else {
@@ -289,7 +288,11 @@ public class ComponentHolder {
 
   public void write(ByteBuf buf) {
     if (version.noLessThan(ProtocolVersion.MINECRAFT_1_20_3)) {
-      ProtocolUtils.writeBinaryTag(buf, version, getBinaryTag());
+      if (binaryTag == null) {
+        ComponentSerializationCache.writeBinaryTag(buf, version, getComponent());
+      } else {
+        ProtocolUtils.writeBinaryTag(buf, version, binaryTag);
+      }
     } else {
       ProtocolUtils.writeString(buf, getJson());
     }
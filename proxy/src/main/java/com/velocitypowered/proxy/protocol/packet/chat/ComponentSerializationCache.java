@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.packet.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+
+/**
+ * Caches the serialized form of components, so that components sent over and over again (kick
+ * messages, MOTDs, boss bar titles, tab list headers...) are only serialized once per protocol
+ * version family.
+ *
+ * <p>Components are immutable, so they are keyed by identity and held weakly: entries go away
+ * once the component is no longer used, and the cache is bounded on top of that.
+ */
+final class ComponentSerializationCache {
+
+  private static final long MAXIMUM_SIZE = Long.getLong("velocity.component-cache-size", 1024);
+
+  // One cache per serializer, since the serialized form depends on it.
+  private static final Map<GsonComponentSerializer, Cache<Component, String>> JSON =
+      new ConcurrentHashMap<>();
+  private static final Map<GsonComponentSerializer, Cache<Component, byte[]>> BINARY =
+      new ConcurrentHashMap<>();
+
+  private ComponentSerializationCache() {
+    throw new AssertionError();
+  }
+
+  private static <V> Cache<Component, V> newCache() {
+    return Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(MAXIMUM_SIZE)
+        .build();
+  }
+
+  /**
+   * Returns the JSON form of the component for the given version.
+   *
+   * @param version the protocol version
+   * @param component the component
+   * @return the JSON string
+   */
+  static String json(ProtocolVersion version, Component component) {
+    GsonComponentSerializer serializer = ProtocolUtils.getJsonChatSerializer(version);
+    if (MAXIMUM_SIZE <= 0) {
+      return serializer.serialize(component);
+    }
+    return JSON.computeIfAbsent(serializer, ignored -> newCache())
+        .get(component, serializer::serialize);
+  }
+
+  /**
+   * Writes the binary tag form of the component for the given version, which must be 1.20.3 or
+   * newer.
+   *
+   * @param buf the buffer to write to
+   * @param version the protocol version
+   * @param component the component
+   */
+  static void writeBinaryTag(ByteBuf buf, ProtocolVersion version, Component component) {
+    GsonComponentSerializer serializer = ProtocolUtils.getJsonChatSerializer(version);
+    if (MAXIMUM_SIZE <= 0) {
+      ProtocolUtils.writeBinaryTag(buf, version,
+          ComponentHolder.serialize(serializer.serializeToTree(component)));
+      return;
+    }
+    byte[] encoded = BINARY.computeIfAbsent(serializer, ignored -> newCache())
+        .get(component, key -> encodeBinaryTag(version, serializer, key));
+    buf.writeBytes(encoded);
+  }
+
+  private static byte[] encodeBinaryTag(ProtocolVersion version,
+      GsonComponentSerializer serializer, Component component) {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      // All versions sharing a serializer also share the root tag format, so the bytes can be
+      // reused for any of them.
+      ProtocolUtils.writeBinaryTag(buf, version,
+          ComponentHolder.serialize(serializer.serializeToTree(component)));
+      return ByteBufUtil.getBytes(buf);
+    } finally {
+      buf.release();
+    }
+  }
+}
@@ -0,0 +1,457 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import io.netty.util.ByteProcessor;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.BinaryTagType;
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.ByteArrayBinaryTag;
+import net.kyori.adventure.nbt.ByteBinaryTag;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.DoubleBinaryTag;
+import net.kyori.adventure.nbt.EndBinaryTag;
+import net.kyori.adventure.nbt.FloatBinaryTag;
+import net.kyori.adventure.nbt.IntArrayBinaryTag;
+import net.kyori.adventure.nbt.IntBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.kyori.adventure.nbt.LongArrayBinaryTag;
+import net.kyori.adventure.nbt.LongBinaryTag;
+import net.kyori.adventure.nbt.ShortBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+
+/**
+ * Reads and writes NBT payloads directly from and to a {@link ByteBuf}, without wrapping the
+ * buffer in a {@link java.io.DataInput} or {@link java.io.DataOutput}. Strings are decoded in
+ * bulk when they only contain ASCII characters, which is by far the most common case.
+ *
+ * <p>All methods operate on tag payloads only: the tag type and (for older versions) the root
+ * name are handled by {@link com.velocitypowered.proxy.protocol.ProtocolUtils}.
+ */
+public final class BinaryTagCodec {
+
+  public static final int TAG_END = 0;
+  public static final int TAG_BYTE = 1;
+  public static final int TAG_SHORT = 2;
+  public static final int TAG_INT = 3;
+  public static final int TAG_LONG = 4;
+  public static final int TAG_FLOAT = 5;
+  public static final int TAG_DOUBLE = 6;
+  public static final int TAG_BYTE_ARRAY = 7;
+  public static final int TAG_STRING = 8;
+  public static final int TAG_LIST = 9;
+  public static final int TAG_COMPOUND = 10;
+  public static final int TAG_INT_ARRAY = 11;
+  public static final int TAG_LONG_ARRAY = 12;
+
+  // Same limit as the vanilla client and adventure.
+  private static final int MAX_DEPTH = 512;
+
+  @SuppressWarnings("unchecked")
+  private static final BinaryTagType<? extends BinaryTag>[] TYPES = new BinaryTagType[] {
+      BinaryTagTypes.END, BinaryTagTypes.BYTE, BinaryTagTypes.SHORT, BinaryTagTypes.INT,
+      BinaryTagTypes.LONG, BinaryTagTypes.FLOAT, BinaryTagTypes.DOUBLE,
+      BinaryTagTypes.BYTE_ARRAY, BinaryTagTypes.STRING, BinaryTagTypes.LIST,
+      BinaryTagTypes.COMPOUND, BinaryTagTypes.INT_ARRAY, BinaryTagTypes.LONG_ARRAY};
+
+  private static final ByteProcessor FIND_NON_ASCII = value -> value >= 0;
+
+  private BinaryTagCodec() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Returns the adventure type for the given tag type ID.
+   *
+   * @param id the tag type ID
+   * @return the tag type
+   * @throws DecoderException if the ID is not a valid tag type
+   */
+  public static BinaryTagType<? extends BinaryTag> type(int id) {
+    if (id < 0 || id >= TYPES.length) {
+      throw new DecoderException("Unknown NBT tag type " + id);
+    }
+    return TYPES[id];
+  }
+
+  /**
+   * Reads the payload of a tag of the given type.
+   *
+   * @param buf the buffer to read from
+   * @param typeId the type of the tag
+   * @return the tag
+   */
+  public static BinaryTag read(ByteBuf buf, int typeId) {
+    return read(buf, typeId, 0);
+  }
+
+  private static BinaryTag read(ByteBuf buf, int typeId, int depth) {
+    if (depth > MAX_DEPTH) {
+      throw new DecoderException("NBT is nested too deeply");
+    }
+    switch (typeId) {
+      case TAG_END:
+        return EndBinaryTag.endBinaryTag();
+      case TAG_BYTE:
+        return ByteBinaryTag.byteBinaryTag(buf.readByte());
+      case TAG_SHORT:
+        return ShortBinaryTag.shortBinaryTag(buf.readShort());
+      case TAG_INT:
+        return IntBinaryTag.intBinaryTag(buf.readInt());
+      case TAG_LONG:
+        return LongBinaryTag.longBinaryTag(buf.readLong());
+      case TAG_FLOAT:
+        return FloatBinaryTag.floatBinaryTag(buf.readFloat());
+      case TAG_DOUBLE:
+        return DoubleBinaryTag.doubleBinaryTag(buf.readDouble());
+      case TAG_BYTE_ARRAY: {
+        byte[] value = new byte[checkLength(buf, buf.readInt(), 1)];
+        buf.readBytes(value);
+        return ByteArrayBinaryTag.byteArrayBinaryTag(value);
+      }
+      case TAG_STRING:
+        return StringBinaryTag.stringBinaryTag(readString(buf));
+      case TAG_LIST: {
+        int elementType = buf.readByte();
+        int length = checkLength(buf, buf.readInt(), 0);
+        if (length == 0) {
+          return ListBinaryTag.listBinaryTag(type(elementType), List.of());
+        }
+        if (elementType == TAG_END) {
+          throw new DecoderException("NBT list of end tags has elements");
+        }
+        List<BinaryTag> tags = new ArrayList<>(Math.min(length, buf.readableBytes()));
+        for (int i = 0; i < length; i++) {
+          tags.add(read(buf, elementType, depth + 1));
+        }
+        return ListBinaryTag.listBinaryTag(type(elementType), tags);
+      }
+      case TAG_COMPOUND: {
+        CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+        int childType;
+        while ((childType = buf.readByte()) != TAG_END) {
+          String name = readString(buf);
+          builder.put(name, read(buf, childType, depth + 1));
+        }
+        return builder.build();
+      }
+      case TAG_INT_ARRAY: {
+        int[] value = new int[checkLength(buf, buf.readInt(), Integer.BYTES)];
+        for (int i = 0; i < value.length; i++) {
+          value[i] = buf.readInt();
+        }
+        return IntArrayBinaryTag.intArrayBinaryTag(value);
+      }
+      case TAG_LONG_ARRAY: {
+        long[] value = new long[checkLength(buf, buf.readInt(), Long.BYTES)];
+        for (int i = 0; i < value.length; i++) {
+          value[i] = buf.readLong();
+        }
+        return LongArrayBinaryTag.longArrayBinaryTag(value);
+      }
+      default:
+        throw new DecoderException("Unknown NBT tag type " + typeId);
+    }
+  }
+
+  /**
+   * Skips over the payload of a tag of the given type, validating its structure without
+   * allocating any tags.
+   *
+   * @param buf the buffer to read from
+   * @param typeId the type of the tag
+   */
+  public static void skip(ByteBuf buf, int typeId) {
+    skip(buf, typeId, 0);
+  }
+
+  private static void skip(ByteBuf buf, int typeId, int depth) {
+    if (depth > MAX_DEPTH) {
+      throw new DecoderException("NBT is nested too deeply");
+    }
+    switch (typeId) {
+      case TAG_END:
+        break;
+      case TAG_BYTE:
+        buf.skipBytes(Byte.BYTES);
+        break;
+      case TAG_SHORT:
+        buf.skipBytes(Short.BYTES);
+        break;
+      case TAG_INT:
+      case TAG_FLOAT:
+        buf.skipBytes(Integer.BYTES);
+        break;
+      case TAG_LONG:
+      case TAG_DOUBLE:
+        buf.skipBytes(Long.BYTES);
+        break;
+      case TAG_BYTE_ARRAY:
+        buf.skipBytes(checkLength(buf, buf.readInt(), 1));
+        break;
+      case TAG_STRING:
+        buf.skipBytes(buf.readUnsignedShort());
+        break;
+      case TAG_LIST: {
+        int elementType = buf.readByte();
+        int length = checkLength(buf, buf.readInt(), 0);
+        if (length > 0 && elementType == TAG_END) {
+          throw new DecoderException("NBT list of end tags has elements");
+        }
+        for (int i = 0; i < length; i++) {
+          skip(buf, elementType, depth + 1);
+        }
+        break;
+      }
+      case TAG_COMPOUND: {
+        int childType;
+        while ((childType = buf.readByte()) != TAG_END) {
+          buf.skipBytes(buf.readUnsignedShort());
+          skip(buf, childType, depth + 1);
+        }
+        break;
+      }
+      case TAG_INT_ARRAY:
+        buf.skipBytes(checkLength(buf, buf.readInt(), Integer.BYTES) * Integer.BYTES);
+        break;
+      case TAG_LONG_ARRAY:
+        buf.skipBytes(checkLength(buf, buf.readInt(), Long.BYTES) * Long.BYTES);
+        break;
+      default:
+        throw new DecoderException("Unknown NBT tag type " + typeId);
+    }
+  }
+
+  /**
+   * Writes the payload of the given tag.
+   *
+   * @param buf the buffer to write to
+   * @param tag the tag to write
+   */
+  public static void write(ByteBuf buf, BinaryTag tag) {
+    switch (tag.type().id()) {
+      case TAG_END:
+        break;
+      case TAG_BYTE:
+        buf.writeByte(((ByteBinaryTag) tag).value());
+        break;
+      case TAG_SHORT:
+        buf.writeShort(((ShortBinaryTag) tag).value());
+        break;
+      case TAG_INT:
+        buf.writeInt(((IntBinaryTag) tag).value());
+        break;
+      case TAG_LONG:
+        buf.writeLong(((LongBinaryTag) tag).value());
+        break;
+      case TAG_FLOAT:
+        buf.writeFloat(((FloatBinaryTag) tag).value());
+        break;
+      case TAG_DOUBLE:
+        buf.writeDouble(((DoubleBinaryTag) tag).value());
+        break;
+      case TAG_BYTE_ARRAY: {
+        byte[] value = ((ByteArrayBinaryTag) tag).value();
+        buf.writeInt(value.length);
+        buf.writeBytes(value);
+        break;
+      }
+      case TAG_STRING:
+        writeString(buf, ((StringBinaryTag) tag).value());
+        break;
+      case TAG_LIST:
+        writeList(buf, (ListBinaryTag) tag);
+        break;
+      case TAG_COMPOUND:
+        for (Map.Entry<String, ? extends BinaryTag> entry : (CompoundBinaryTag) tag) {
+          BinaryTag child = entry.getValue();
+          buf.writeByte(child.type().id());
+          writeString(buf, entry.getKey());
+          write(buf, child);
+        }
+        buf.writeByte(TAG_END);
+        break;
+      case TAG_INT_ARRAY: {
+        IntArrayBinaryTag array = (IntArrayBinaryTag) tag;
+        buf.writeInt(array.size());
+        array.forEachInt(buf::writeInt);
+        break;
+      }
+      case TAG_LONG_ARRAY: {
+        LongArrayBinaryTag array = (LongArrayBinaryTag) tag;
+        buf.writeInt(array.size());
+        array.forEachLong(buf::writeLong);
+        break;
+      }
+      default:
+        throw new EncoderException("Unknown NBT tag type " + tag.type());
+    }
+  }
+
+  private static void writeList(ByteBuf buf, ListBinaryTag list) {
+    BinaryTagType<? extends BinaryTag> elementType = list.elementType();
+    for (BinaryTag element : list) {
+      if (element.type() != elementType) {
+        // Lists with mixed element types need to be wrapped the way adventure does it, so let
+        // adventure take care of those.
+        try {
+          BinaryTagTypes.LIST.write(list, new ByteBufDataOutput(buf));
+        } catch (IOException e) {
+          throw new EncoderException("Unable to encode NBT list", e);
+        }
+        return;
+      }
+    }
+
+    buf.writeByte(elementType.id());
+    buf.writeInt(list.size());
+    for (BinaryTag element : list) {
+      write(buf, element);
+    }
+  }
+
+  /**
+   * Reads a string in the modified UTF-8 encoding used by NBT.
+   *
+   * @param buf the buffer to read from
+   * @return the string
+   */
+  public static String readString(ByteBuf buf) {
+    int length = buf.readUnsignedShort();
+    int start = buf.readerIndex();
+    if (buf.readableBytes() < length) {
+      throw new DecoderException("NBT string is longer than the remaining data");
+    }
+
+    String value;
+    if (buf.forEachByte(start, length, FIND_NON_ASCII) == -1) {
+      value = buf.toString(start, length, StandardCharsets.US_ASCII);
+    } else {
+      value = decodeModifiedUtf8(buf, start, length);
+    }
+    buf.skipBytes(length);
+    return value;
+  }
+
+  private static String decodeModifiedUtf8(ByteBuf buf, int start, int length) {
+    char[] chars = new char[length];
+    int count = 0;
+    int index = start;
+    int end = start + length;
+    while (index < end) {
+      int a = buf.getByte(index++) & 0xFF;
+      if (a < 0x80) {
+        chars[count++] = (char) a;
+      } else if ((a & 0xE0) == 0xC0) {
+        if (index >= end) {
+          throw new DecoderException("Malformed NBT string");
+        }
+        int b = buf.getByte(index++);
+        if ((b & 0xC0) != 0x80) {
+          throw new DecoderException("Malformed NBT string");
+        }
+        chars[count++] = (char) (((a & 0x1F) << 6) | (b & 0x3F));
+      } else if ((a & 0xF0) == 0xE0) {
+        if (index + 1 >= end) {
+          throw new DecoderException("Malformed NBT string");
+        }
+        int b = buf.getByte(index++);
+        int c = buf.getByte(index++);
+        if ((b & 0xC0) != 0x80 || (c & 0xC0) != 0x80) {
+          throw new DecoderException("Malformed NBT string");
+        }
+        chars[count++] = (char) (((a & 0x0F) << 12) | ((b & 0x3F) << 6) | (c & 0x3F));
+      } else {
+        throw new DecoderException("Malformed NBT string");
+      }
+    }
+    return new String(chars, 0, count);
+  }
+
+  /**
+   * Writes a string in the modified UTF-8 encoding used by NBT.
+   *
+   * @param buf the buffer to write to
+   * @param value the string to write
+   */
+  public static void writeString(ByteBuf buf, String value) {
+    int length = value.length();
+    if (isAscii(value)) {
+      if (length > 0xFFFF) {
+        throw new EncoderException("NBT string is too long");
+      }
+      buf.writeShort(length);
+      buf.writeCharSequence(value, StandardCharsets.US_ASCII);
+      return;
+    }
+
+    int encodedLength = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      encodedLength += c != 0 && c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+    }
+    if (encodedLength > 0xFFFF) {
+      throw new EncoderException("NBT string is too long");
+    }
+    buf.writeShort(encodedLength);
+    buf.ensureWritable(encodedLength);
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c != 0 && c < 0x80) {
+        buf.writeByte(c);
+      } else if (c < 0x800) {
+        buf.writeByte(0xC0 | (c >> 6));
+        buf.writeByte(0x80 | (c & 0x3F));
+      } else {
+        buf.writeByte(0xE0 | (c >> 12));
+        buf.writeByte(0x80 | ((c >> 6) & 0x3F));
+        buf.writeByte(0x80 | (c & 0x3F));
+      }
+    }
+  }
+
+  private static boolean isAscii(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == 0 || c >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int checkLength(ByteBuf buf, int length, int elementSize) {
+    if (length < 0) {
+      throw new DecoderException("Negative NBT length " + length);
+    }
+    // Every element takes at least elementSize bytes (or one byte for lists), so reject lengths
+    // that cannot possibly fit before allocating anything for them.
+    if ((long) length * Math.max(elementSize, 1) > buf.readableBytes()) {
+      throw new DecoderException("NBT length " + length + " exceeds the remaining data");
+    }
+    return length;
+  }
+}
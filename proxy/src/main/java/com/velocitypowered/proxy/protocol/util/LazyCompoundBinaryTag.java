@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.util;
+
+import static com.velocitypowered.proxy.protocol.util.BinaryTagCodec.TAG_COMPOUND;
+import static com.velocitypowered.proxy.protocol.util.BinaryTagCodec.TAG_END;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A compound tag that is kept in its encoded form. The proxy only forwards most of the NBT it
+ * receives (such as the registries sent when joining a server), so this avoids building a tag
+ * tree for it: reading validates the structure and copies the bytes, writing copies them back,
+ * and individual values can be looked up without decoding the rest of the tag.
+ */
+public final class LazyCompoundBinaryTag {
+
+  // The payload of the compound tag, without the tag type and root name.
+  private final byte[] encoded;
+  private @Nullable CompoundBinaryTag decoded;
+
+  private LazyCompoundBinaryTag(byte[] encoded, @Nullable CompoundBinaryTag decoded) {
+    this.encoded = encoded;
+    this.decoded = decoded;
+  }
+
+  /**
+   * Reads a compound tag from the {@code buf} without decoding it.
+   *
+   * @param buf the buffer to read from
+   * @param version the protocol version
+   * @return the lazily decoded tag
+   */
+  public static LazyCompoundBinaryTag read(ByteBuf buf, ProtocolVersion version) {
+    int type = buf.readByte();
+    if (type != TAG_COMPOUND) {
+      throw new DecoderException("Expected root tag to be CompoundTag, but is "
+          + BinaryTagCodec.type(type));
+    }
+    if (version.lessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
+      buf.skipBytes(buf.readUnsignedShort());
+    }
+
+    int start = buf.readerIndex();
+    try {
+      BinaryTagCodec.skip(buf, TAG_COMPOUND);
+    } catch (IndexOutOfBoundsException thrown) {
+      throw new DecoderException("Unable to parse BinaryTag, full error: " + thrown.getMessage());
+    }
+    return new LazyCompoundBinaryTag(
+        ByteBufUtil.getBytes(buf, start, buf.readerIndex() - start), null);
+  }
+
+  /**
+   * Creates a lazily decoded tag from an already decoded tag.
+   *
+   * @param tag the tag
+   * @return the lazily decoded tag
+   */
+  public static LazyCompoundBinaryTag of(CompoundBinaryTag tag) {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      BinaryTagCodec.write(buf, tag);
+      return new LazyCompoundBinaryTag(ByteBufUtil.getBytes(buf), tag);
+    } finally {
+      buf.release();
+    }
+  }
+
+  /**
+   * Writes this tag to the {@code buf}. This is a plain copy of the original bytes.
+   *
+   * @param buf the buffer to write to
+   * @param version the protocol version
+   */
+  public void write(ByteBuf buf, ProtocolVersion version) {
+    buf.writeByte(TAG_COMPOUND);
+    if (version.lessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
+      // Empty name
+      buf.writeShort(0);
+    }
+    buf.writeBytes(encoded);
+  }
+
+  /**
+   * Decodes the whole tag. The result is cached.
+   *
+   * @return the decoded tag
+   */
+  public CompoundBinaryTag tag() {
+    CompoundBinaryTag tag = this.decoded;
+    if (tag == null) {
+      tag = (CompoundBinaryTag) BinaryTagCodec.read(Unpooled.wrappedBuffer(encoded), TAG_COMPOUND);
+      this.decoded = tag;
+    }
+    return tag;
+  }
+
+  /**
+   * Looks up a value by its path of compound keys, decoding only that value.
+   *
+   * @param path the keys leading to the value
+   * @return the value, or {@code null} if there is no value at that path
+   */
+  public @Nullable BinaryTag get(String... path) {
+    CompoundBinaryTag tag = this.decoded;
+    if (tag != null || path.length == 0) {
+      return find(tag(), path);
+    }
+
+    ByteBuf buf = Unpooled.wrappedBuffer(encoded);
+    for (int depth = 0; depth < path.length; depth++) {
+      boolean found = false;
+      int childType;
+      while ((childType = buf.readByte()) != TAG_END) {
+        String name = BinaryTagCodec.readString(buf);
+        if (name.equals(path[depth])) {
+          if (depth == path.length - 1) {
+            return BinaryTagCodec.read(buf, childType);
+          }
+          if (childType != TAG_COMPOUND) {
+            return null;
+          }
+          found = true;
+          break;
+        }
+        BinaryTagCodec.skip(buf, childType);
+      }
+      if (!found) {
+        return null;
+      }
+    }
+    throw new AssertionError("unreachable");
+  }
+
+  private static @Nullable BinaryTag find(CompoundBinaryTag tag, String... path) {
+    BinaryTag current = tag;
+    for (String key : path) {
+      if (!(current instanceof CompoundBinaryTag compound)) {
+        return null;
+      }
+      current = compound.get(key);
+    }
+    return current;
+  }
+
+  /**
+   * Returns the size of the encoded tag payload.
+   *
+   * @return the encoded size in bytes
+   */
+  public int encodedSize() {
+    return encoded.length;
+  }
+
+  @Override
+  public String toString() {
+    return "LazyCompoundBinaryTag{" + encoded.length + " bytes}";
+  }
+}
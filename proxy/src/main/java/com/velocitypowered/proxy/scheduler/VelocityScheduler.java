@@ -20,29 +20,30 @@ package com.velocitypowered.proxy.scheduler;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginManager;
+import com.velocitypowered.api.plugin.PluginTimings;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 import com.velocitypowered.api.scheduler.Scheduler;
 import com.velocitypowered.api.scheduler.TaskStatus;
+import com.velocitypowered.proxy.plugin.VelocityPluginTimings;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
@@ -52,17 +53,25 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 /**
- * The Velocity "scheduler", which is actually a thin wrapper around
- * {@link ScheduledExecutorService} and a dynamically-sized {@link ExecutorService}.
- * Many plugins are accustomed to the Bukkit Scheduler model, although it is not relevant
- * in a proxy context.
+ * The Velocity "scheduler", which is actually a thin wrapper around a {@link HashedWheelTimer}
+ * and a dynamically-sized {@link ExecutorService}. Many plugins are accustomed to the Bukkit
+ * Scheduler model, although it is not relevant in a proxy context.
+ *
+ * <p>The timing wheel makes scheduling and cancelling a task constant-time operations, which
+ * matters for plugins that schedule a task (such as a timeout) for every player. The trade-off
+ * is that tasks run with a granularity of one tick of the wheel, which can be configured with
+ * the {@code velocity.scheduler-tick-millis} system property.</p>
  */
 public class VelocityScheduler implements Scheduler {
 
+  private static final long TICK_MILLIS = Long.getLong("velocity.scheduler-tick-millis", 5);
+  private static final int TICKS_PER_WHEEL = 512;
+
   private final PluginManager pluginManager;
-  private final ScheduledExecutorService timerExecutionService;
-  private final Multimap<Object, ScheduledTask> tasksByPlugin = Multimaps.synchronizedMultimap(
-      Multimaps.newSetMultimap(new IdentityHashMap<>(), HashSet::new));
+  private final VelocityPluginTimings timings;
+  private final Timer timer;
+  private final Map<PluginContainer, Set<VelocityTask>> tasksByPlugin =
+      new ConcurrentHashMap<>();
 
   /**
    * Initalizes the scheduler.
@@ -70,10 +79,21 @@ public class VelocityScheduler implements Scheduler {
    * @param pluginManager the Velocity plugin manager
    */
   public VelocityScheduler(PluginManager pluginManager) {
+    this(pluginManager, new VelocityPluginTimings());
+  }
+
+  /**
+   * Initalizes the scheduler.
+   *
+   * @param pluginManager the Velocity plugin manager
+   * @param timings the timings to record task execution times into
+   */
+  public VelocityScheduler(PluginManager pluginManager, VelocityPluginTimings timings) {
     this.pluginManager = pluginManager;
-    this.timerExecutionService = Executors
-        .newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
-            .setNameFormat("Velocity Task Scheduler Timer").build());
+    this.timings = timings;
+    this.timer = new HashedWheelTimer(new ThreadFactoryBuilder().setDaemon(true)
+        .setNameFormat("Velocity Task Scheduler Timer").build(), TICK_MILLIS,
+        TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
   }
 
   @Override
@@ -97,11 +117,10 @@ public class VelocityScheduler implements Scheduler {
   @Override
   public @NonNull Collection<ScheduledTask> tasksByPlugin(@NonNull Object plugin) {
     checkNotNull(plugin, "plugin");
-    checkArgument(pluginManager.fromInstance(plugin).isPresent(), "plugin is not registered");
-    final Collection<ScheduledTask> tasks = tasksByPlugin.get(plugin);
-    synchronized (tasksByPlugin) {
-      return Set.copyOf(tasks);
-    }
+    final Optional<PluginContainer> container = pluginManager.fromInstance(plugin);
+    checkArgument(container.isPresent(), "plugin is not registered");
+    final Set<VelocityTask> tasks = tasksByPlugin.get(container.get());
+    return tasks == null ? Set.of() : Set.copyOf(tasks);
   }
 
   /**
@@ -111,14 +130,14 @@ public class VelocityScheduler implements Scheduler {
    * @throws InterruptedException if the current thread was interrupted
    */
   public boolean shutdown() throws InterruptedException {
-    Collection<ScheduledTask> terminating;
-    synchronized (tasksByPlugin) {
-      terminating = ImmutableList.copyOf(tasksByPlugin.values());
+    final List<VelocityTask> terminating = new ArrayList<>();
+    for (final Set<VelocityTask> tasks : tasksByPlugin.values()) {
+      terminating.addAll(tasks);
     }
     for (ScheduledTask task : terminating) {
       task.cancel();
     }
-    timerExecutionService.shutdown();
+    timer.stop();
     final List<PluginContainer> plugins = new ArrayList<>(this.pluginManager.getPlugins());
     final Iterator<PluginContainer> pluginIterator = plugins.iterator();
     while (pluginIterator.hasNext()) {
@@ -204,22 +223,27 @@ public class VelocityScheduler implements Scheduler {
     @Override
     public ScheduledTask schedule() {
       VelocityTask task = new VelocityTask(container, runnable, consumer, delay, repeat);
-      tasksByPlugin.put(container.getInstance().get(), task);
+      tasksByPlugin.computeIfAbsent(container, ignored -> ConcurrentHashMap.newKeySet())
+          .add(task);
       task.schedule();
       return task;
     }
   }
 
   @VisibleForTesting
-  class VelocityTask implements Runnable, ScheduledTask {
+  class VelocityTask implements TimerTask, ScheduledTask {
 
     private final PluginContainer container;
     private final Runnable runnable;
     private final Consumer<ScheduledTask> consumer;
     private final long delay;
     private final long repeat;
-    private @Nullable ScheduledFuture<?> future;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile TaskStatus status = TaskStatus.SCHEDULED;
+    private volatile @Nullable Timeout timeout;
     private volatile @Nullable Thread currentTaskThread;
+    private @Nullable VelocityPluginTimings.Timing timing;
+    private long nextRunNanos;
 
     private VelocityTask(PluginContainer container, Runnable runnable,
         Consumer<ScheduledTask> consumer, long delay, long repeat) {
@@ -231,11 +255,12 @@ public class VelocityScheduler implements Scheduler {
     }
 
     void schedule() {
-      if (repeat == 0) {
-        this.future = timerExecutionService.schedule(this, delay, TimeUnit.MILLISECONDS);
+      this.nextRunNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+      if (delay == 0) {
+        // The wheel would hold the task back until its next tick, so hand it off right away.
+        run(null);
       } else {
-        this.future = timerExecutionService
-            .scheduleAtFixedRate(this, delay, repeat, TimeUnit.MILLISECONDS);
+        this.timeout = timer.newTimeout(this, delay, TimeUnit.MILLISECONDS);
       }
     }
 
@@ -247,39 +272,53 @@ public class VelocityScheduler implements Scheduler {
 
     @Override
     public TaskStatus status() {
-      if (future == null) {
-        return TaskStatus.SCHEDULED;
+      return status;
+    }
+
+    @Override
+    public void cancel() {
+      if (status != TaskStatus.SCHEDULED) {
+        return;
       }
+      status = TaskStatus.CANCELLED;
 
-      if (future.isCancelled()) {
-        return TaskStatus.CANCELLED;
+      Timeout current = timeout;
+      if (current != null) {
+        current.cancel();
       }
 
-      if (future.isDone()) {
-        return TaskStatus.FINISHED;
+      Thread cur = currentTaskThread;
+      if (cur != null) {
+        cur.interrupt();
       }
 
-      return TaskStatus.SCHEDULED;
+      onFinish();
     }
 
     @Override
-    public void cancel() {
-      if (future != null) {
-        future.cancel(false);
+    public void run(@Nullable Timeout timeout) {
+      if (status != TaskStatus.SCHEDULED) {
+        return;
+      }
 
-        Thread cur = currentTaskThread;
-        if (cur != null) {
-          cur.interrupt();
+      if (repeat != 0) {
+        // Keep a fixed rate by scheduling relative to when the task should have run, not to
+        // when it actually ran.
+        nextRunNanos += TimeUnit.MILLISECONDS.toNanos(repeat);
+        long delayNanos = Math.max(0, nextRunNanos - System.nanoTime());
+        Timeout next = timer.newTimeout(this, delayNanos, TimeUnit.NANOSECONDS);
+        this.timeout = next;
+        if (status != TaskStatus.SCHEDULED) {
+          // We were cancelled while rescheduling.
+          next.cancel();
         }
-
-        onFinish();
       }
-    }
 
-    @Override
-    public void run() {
       container.getExecutorService().execute(() -> {
         currentTaskThread = Thread.currentThread();
+        final VelocityPluginTimings.Timing timing = timings.isEnabled() ? timing() : null;
+        final long wallStart = timing != null ? System.nanoTime() : 0;
+        final long cpuStart = timing != null ? VelocityPluginTimings.currentThreadCpuTime() : 0;
         try {
           if (runnable != null) {
             runnable.run();
@@ -298,7 +337,13 @@ public class VelocityScheduler implements Scheduler {
                 e);
           }
         } finally {
+          if (timing != null) {
+            timing.record(wallStart, cpuStart, true);
+          }
           if (repeat == 0) {
+            if (status == TaskStatus.SCHEDULED) {
+              status = TaskStatus.FINISHED;
+            }
             onFinish();
           }
           currentTaskThread = null;
@@ -306,13 +351,27 @@ public class VelocityScheduler implements Scheduler {
       });
     }
 
+    private VelocityPluginTimings.Timing timing() {
+      VelocityPluginTimings.Timing timing = this.timing;
+      if (timing == null) {
+        timing = timings.timing(container, PluginTimings.Type.SCHEDULED_TASK,
+            VelocityPluginTimings.describe(consumer == null ? runnable : consumer));
+        this.timing = timing;
+      }
+      return timing;
+    }
+
     private void onFinish() {
-      tasksByPlugin.remove(plugin(), this);
+      final Set<VelocityTask> tasks = tasksByPlugin.get(container);
+      if (tasks != null) {
+        tasks.remove(this);
+      }
+      completion.complete(null);
     }
 
     public void awaitCompletion() {
       try {
-        future.get();
+        completion.get();
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
       } catch (ExecutionException e) {
@@ -29,6 +29,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -38,6 +39,7 @@ public class ServerMap {
 
   private final @Nullable VelocityServer server;
   private final Map<String, RegisteredServer> servers = new ConcurrentHashMap<>();
+  private final AtomicInteger version = new AtomicInteger();
 
   public ServerMap(@Nullable VelocityServer server) {
     this.server = server;
@@ -59,6 +61,15 @@ public class ServerMap {
     return ImmutableList.copyOf(servers.values());
   }
 
+  /**
+   * Returns a number that changes whenever a server is registered or unregistered.
+   *
+   * @return the version of the server map
+   */
+  public int getVersion() {
+    return version.get();
+  }
+
   /**
    * Creates a raw implementation of a {@link RegisteredServer} without tying it to the internal
    * server map.
@@ -86,6 +97,7 @@ public class ServerMap {
       throw new IllegalArgumentException(
           "Server with name " + serverInfo.getName() + " already registered");
     } else if (existing == null) {
+      version.incrementAndGet();
       if (server != null) {
         server.getEventManager().fireAndForget(new ServerRegisteredEvent(rs));
       }
@@ -113,6 +125,7 @@ public class ServerMap {
         "Trying to remove server %s with differing information", serverInfo.getName());
     Preconditions.checkState(servers.remove(lowerName, rs),
         "Server with name %s replaced whilst unregistering", serverInfo.getName());
+    version.incrementAndGet();
 
     if (server != null) {
       server.getEventManager().fireAndForget(new ServerUnregisteredEvent(rs));
@@ -27,6 +27,8 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.velocitypowered.api.network.NetworkTelemetry;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.PluginMessageEncoder;
@@ -38,6 +40,7 @@ import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.network.VelocityNetworkTelemetry;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
@@ -54,10 +57,12 @@ import io.netty.channel.EventLoop;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.ForwardingAudience;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -72,6 +77,11 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
   private final @Nullable VelocityServer server;
   private final ServerInfo serverInfo;
   private final Map<UUID, ConnectedPlayer> players = new ConcurrentHashMap<>();
+  private final AtomicInteger playersVersion = new AtomicInteger();
+  private final Set<VelocityNetworkTelemetry> connectionTelemetry =
+      ConcurrentHashMap.newKeySet();
+  private final VelocityNetworkTelemetry.Totals closedConnectionTelemetry =
+      new VelocityNetworkTelemetry.Totals();
 
   public VelocityRegisteredServer(@Nullable VelocityServer server, ServerInfo serverInfo) {
     this.server = server;
@@ -140,11 +150,51 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
   }
 
   public void addPlayer(ConnectedPlayer player) {
-    players.put(player.getUniqueId(), player);
+    if (players.put(player.getUniqueId(), player) != player) {
+      playersVersion.incrementAndGet();
+      if (server != null) {
+        server.getCluster().markDirty();
+      }
+    }
   }
 
   public void removePlayer(ConnectedPlayer player) {
-    players.remove(player.getUniqueId(), player);
+    if (players.remove(player.getUniqueId(), player)) {
+      playersVersion.incrementAndGet();
+      if (server != null) {
+        server.getCluster().markDirty();
+      }
+    }
+  }
+
+  /**
+   * Returns a number that changes whenever a player joins or leaves this server.
+   *
+   * @return the version of the player list
+   */
+  public int getPlayersVersion() {
+    return playersVersion.get();
+  }
+
+  /**
+   * Starts including a connection to this server in its network telemetry.
+   *
+   * @param connection the connection to the server
+   */
+  public void trackTelemetry(MinecraftConnection connection) {
+    VelocityNetworkTelemetry telemetry = connection.getTelemetry();
+    connectionTelemetry.add(telemetry);
+    connection.getChannel().closeFuture().addListener(future -> {
+      if (connectionTelemetry.remove(telemetry)) {
+        closedConnectionTelemetry.add(telemetry);
+      }
+    });
+  }
+
+  @Override
+  public NetworkTelemetry getNetworkTelemetry() {
+    return VelocityNetworkTelemetry.aggregate(closedConnectionTelemetry, connectionTelemetry,
+        Iterables.transform(players.values(), player -> player.getConnection().getTelemetry()));
   }
 
   @Override
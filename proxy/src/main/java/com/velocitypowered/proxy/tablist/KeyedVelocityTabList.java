@@ -28,6 +28,7 @@ import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.protocol.packet.LegacyPlayerListItemPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.RemoteChatSession;
+import com.velocitypowered.proxy.util.GameProfileInterner;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -120,6 +121,11 @@ public class KeyedVelocityTabList implements InternalTabList {
     return Optional.ofNullable(this.entries.get(uuid));
   }
 
+  @Nullable
+  KeyedVelocityTabListEntry getEntryInternal(UUID uuid) {
+    return this.entries.get(uuid);
+  }
+
   /**
    * Clears all entries from the tab list. Note that the entries are written with
    * {@link MinecraftConnection#delayedWrite(Object)}, so make sure to do an explicit
@@ -154,14 +160,15 @@ public class KeyedVelocityTabList implements InternalTabList {
   public TabListEntry buildEntry(GameProfile profile,
       net.kyori.adventure.text.@Nullable Component displayName,
       int latency, int gameMode, @Nullable IdentifiedKey key) {
-    return new KeyedVelocityTabListEntry(this, profile, displayName, latency, gameMode, key);
+    return new KeyedVelocityTabListEntry(this, GameProfileInterner.intern(profile), displayName,
+        latency, gameMode, key);
   }
 
   @Override
   public TabListEntry buildEntry(GameProfile profile, @Nullable Component displayName, int latency,
       int gameMode, @Nullable ChatSession chatSession, boolean listed) {
-    return new KeyedVelocityTabListEntry(this, profile, displayName, latency, gameMode,
-        chatSession == null ? null : chatSession.getIdentifiedKey());
+    return new KeyedVelocityTabListEntry(this, GameProfileInterner.intern(profile), displayName,
+        latency, gameMode, chatSession == null ? null : chatSession.getIdentifiedKey());
   }
 
   @Override
@@ -194,7 +201,7 @@ public class KeyedVelocityTabList implements InternalTabList {
 
           entries.putIfAbsent(item.getUuid(), (KeyedVelocityTabListEntry) TabListEntry.builder()
               .tabList(this)
-              .profile(new GameProfile(uuid, name, properties))
+              .profile(GameProfileInterner.intern(uuid, name, properties))
               .displayName(item.getDisplayName())
               .latency(item.getLatency())
               .chatSession(new RemoteChatSession(null, item.getPlayerKey()))
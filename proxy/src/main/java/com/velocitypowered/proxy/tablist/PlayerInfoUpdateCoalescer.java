@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.tablist;
+
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.protocol.packet.LegacyPlayerListItemPacket;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Holds back latency, game mode and display name updates sent by a backend server for a short
+ * window, and then sends them to the player in as few packets as possible.
+ *
+ * <p>Only the fact that an entry changed is recorded; the values themselves are read from the
+ * player's tab list when the window closes. This means that several updates for the same player
+ * collapse into one, and that the values sent are never older than what the proxy already knows
+ * about. Both the {@link VelocityTabList} of 1.19.3 and newer clients and the
+ * {@link KeyedVelocityTabList} of older clients are supported.</p>
+ *
+ * <p>Any other player info packet must be preceded by a call to {@link #flush(Iterable)} for the
+ * players it touches, so that the client sees the updates in the order the backend sent them.</p>
+ *
+ * <p>This class is not thread-safe. It must only be used from the event loop of the backend
+ * connection whose updates it coalesces.</p>
+ */
+public final class PlayerInfoUpdateCoalescer {
+
+  private static final EnumSet<UpsertPlayerInfoPacket.Action> COALESCABLE_ACTIONS = EnumSet.of(
+      UpsertPlayerInfoPacket.Action.UPDATE_LATENCY,
+      UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE,
+      UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME
+  );
+
+  private final InternalTabList tabList;
+  private final MinecraftConnection playerConnection;
+  private final EventLoop eventLoop;
+  private final long windowMillis;
+  private final Map<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> pending = new LinkedHashMap<>();
+  private @Nullable ScheduledFuture<?> flushTask;
+
+  /**
+   * Creates a new coalescer.
+   *
+   * @param tabList the tab list of the player, see {@link #supports(InternalTabList)}
+   * @param playerConnection the connection to the player
+   * @param eventLoop the event loop of the backend connection
+   * @param windowMillis how long updates are held back, in milliseconds
+   */
+  public PlayerInfoUpdateCoalescer(InternalTabList tabList, MinecraftConnection playerConnection,
+      EventLoop eventLoop, long windowMillis) {
+    if (!supports(tabList)) {
+      throw new IllegalArgumentException("Can't coalesce updates for " + tabList);
+    }
+    this.tabList = tabList;
+    this.playerConnection = playerConnection;
+    this.eventLoop = eventLoop;
+    this.windowMillis = windowMillis;
+  }
+
+  /**
+   * Determines whether updates can be coalesced for the given tab list.
+   *
+   * @param tabList the tab list of the player
+   * @return whether updates can be coalesced
+   */
+  public static boolean supports(InternalTabList tabList) {
+    // The 1.7 tab list is keyed by name and only knows about adding and removing players.
+    return tabList instanceof VelocityTabList
+        || (tabList instanceof KeyedVelocityTabList && !(tabList instanceof VelocityTabListLegacy));
+  }
+
+  /**
+   * Determines whether the given packet only contains updates that can be coalesced.
+   *
+   * @param packet the packet to check
+   * @return whether the packet can be coalesced
+   */
+  public static boolean canCoalesce(UpsertPlayerInfoPacket packet) {
+    return !packet.getActions().isEmpty()
+        && COALESCABLE_ACTIONS.containsAll(packet.getActions());
+  }
+
+  /**
+   * Determines whether the given packet only contains updates that can be coalesced.
+   *
+   * @param packet the packet to check
+   * @return whether the packet can be coalesced
+   */
+  public static boolean canCoalesce(LegacyPlayerListItemPacket packet) {
+    return toAction(packet.getAction()) != null;
+  }
+
+  /**
+   * Records the updates in the given packet. The packet must already have been applied to the
+   * tab list using {@link VelocityTabList#processUpdate(UpsertPlayerInfoPacket)}.
+   *
+   * @param packet the packet to coalesce
+   */
+  public void offer(UpsertPlayerInfoPacket packet) {
+    for (UpsertPlayerInfoPacket.Entry entry : packet.getEntries()) {
+      record(entry.getProfileId(), packet.getActions());
+    }
+    scheduleFlush();
+  }
+
+  /**
+   * Records the updates in the given packet. The packet must already have been applied to the
+   * tab list using {@link KeyedVelocityTabList#processLegacy(LegacyPlayerListItemPacket)}.
+   *
+   * @param packet the packet to coalesce
+   */
+  public void offer(LegacyPlayerListItemPacket packet) {
+    UpsertPlayerInfoPacket.Action action = toAction(packet.getAction());
+    if (action == null) {
+      throw new IllegalArgumentException("Can't coalesce player list action "
+          + packet.getAction());
+    }
+    for (LegacyPlayerListItemPacket.Item item : packet.getItems()) {
+      if (item.getUuid() != null) {
+        record(item.getUuid(), EnumSet.of(action));
+      }
+    }
+    scheduleFlush();
+  }
+
+  /**
+   * Sends all pending updates to the player.
+   */
+  public void flush() {
+    flushTask = null;
+    if (pending.isEmpty()) {
+      return;
+    }
+    Map<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> updates = new LinkedHashMap<>(pending);
+    pending.clear();
+    send(updates);
+  }
+
+  /**
+   * Sends the pending updates for the given players, before another packet about them is
+   * forwarded.
+   *
+   * @param players the players the next packet is about
+   */
+  public void flush(Iterable<UUID> players) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    Map<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> updates = null;
+    for (UUID player : players) {
+      EnumSet<UpsertPlayerInfoPacket.Action> actions = player == null ? null
+          : pending.remove(player);
+      if (actions != null) {
+        if (updates == null) {
+          updates = new LinkedHashMap<>();
+        }
+        updates.put(player, actions);
+      }
+    }
+    if (updates != null) {
+      send(updates);
+    }
+  }
+
+  /**
+   * Discards all pending updates and cancels the scheduled flush, if any.
+   */
+  public void close() {
+    if (flushTask != null) {
+      flushTask.cancel(false);
+      flushTask = null;
+    }
+    pending.clear();
+  }
+
+  private void record(UUID player, EnumSet<UpsertPlayerInfoPacket.Action> actions) {
+    pending.computeIfAbsent(player,
+        ignored -> EnumSet.noneOf(UpsertPlayerInfoPacket.Action.class)).addAll(actions);
+  }
+
+  private void scheduleFlush() {
+    if (flushTask == null && !pending.isEmpty()) {
+      flushTask = eventLoop.schedule(() -> flush(), windowMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void send(Map<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> updates) {
+    boolean written = tabList instanceof VelocityTabList modern
+        ? sendUpserts(modern, updates)
+        : sendLegacy((KeyedVelocityTabList) tabList, updates);
+    if (written) {
+      playerConnection.flush();
+    }
+  }
+
+  private boolean sendUpserts(VelocityTabList tabList,
+      Map<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> updates) {
+    // Entries that changed in the same way end up in the same packet.
+    Map<EnumSet<UpsertPlayerInfoPacket.Action>, List<UpsertPlayerInfoPacket.Entry>> packets =
+        new HashMap<>();
+    for (Map.Entry<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> update : updates.entrySet()) {
+      VelocityTabListEntry current = tabList.getEntryInternal(update.getKey());
+      if (current == null) {
+        // The entry was removed in the meantime, nothing to update.
+        continue;
+      }
+      packets.computeIfAbsent(update.getValue(), ignored -> new ArrayList<>())
+          .add(createEntry(current, update.getValue()));
+    }
+
+    for (Map.Entry<EnumSet<UpsertPlayerInfoPacket.Action>, List<UpsertPlayerInfoPacket.Entry>>
+        packet : packets.entrySet()) {
+      playerConnection.delayedWrite(new UpsertPlayerInfoPacket(packet.getKey(),
+          packet.getValue()));
+    }
+    return !packets.isEmpty();
+  }
+
+  private boolean sendLegacy(KeyedVelocityTabList tabList,
+      Map<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> updates) {
+    // Older clients only take one kind of update per packet, but any number of players.
+    Map<UpsertPlayerInfoPacket.Action, List<LegacyPlayerListItemPacket.Item>> packets =
+        new LinkedHashMap<>();
+    for (Map.Entry<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> update : updates.entrySet()) {
+      KeyedVelocityTabListEntry current = tabList.getEntryInternal(update.getKey());
+      if (current == null) {
+        continue;
+      }
+      for (UpsertPlayerInfoPacket.Action action : update.getValue()) {
+        LegacyPlayerListItemPacket.Item item = new LegacyPlayerListItemPacket.Item(
+            update.getKey());
+        switch (action) {
+          case UPDATE_LATENCY -> item.setLatency(current.getLatency());
+          case UPDATE_GAME_MODE -> item.setGameMode(current.getGameMode());
+          default -> item.setDisplayName(current.getDisplayNameComponent().orElse(null));
+        }
+        packets.computeIfAbsent(action, ignored -> new ArrayList<>()).add(item);
+      }
+    }
+
+    for (Map.Entry<UpsertPlayerInfoPacket.Action, List<LegacyPlayerListItemPacket.Item>> packet
+        : packets.entrySet()) {
+      playerConnection.delayedWrite(new LegacyPlayerListItemPacket(
+          toLegacyAction(packet.getKey()), packet.getValue()));
+    }
+    return !packets.isEmpty();
+  }
+
+  private UpsertPlayerInfoPacket.Entry createEntry(VelocityTabListEntry current,
+      EnumSet<UpsertPlayerInfoPacket.Action> actions) {
+    UpsertPlayerInfoPacket.Entry entry = new UpsertPlayerInfoPacket.Entry(
+        current.getProfile().getId());
+    if (actions.contains(UpsertPlayerInfoPacket.Action.UPDATE_LATENCY)) {
+      entry.setLatency(current.getLatency());
+    }
+    if (actions.contains(UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE)) {
+      entry.setGameMode(current.getGameMode());
+    }
+    if (actions.contains(UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME)) {
+      Component displayName = current.getDisplayNameComponent().orElse(null);
+      entry.setDisplayName(displayName == null ? null
+          : new ComponentHolder(playerConnection.getProtocolVersion(), displayName));
+    }
+    return entry;
+  }
+
+  private static UpsertPlayerInfoPacket.@Nullable Action toAction(int legacyAction) {
+    return switch (legacyAction) {
+      case LegacyPlayerListItemPacket.UPDATE_LATENCY ->
+          UpsertPlayerInfoPacket.Action.UPDATE_LATENCY;
+      case LegacyPlayerListItemPacket.UPDATE_GAMEMODE ->
+          UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE;
+      case LegacyPlayerListItemPacket.UPDATE_DISPLAY_NAME ->
+          UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME;
+      default -> null;
+    };
+  }
+
+  private static int toLegacyAction(UpsertPlayerInfoPacket.Action action) {
+    return switch (action) {
+      case UPDATE_LATENCY -> LegacyPlayerListItemPacket.UPDATE_LATENCY;
+      case UPDATE_GAME_MODE -> LegacyPlayerListItemPacket.UPDATE_GAMEMODE;
+      case UPDATE_DISPLAY_NAME -> LegacyPlayerListItemPacket.UPDATE_DISPLAY_NAME;
+      default -> throw new IllegalArgumentException("Not a legacy update: " + action);
+    };
+  }
+}
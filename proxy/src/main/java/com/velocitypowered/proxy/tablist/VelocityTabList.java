@@ -31,6 +31,7 @@ import com.velocitypowered.proxy.protocol.packet.RemovePlayerInfoPacket;
 import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import com.velocitypowered.proxy.protocol.packet.chat.RemoteChatSession;
+import com.velocitypowered.proxy.util.GameProfileInterner;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -88,7 +89,7 @@ public class VelocityTabList implements InternalTabList {
     if (entry1 instanceof VelocityTabListEntry) {
       entry = (VelocityTabListEntry) entry1;
     } else {
-      entry = new VelocityTabListEntry(this, entry1.getProfile(),
+      entry = new VelocityTabListEntry(this, GameProfileInterner.intern(entry1.getProfile()),
           entry1.getDisplayNameComponent().orElse(null),
           entry1.getLatency(), entry1.getGameMode(), entry1.getChatSession(), entry1.isListed(), entry1.getListOrder(), entry1.isShowHat());
     }
@@ -207,6 +208,11 @@ public class VelocityTabList implements InternalTabList {
     return Optional.ofNullable(this.entries.get(uuid));
   }
 
+  @Nullable
+  VelocityTabListEntry getEntryInternal(UUID uuid) {
+    return this.entries.get(uuid);
+  }
+
   @Override
   public Collection<TabListEntry> getEntries() {
     return List.copyOf(this.entries.values());
@@ -228,8 +234,8 @@ public class VelocityTabList implements InternalTabList {
   public TabListEntry buildEntry(GameProfile profile, @Nullable Component displayName, int latency,
       int gameMode,
       @Nullable ChatSession chatSession, boolean listed, int listOrder, boolean showHat) {
-    return new VelocityTabListEntry(this, profile, displayName, latency, gameMode, chatSession,
-        listed, listOrder, showHat);
+    return new VelocityTabListEntry(this, GameProfileInterner.intern(profile), displayName,
+        latency, gameMode, chatSession, listed, listOrder, showHat);
   }
 
   @Override
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.velocitypowered.api.util.GameProfile;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deduplicates {@link GameProfile} instances and their properties. The same player's profile
+ * (and especially its large Base64-encoded {@code textures} property) is otherwise held once per
+ * tab list that contains the player, which adds up quickly on large networks.
+ *
+ * <p>Both pools hold their values weakly, so entries disappear once no tab list, packet or
+ * player references them anymore.</p>
+ */
+public final class GameProfileInterner {
+
+  private static final Interner<GameProfile.Property> PROPERTIES = Interners.newWeakInterner();
+  private static final Cache<UUID, GameProfile> PROFILES = Caffeine.newBuilder()
+      .weakValues()
+      .build();
+
+  private GameProfileInterner() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Returns the canonical instance of the given property.
+   *
+   * @param property the property to intern
+   * @return the canonical property
+   */
+  public static GameProfile.Property intern(GameProfile.Property property) {
+    return PROPERTIES.intern(property);
+  }
+
+  /**
+   * Returns an immutable list containing the canonical instance of every given property.
+   *
+   * @param properties the properties to intern
+   * @return the interned properties
+   */
+  public static List<GameProfile.Property> internProperties(
+      List<GameProfile.Property> properties) {
+    if (properties.isEmpty()) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<GameProfile.Property> builder =
+        ImmutableList.builderWithExpectedSize(properties.size());
+    for (GameProfile.Property property : properties) {
+      builder.add(PROPERTIES.intern(property));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the canonical profile for the given profile. If a profile with the same UUID, name
+   * and properties is already known, that instance is returned instead.
+   *
+   * @param profile the profile to intern
+   * @return the canonical profile
+   */
+  public static GameProfile intern(GameProfile profile) {
+    GameProfile cached = PROFILES.getIfPresent(profile.getId());
+    if (cached == profile || (cached != null && isSame(cached, profile.getName(),
+        profile.getProperties()))) {
+      return cached;
+    }
+    GameProfile interned = profile.withProperties(internProperties(profile.getProperties()));
+    PROFILES.put(profile.getId(), interned);
+    return interned;
+  }
+
+  /**
+   * Returns the canonical profile for the given profile components, avoiding creating a new
+   * profile when an identical one is already known.
+   *
+   * @param id the UUID of the profile
+   * @param name the name of the profile
+   * @param properties the properties of the profile
+   * @return the canonical profile
+   */
+  public static GameProfile intern(UUID id, String name, List<GameProfile.Property> properties) {
+    GameProfile cached = PROFILES.getIfPresent(id);
+    if (cached != null && isSame(cached, name, properties)) {
+      return cached;
+    }
+    GameProfile interned = new GameProfile(id, name, internProperties(properties));
+    PROFILES.put(id, interned);
+    return interned;
+  }
+
+  private static boolean isSame(GameProfile profile, String name,
+      List<GameProfile.Property> properties) {
+    return profile.getName().equals(name) && profile.getProperties().equals(properties);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations with power-of-two microsecond buckets. Percentiles are only
+ * precise to within a factor of two, which is plenty to tell a slow handler from a fast one.
+ */
+public final class LatencyHistogram {
+
+  // Bucket i holds durations below 2^i microseconds, the last one holds everything longer.
+  private static final int BUCKETS = 32;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos the duration in nanoseconds
+   */
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    buckets.incrementAndGet(bucket);
+    totalNanos.addAndGet(nanos);
+    long max;
+    while (nanos > (max = maxNanos.get())) {
+      if (maxNanos.compareAndSet(max, nanos)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Takes a snapshot of the histogram.
+   *
+   * @return the snapshot
+   */
+  public Snapshot snapshot() {
+    long[] counts = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      count += counts[i];
+    }
+    return new Snapshot(counts, count, totalNanos.get(), maxNanos.get());
+  }
+
+  /**
+   * A point-in-time view of a {@link LatencyHistogram}.
+   */
+  public static final class Snapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+      this.counts = counts;
+      this.count = count;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+    }
+
+    public long count() {
+      return count;
+    }
+
+    public long maxNanos() {
+      return maxNanos;
+    }
+
+    /**
+     * Returns the mean duration.
+     *
+     * @return the mean duration in nanoseconds, or zero if nothing was recorded
+     */
+    public long meanNanos() {
+      return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the upper bound of the bucket holding the percentile, in nanoseconds
+     */
+    public long percentileNanos(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length - 1; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(maxNanos, TimeUnit.MICROSECONDS.toNanos(1L << i));
+        }
+      }
+      return maxNanos;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Provides access to virtual threads when running on Java 21 or newer. Velocity is compiled
+ * against Java 17, so the relevant APIs are looked up reflectively.
+ */
+public final class VirtualThreads {
+
+  private static final Logger logger = LogManager.getLogger(VirtualThreads.class);
+  private static final String TRACE_PINNED_THREADS_PROPERTY = "jdk.tracePinnedThreads";
+
+  private static final @Nullable MethodHandle OF_VIRTUAL;
+  private static final @Nullable MethodHandle NAME;
+  private static final @Nullable MethodHandle FACTORY;
+  private static final @Nullable MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+  static {
+    MethodHandle ofVirtual = null;
+    MethodHandle name = null;
+    MethodHandle factory = null;
+    MethodHandle newThreadPerTaskExecutor = null;
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+      ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(
+          ofVirtualClass));
+      name = lookup.findVirtual(ofVirtualClass, "name", MethodType.methodType(ofVirtualClass,
+          String.class, long.class));
+      factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(
+          ThreadFactory.class));
+      newThreadPerTaskExecutor = lookup.findStatic(Executors.class,
+          "newThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class,
+              ThreadFactory.class));
+
+      // On Java 19 and 20 virtual threads are a preview feature and this throws unless
+      // --enable-preview was passed to the JVM.
+      ofVirtual.invoke();
+    } catch (Throwable e) {
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    FACTORY = factory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+  }
+
+  private VirtualThreads() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Determines whether virtual threads are available in the running JVM.
+   *
+   * @return whether virtual threads are available
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Asks the JVM to print a stack trace whenever a virtual thread blocks while pinned to its
+   * carrier thread, for example while holding a monitor. This only has an effect if it is called
+   * before the first virtual thread is started, and if the user did not configure it already.
+   */
+  public static void enablePinningDiagnostics() {
+    if (System.getProperty(TRACE_PINNED_THREADS_PROPERTY) == null) {
+      System.setProperty(TRACE_PINNED_THREADS_PROPERTY, "short");
+    }
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task.
+   *
+   * @param namePrefix the prefix of the names of the threads, followed by a counter
+   * @return the new executor
+   * @throws UnsupportedOperationException if virtual threads are not supported
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+    if (!isSupported()) {
+      throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+    }
+    try {
+      Object builder = NAME.invoke(OF_VIRTUAL.invoke(), namePrefix, 0L);
+      ThreadFactory factory = (ThreadFactory) FACTORY.invoke(builder);
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(factory);
+    } catch (Throwable e) {
+      logger.error("Unable to create a virtual thread executor", e);
+      throw new UnsupportedOperationException("Unable to create a virtual thread executor", e);
+    }
+  }
+}
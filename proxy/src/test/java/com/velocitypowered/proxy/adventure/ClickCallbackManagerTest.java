@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.event.ClickCallback;
+import org.junit.jupiter.api.Test;
+
+class ClickCallbackManagerTest {
+
+  private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+  private final ClickCallbackManager manager = new ClickCallbackManager(clock::get);
+  private final AtomicInteger runs = new AtomicInteger();
+
+  private String register(int uses, Duration lifetime) {
+    return manager.register(audience -> runs.incrementAndGet(),
+        ClickCallback.Options.builder().uses(uses).lifetime(lifetime).build());
+  }
+
+  private void advance(Duration duration) {
+    clock.addAndGet(duration.toNanos());
+  }
+
+  @Test
+  void runsUntilUsedUp() {
+    String id = register(2, Duration.ofMinutes(1));
+    assertTrue(manager.runCallback(Audience.empty(), id));
+    assertTrue(manager.runCallback(Audience.empty(), id));
+    assertFalse(manager.runCallback(Audience.empty(), id));
+    assertEquals(2, runs.get());
+    assertEquals(0, manager.getStatistics().callbacks());
+  }
+
+  @Test
+  void rejectsForgedIds() {
+    String id = register(ClickCallback.UNLIMITED_USES, Duration.ofMinutes(1));
+    String sequence = id.substring(0, id.indexOf('.'));
+    assertFalse(manager.runCallback(Audience.empty(), sequence + ".0"));
+    assertFalse(manager.runCallback(Audience.empty(), sequence));
+    assertFalse(manager.runCallback(Audience.empty(), "not-an-id"));
+    assertTrue(manager.runCallback(Audience.empty(), id));
+  }
+
+  @Test
+  void expiresCallbacks() {
+    String shortLived = register(ClickCallback.UNLIMITED_USES, Duration.ofSeconds(5));
+    String longLived = register(ClickCallback.UNLIMITED_USES, Duration.ofHours(3));
+    assertEquals(2, manager.getStatistics().callbacks());
+
+    advance(Duration.ofSeconds(6));
+    assertFalse(manager.runCallback(Audience.empty(), shortLived));
+    assertEquals(1, manager.getStatistics().callbacks());
+
+    // Several turns of the wheel pass before the long-lived callback expires.
+    advance(Duration.ofHours(2));
+    assertTrue(manager.runCallback(Audience.empty(), longLived));
+    advance(Duration.ofHours(1));
+    ClickCallbackManager.Statistics statistics = manager.getStatistics();
+    assertEquals(0, statistics.callbacks());
+    assertEquals(2, statistics.expired());
+    assertFalse(manager.runCallback(Audience.empty(), longLived));
+  }
+
+  @Test
+  void discardsOldestCallbacksOverLimit() {
+    manager.setMaxCallbacksPerPlugin(2);
+    String first = register(1, Duration.ofMinutes(1));
+    String second = register(1, Duration.ofMinutes(1));
+    String third = register(1, Duration.ofMinutes(1));
+
+    assertFalse(manager.runCallback(Audience.empty(), first));
+    assertTrue(manager.runCallback(Audience.empty(), second));
+    assertTrue(manager.runCallback(Audience.empty(), third));
+    ClickCallbackManager.Statistics statistics = manager.getStatistics();
+    assertEquals(1, statistics.evicted());
+    assertEquals(3, statistics.registered());
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.connection.player.bossbar.BossBarManager;
+import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
+import io.netty.channel.EventLoop;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VelocityBossBarImplementationTest {
+
+  private final Map<EventLoop, Queue<Runnable>> tasks = new HashMap<>();
+  private final Map<ConnectedPlayer, List<BossBarPacket>> written = new HashMap<>();
+  private BossBar bar;
+  private VelocityBossBarImplementation implementation;
+
+  @BeforeEach
+  void setUp() {
+    bar = BossBar.bossBar(Component.text("Boss"), 0.25f, BossBar.Color.RED,
+        BossBar.Overlay.PROGRESS);
+    implementation = new VelocityBossBarImplementation(bar);
+  }
+
+  /**
+   * Creates an event loop that only runs its tasks when {@link #runTasks(EventLoop)} is called.
+   */
+  private EventLoop eventLoop() {
+    EventLoop loop = mock(EventLoop.class);
+    Queue<Runnable> queue = new ArrayDeque<>();
+    tasks.put(loop, queue);
+    doAnswer(invocation -> queue.add(invocation.getArgument(0)))
+        .when(loop).execute(any(Runnable.class));
+    return loop;
+  }
+
+  private ConnectedPlayer viewer(EventLoop loop) {
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    List<BossBarPacket> packets = new ArrayList<>();
+    written.put(player, packets);
+    when(player.getConnection()).thenReturn(connection);
+    when(player.getProtocolVersion()).thenReturn(ProtocolVersion.MAXIMUM_VERSION);
+    when(player.translateMessage(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(connection.eventLoop()).thenReturn(loop);
+    doAnswer(invocation -> {
+      packets.add(invocation.getArgument(0));
+      return null;
+    }).when(connection).write(any());
+    BossBarManager manager = new BossBarManager(player);
+    when(player.getBossBarManager()).thenReturn(manager);
+    return player;
+  }
+
+  private void runTasks(EventLoop loop) {
+    Queue<Runnable> queue = tasks.get(loop);
+    Runnable task;
+    while ((task = queue.poll()) != null) {
+      task.run();
+    }
+  }
+
+  private void runAllTasks() {
+    tasks.keySet().forEach(this::runTasks);
+  }
+
+  private List<Integer> actions(ConnectedPlayer viewer) {
+    return written.get(viewer).stream().map(BossBarPacket::getAction).toList();
+  }
+
+  private void changeProgress(float progress) {
+    float old = bar.progress();
+    bar.progress(progress);
+    implementation.bossBarProgressChanged(bar, old, progress);
+  }
+
+  @Test
+  void updatesAreHandedToEachEventLoopOnce() {
+    EventLoop first = eventLoop();
+    EventLoop second = eventLoop();
+    List<ConnectedPlayer> viewers = List.of(viewer(first), viewer(first), viewer(first),
+        viewer(second), viewer(second));
+    viewers.forEach(implementation::viewerAdd);
+    runAllTasks();
+
+    changeProgress(0.5f);
+    assertEquals(1, tasks.get(first).size());
+    assertEquals(1, tasks.get(second).size());
+    runAllTasks();
+
+    for (ConnectedPlayer viewer : viewers) {
+      assertEquals(List.of(BossBarPacket.ADD, BossBarPacket.UPDATE_PERCENT), actions(viewer));
+      assertEquals(0.5f, written.get(viewer).get(1).getPercent());
+    }
+  }
+
+  @Test
+  void updateBeforeAddIsNotSent() {
+    EventLoop loop = eventLoop();
+    ConnectedPlayer existing = viewer(loop);
+    implementation.viewerAdd(existing);
+    runTasks(loop);
+
+    // The update task is queued before the add task of the new viewer, but sees it when it runs.
+    changeProgress(0.5f);
+    ConnectedPlayer added = viewer(loop);
+    implementation.viewerAdd(added);
+    runTasks(loop);
+
+    assertEquals(List.of(BossBarPacket.ADD, BossBarPacket.UPDATE_PERCENT), actions(existing));
+    // The new viewer only gets the add packet, which already has the new progress.
+    assertEquals(List.of(BossBarPacket.ADD), actions(added));
+    assertEquals(0.5f, written.get(added).get(0).getPercent());
+  }
+
+  @Test
+  void removalWithPendingUpdateSendsNothingAfterRemove() {
+    EventLoop loop = eventLoop();
+    ConnectedPlayer viewer = viewer(loop);
+    implementation.viewerAdd(viewer);
+    runTasks(loop);
+
+    changeProgress(0.5f);
+    implementation.viewerRemove(viewer);
+    changeProgress(0.75f);
+    runTasks(loop);
+
+    assertEquals(List.of(BossBarPacket.ADD, BossBarPacket.REMOVE), actions(viewer));
+  }
+}
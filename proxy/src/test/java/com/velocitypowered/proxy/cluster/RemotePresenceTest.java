@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class RemotePresenceTest {
+
+  private static final UUID ALICE = UUID.randomUUID();
+  private static final UUID BOB = UUID.randomUUID();
+
+  private static VelocityClusterPlayer player(UUID uuid, String name, String server,
+      String proxy) {
+    return new VelocityClusterPlayer(uuid, name, server, proxy);
+  }
+
+  @Test
+  void batchesSurviveEncoding() {
+    PresenceBatch batch = new PresenceBatch("a", 42, 7, false,
+        List.of(player(ALICE, "Alice", "lobby", "a"), player(BOB, "Bob", null, "a")),
+        List.of(UUID.randomUUID()));
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      batch.encode(buf);
+      assertEquals(batch, ClusterMessage.decode(buf));
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  void requestsSurviveEncoding() {
+    List<ClusterMessage> messages = List.of(
+        new ClusterMessage.PlayerQuery("a", "b", 3, ALICE, "Alice"),
+        new ClusterMessage.PlayerQueryReply("b", "a", 3, true),
+        new ClusterMessage.PlayerKick("a", "b", BOB));
+    for (ClusterMessage message : messages) {
+      ByteBuf buf = Unpooled.buffer();
+      try {
+        message.encode(buf);
+        assertEquals(message, ClusterMessage.decode(buf));
+      } finally {
+        buf.release();
+      }
+    }
+  }
+
+  @Test
+  void appliesDeltasAndFullBatches() {
+    RemotePresence presence = new RemotePresence();
+    presence.apply(new PresenceBatch("a", 1, 1, true,
+        List.of(player(ALICE, "Alice", "lobby", "a"), player(BOB, "Bob", "lobby", "a")),
+        List.of()), 0);
+    assertEquals(2, presence.size());
+    assertEquals("lobby", presence.get("alice").serverName());
+
+    int version = presence.version();
+    presence.apply(new PresenceBatch("a", 1, 2, false,
+        List.of(player(ALICE, "Alice", "survival", "a")), List.of(BOB)), 0);
+    assertEquals(1, presence.size());
+    assertEquals("survival", presence.get(ALICE).serverName());
+    assertNull(presence.get("bob"));
+    assertNotEquals(version, presence.version());
+
+    // The same batch received over a second connection is ignored.
+    presence.apply(new PresenceBatch("a", 1, 1, true,
+        List.of(player(ALICE, "Alice", "lobby", "a")), List.of()), 0);
+    assertEquals("survival", presence.get(ALICE).serverName());
+
+    // A heartbeat changes nothing.
+    version = presence.version();
+    presence.apply(new PresenceBatch("a", 1, 3, false, List.of(), List.of()), 0);
+    assertEquals(version, presence.version());
+  }
+
+  @Test
+  void playerMovingBetweenProxies() {
+    RemotePresence presence = new RemotePresence();
+    presence.apply(new PresenceBatch("a", 1, 1, true,
+        List.of(player(ALICE, "Alice", "lobby", "a")), List.of()), 0);
+    // Proxy b reports the join before proxy a reports the leave.
+    presence.apply(new PresenceBatch("b", 2, 1, false,
+        List.of(player(ALICE, "Alice", "lobby", "b")), List.of()), 0);
+    presence.apply(new PresenceBatch("a", 1, 2, false, List.of(), List.of(ALICE)), 0);
+
+    assertEquals(1, presence.size());
+    assertEquals("b", presence.get(ALICE).proxyId());
+  }
+
+  @Test
+  void restartAndTimeoutForgetPlayers() {
+    RemotePresence presence = new RemotePresence();
+    presence.apply(new PresenceBatch("a", 1, 5, true,
+        List.of(player(ALICE, "Alice", "lobby", "a")), List.of()), 0);
+    presence.apply(new PresenceBatch("a", 2, 1, false,
+        List.of(player(BOB, "Bob", "lobby", "a")), List.of()), 0);
+    assertNull(presence.get(ALICE));
+    assertEquals(1, presence.size());
+
+    presence.apply(new PresenceBatch("b", 3, 1, true,
+        List.of(player(ALICE, "Alice", "lobby", "b")), List.of()), 100);
+    assertEquals(List.of("a"), presence.expire(50));
+    assertEquals(1, presence.size());
+    assertEquals("b", presence.get(ALICE).proxyId());
+  }
+
+  @Test
+  void forgetDropsPlayersOfProxy() {
+    RemotePresence presence = new RemotePresence();
+    presence.apply(new PresenceBatch("a", 1, 1, true,
+        List.of(player(ALICE, "Alice", "lobby", "a")), List.of()), 0);
+    presence.apply(new PresenceBatch("b", 2, 1, true,
+        List.of(player(BOB, "Bob", "lobby", "b")), List.of()), 0);
+
+    int version = presence.version();
+    assertTrue(presence.forget("a"));
+    assertNull(presence.get(ALICE));
+    assertNull(presence.get("alice"));
+    assertEquals(1, presence.size());
+    assertNotEquals(version, presence.version());
+    assertFalse(presence.forget("a"));
+
+    // A full batch after reconnecting brings the proxy back.
+    presence.apply(new PresenceBatch("a", 1, 2, true,
+        List.of(player(ALICE, "Alice", "lobby", "a")), List.of()), 0);
+    assertEquals("a", presence.get(ALICE).proxyId());
+  }
+}
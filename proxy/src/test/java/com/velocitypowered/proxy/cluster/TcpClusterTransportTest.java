@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TcpClusterTransportTest {
+
+  private static final InetSocketAddress ANY_PORT = new InetSocketAddress("127.0.0.1", 0);
+
+  private EventLoopGroup group;
+
+  @BeforeEach
+  void setUp() {
+    group = new MultiThreadIoEventLoopGroup(2, NioIoHandler.newFactory());
+  }
+
+  @AfterEach
+  void tearDown() {
+    group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  private TcpClusterTransport transport(List<InetSocketAddress> peers, String secret) {
+    return new TcpClusterTransport(
+        new ServerBootstrap().group(group).channel(NioServerSocketChannel.class),
+        new Bootstrap().group(group).channel(NioSocketChannel.class),
+        ANY_PORT, peers, secret.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void peersExchangeMessages() throws InterruptedException {
+    RecordingListener first = new RecordingListener();
+    RecordingListener second = new RecordingListener();
+    TcpClusterTransport listening = transport(List.of(), "secret");
+    listening.start(first);
+    TcpClusterTransport connecting = transport(
+        List.of((InetSocketAddress) listening.getLocalAddress()), "secret");
+    connecting.start(second);
+    try {
+      assertTrue(first.connected.await(5, TimeUnit.SECONDS));
+      assertTrue(second.connected.await(5, TimeUnit.SECONDS));
+
+      connecting.broadcast(Unpooled.copiedBuffer("hello", StandardCharsets.UTF_8));
+      assertEquals("hello", first.messages.poll(5, TimeUnit.SECONDS));
+      listening.broadcast(Unpooled.copiedBuffer("welcome", StandardCharsets.UTF_8));
+      assertEquals("welcome", second.messages.poll(5, TimeUnit.SECONDS));
+    } finally {
+      connecting.close();
+      listening.close();
+    }
+  }
+
+  @Test
+  void wrongSecretIsRejected() throws InterruptedException {
+    RecordingListener first = new RecordingListener();
+    RecordingListener second = new RecordingListener();
+    TcpClusterTransport listening = transport(List.of(), "secret");
+    listening.start(first);
+    TcpClusterTransport connecting = transport(
+        List.of((InetSocketAddress) listening.getLocalAddress()), "guess");
+    connecting.start(second);
+    try {
+      assertFalse(first.connected.await(1, TimeUnit.SECONDS));
+      assertEquals(1, second.connected.getCount());
+    } finally {
+      connecting.close();
+      listening.close();
+    }
+  }
+
+  @Test
+  void reflectedChallengeIsRejected() throws Exception {
+    RecordingListener listener = new RecordingListener();
+    TcpClusterTransport listening = transport(List.of(), "secret");
+    listening.start(listener);
+    InetSocketAddress address = (InetSocketAddress) listening.getLocalAddress();
+    try (Socket first = new Socket(address.getAddress(), address.getPort());
+         Socket second = new Socket(address.getAddress(), address.getPort())) {
+      first.setSoTimeout(5000);
+      second.setSoTimeout(5000);
+      DataInputStream firstIn = new DataInputStream(first.getInputStream());
+      DataInputStream secondIn = new DataInputStream(second.getInputStream());
+      byte[] challenge = readFrame(firstIn);
+      readFrame(secondIn);
+
+      // Ask the proxy to answer its own challenge on the second connection.
+      writeFrame(second, challenge);
+      assertEquals(-1, secondIn.read());
+      assertFalse(listener.connected.await(500, TimeUnit.MILLISECONDS));
+    } finally {
+      listening.close();
+    }
+  }
+
+  @Test
+  void oversizedHandshakeFrameIsRejected() throws Exception {
+    TcpClusterTransport listening = transport(List.of(), "secret");
+    listening.start(new RecordingListener());
+    InetSocketAddress address = (InetSocketAddress) listening.getLocalAddress();
+    try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+      socket.setSoTimeout(5000);
+      DataInputStream in = new DataInputStream(socket.getInputStream());
+      readFrame(in);
+      new DataOutputStream(socket.getOutputStream()).writeInt(1024 * 1024);
+      assertEquals(-1, in.read());
+    } finally {
+      listening.close();
+    }
+  }
+
+  private static byte[] readFrame(DataInputStream in) throws IOException {
+    byte[] frame = new byte[in.readInt()];
+    in.readFully(frame);
+    return frame;
+  }
+
+  private static void writeFrame(Socket socket, byte[] frame) throws IOException {
+    DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+    out.writeInt(frame.length);
+    out.write(frame);
+    out.flush();
+  }
+
+  private static final class RecordingListener implements ClusterTransport.Listener {
+
+    private final CountDownLatch connected = new CountDownLatch(1);
+    private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+    @Override
+    public void peerConnected() {
+      connected.countDown();
+    }
+
+    @Override
+    public void messageReceived(Object connection, ByteBuf message) {
+      messages.add(message.toString(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void peerDisconnected(Object connection) {
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.velocitypowered.proxy.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.proxy.VelocityServer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VelocityProxyClusterTest {
+
+  private static final UUID ALICE = UUID.randomUUID();
+  private static final UUID BOB = UUID.randomUUID();
+
+  private VelocityServer server;
+  private VelocityProxyCluster cluster;
+  private RecordingTransport transport;
+
+  @BeforeEach
+  void setUp() {
+    server = mock(VelocityServer.class);
+    cluster = new VelocityProxyCluster(server);
+    transport = new RecordingTransport();
+    cluster.start(transport, 60_000, 60_000);
+    transport.sent.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    cluster.shutdown();
+  }
+
+  private void receive(Object connection, ClusterMessage message) {
+    ByteBuf buf = Unpooled.buffer();
+    message.encode(buf);
+    cluster.messageReceived(connection, buf);
+  }
+
+  private void aliceOnProxyB(Object connection) {
+    receive(connection, new PresenceBatch("b", 1, 1, true,
+        List.of(new VelocityClusterPlayer(ALICE, "Alice", "lobby", "b")), List.of()));
+  }
+
+  @Test
+  void loginIsOnlyRefusedOnceTheOwnerConfirms() {
+    aliceOnProxyB("first");
+
+    // The presence was stale: proxy b no longer has the player.
+    CompletableFuture<Boolean> allowed = cluster.checkLogin(ALICE, "Alice", false);
+    ClusterMessage.PlayerQuery query = assertInstanceOf(ClusterMessage.PlayerQuery.class,
+        transport.sent.remove(0));
+    assertEquals("b", query.target());
+    assertFalse(allowed.isDone());
+    receive("first", new ClusterMessage.PlayerQueryReply("b", cluster.getProxyId(),
+        query.requestId(), false));
+    assertTrue(allowed.getNow(false));
+
+    allowed = cluster.checkLogin(ALICE, "Alice", false);
+    query = assertInstanceOf(ClusterMessage.PlayerQuery.class, transport.sent.remove(0));
+    receive("first", new ClusterMessage.PlayerQueryReply("b", cluster.getProxyId(),
+        query.requestId(), true));
+    assertFalse(allowed.getNow(true));
+  }
+
+  @Test
+  void existingPlayerIsKickedFromOwner() {
+    aliceOnProxyB("first");
+
+    assertTrue(cluster.checkLogin(ALICE, "Alice", true).getNow(false));
+    ClusterMessage.PlayerKick kick = assertInstanceOf(ClusterMessage.PlayerKick.class,
+        transport.sent.remove(0));
+    assertEquals("b", kick.target());
+    assertEquals(ALICE, kick.uniqueId());
+  }
+
+  @Test
+  void playersAreForgottenOnceEveryConnectionIsLost() {
+    aliceOnProxyB("first");
+    aliceOnProxyB("second");
+
+    cluster.peerDisconnected("first");
+    assertTrue(cluster.getPlayer(ALICE).isPresent());
+
+    cluster.peerDisconnected("second");
+    assertFalse(cluster.getPlayer(ALICE).isPresent());
+    assertTrue(cluster.checkLogin(ALICE, "Alice", false).getNow(false));
+    assertTrue(transport.sent.isEmpty());
+  }
+
+  @Test
+  void playerCountMatchesPlayerList() {
+    Player local = mock(Player.class);
+    when(local.getUniqueId()).thenReturn(ALICE);
+    when(server.getPlayerCount()).thenReturn(1);
+    when(server.getAllPlayers()).thenReturn(List.of(local));
+    when(server.getPlayer(ALICE)).thenReturn(Optional.of(local));
+
+    // Proxy b still lists the player, who already moved here.
+    receive("first", new PresenceBatch("b", 1, 1, true,
+        List.of(new VelocityClusterPlayer(ALICE, "Alice", "lobby", "b"),
+            new VelocityClusterPlayer(BOB, "Bob", "lobby", "b")), List.of()));
+    assertEquals(2, cluster.getPlayers().size());
+    assertEquals(2, cluster.getPlayerCount());
+  }
+
+  private static final class RecordingTransport implements ClusterTransport {
+
+    private final List<ClusterMessage> sent = new ArrayList<>();
+
+    @Override
+    public void start(Listener listener) {
+    }
+
+    @Override
+    public synchronized void broadcast(ByteBuf message) {
+      try {
+        sent.add(ClusterMessage.decode(message));
+      } finally {
+        message.release();
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
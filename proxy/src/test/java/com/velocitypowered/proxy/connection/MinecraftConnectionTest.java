@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.proxy.network.BackpressureStatistics;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+class MinecraftConnectionTest {
+
+  @Test
+  void backpressureDoesNotOverrideRequestedPause() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    MinecraftConnection connection = new MinecraftConnection("test", channel, null);
+    long pauses = BackpressureStatistics.get().getPauses();
+
+    connection.setAutoReading(false);
+    connection.setBackpressure(true);
+    connection.setBackpressure(false);
+    assertFalse(connection.isAutoReading());
+
+    connection.setBackpressure(true);
+    connection.setAutoReading(true);
+    assertFalse(connection.isAutoReading());
+
+    connection.setBackpressure(false);
+    assertTrue(connection.isAutoReading());
+    assertEquals(pauses + 2, BackpressureStatistics.get().getPauses());
+  }
+}
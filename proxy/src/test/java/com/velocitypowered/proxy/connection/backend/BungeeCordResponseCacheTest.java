@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BungeeCordResponseCacheTest {
+
+  @Test
+  void encodesOnlyWhenVersionChanges() {
+    BungeeCordResponseCache.VersionedResponse response =
+        new BungeeCordResponseCache.VersionedResponse();
+    AtomicInteger encodes = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      ByteBuf buf = response.get(1, () -> {
+        encodes.incrementAndGet();
+        return Unpooled.copiedBuffer("first", StandardCharsets.UTF_8);
+      });
+      assertEquals("first", buf.toString(StandardCharsets.UTF_8));
+      buf.release();
+    }
+    assertEquals(1, encodes.get());
+
+    ByteBuf buf = response.get(2, () -> {
+      encodes.incrementAndGet();
+      return Unpooled.copiedBuffer("second", StandardCharsets.UTF_8);
+    });
+    assertEquals("second", buf.toString(StandardCharsets.UTF_8));
+    assertEquals(2, encodes.get());
+  }
+
+  @Test
+  void duplicatesAreIndependent() {
+    BungeeCordResponseCache.VersionedResponse response =
+        new BungeeCordResponseCache.VersionedResponse();
+    ByteBuf first = response.get(0, () -> Unpooled.wrappedBuffer(new byte[] {1, 2, 3}));
+    first.skipBytes(3);
+    first.release();
+
+    ByteBuf second = response.get(0, () -> Unpooled.EMPTY_BUFFER);
+    assertEquals(3, second.readableBytes());
+    assertEquals(1, second.readByte());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BroadcastAudienceTest {
+
+  private EventLoop first;
+  private EventLoop second;
+
+  @BeforeEach
+  void setUp() {
+    first = new DefaultEventLoop();
+    second = new DefaultEventLoop();
+  }
+
+  @AfterEach
+  void tearDown() {
+    first.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    second.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void runsOneBatchPerEventLoop() throws InterruptedException {
+    List<Recipient> recipients = List.of(new Recipient("a", first), new Recipient("b", second),
+        new Recipient("c", first), new Recipient("d", second), new Recipient("e", first));
+    Map<EventLoop, List<Recipient>> batches = new ConcurrentHashMap<>();
+    AtomicBoolean wrongLoop = new AtomicBoolean();
+    CountDownLatch done = new CountDownLatch(2);
+
+    BroadcastAudience.dispatch(recipients, Recipient::loop, batch -> {
+      EventLoop loop = batch.get(0).loop();
+      if (!loop.inEventLoop()) {
+        wrongLoop.set(true);
+      }
+      batches.put(loop, batch);
+      done.countDown();
+    });
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertFalse(wrongLoop.get());
+    assertEquals(2, batches.size());
+    assertEquals(List.of(recipients.get(0), recipients.get(2), recipients.get(4)),
+        batches.get(first));
+    assertEquals(List.of(recipients.get(1), recipients.get(3)), batches.get(second));
+  }
+
+  @Test
+  void runsBatchOfCurrentEventLoopDirectly() throws Exception {
+    List<Recipient> recipients = List.of(new Recipient("a", first));
+    boolean ranDirectly = first.submit(() -> {
+      AtomicBoolean ran = new AtomicBoolean();
+      BroadcastAudience.dispatch(recipients, Recipient::loop, batch -> ran.set(true));
+      return ran.get();
+    }).get(5, TimeUnit.SECONDS);
+    assertTrue(ranDirectly);
+  }
+
+  private record Recipient(String name, EventLoop loop) {
+  }
+}
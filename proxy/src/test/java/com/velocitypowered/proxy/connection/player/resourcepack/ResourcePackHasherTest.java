@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.player.resourcepack;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.netty.buffer.ByteBufUtil;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourcePackHasherTest {
+
+  private final ResourcePackHasher hasher = new ResourcePackHasher();
+
+  @AfterEach
+  void shutdown() {
+    hasher.shutdown();
+  }
+
+  @Test
+  void hashesFilesUntilTheyChange(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("pack.zip");
+    Files.writeString(file, "abc");
+
+    byte[] hash = hasher.hash(file).get();
+    assertArrayEquals(ByteBufUtil.decodeHexDump("a9993e364706816aba3e25717850c26c9cd0d89d"),
+        hash);
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    assertSame(hash, hasher.getCachedHash(file, attributes.size(),
+        attributes.lastModifiedTime().toMillis()));
+    assertSame(hash, hasher.hash(file.toUri().toString()).get());
+
+    Files.writeString(file, "abcd");
+    Files.setLastModifiedTime(file,
+        FileTime.fromMillis(attributes.lastModifiedTime().toMillis() + 1000));
+    assertNull(hasher.getCachedHash(file, attributes.size(),
+        attributes.lastModifiedTime().toMillis()));
+    assertArrayEquals(ByteBufUtil.decodeHexDump("81fe8bfe87576c3ecb22426f8e57847382917acf"),
+        hasher.hash(file).get());
+  }
+
+  @Test
+  void rejectsUnsupportedUrls() {
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> hasher.hash("ftp://example.com/pack.zip").get());
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.player.resourcepack.host;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.velocitypowered.proxy.connection.player.resourcepack.ResourcePackHasher;
+import com.velocitypowered.proxy.connection.player.resourcepack.host.ResourcePackHttpHandler.ByteRange;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.handler.timeout.IdleStateEvent;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourcePackHttpHandlerTest {
+
+  @Test
+  void parsesRanges() {
+    assertEquals(new ByteRange(0, 99), ByteRange.parse("bytes=0-", 100));
+    assertEquals(new ByteRange(10, 19), ByteRange.parse("bytes=10-19", 100));
+    assertEquals(new ByteRange(10, 99), ByteRange.parse("bytes=10-500", 100));
+    assertEquals(new ByteRange(90, 99), ByteRange.parse("bytes=-10", 100));
+    assertEquals(new ByteRange(0, 99), ByteRange.parse("bytes=-500", 100));
+    assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=100-", 100));
+    assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 100));
+    assertNull(ByteRange.parse("bytes=0-1,5-6", 100));
+    assertNull(ByteRange.parse("bytes=20-10", 100));
+    assertNull(ByteRange.parse("items=0-1", 100));
+    assertNull(ByteRange.parse("bytes=a-b", 100));
+  }
+
+  @Test
+  void servesRequestedRange(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("pack.zip");
+    Files.writeString(file, "0123456789");
+    UUID id = UUID.randomUUID();
+    VelocityResourcePackHost host = new VelocityResourcePackHost(null, new ResourcePackHasher());
+    host.register(id, file);
+    EmbeddedChannel channel = new EmbeddedChannel(new ChunkedWriteHandler(),
+        new ResourcePackHttpHandler(host, false, Runnable::run));
+
+    DefaultFullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
+        HttpMethod.GET, "/" + id + ".zip");
+    request.headers().set(HttpHeaderNames.RANGE, "bytes=2-5");
+    channel.writeInbound(request);
+    channel.runPendingTasks();
+
+    HttpResponse response = channel.readOutbound();
+    assertEquals(HttpResponseStatus.PARTIAL_CONTENT, response.status());
+    assertEquals("bytes 2-5/10", response.headers().get(HttpHeaderNames.CONTENT_RANGE));
+    assertEquals("4", response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+    ByteBuf content = channel.readOutbound();
+    assertEquals("2345", content.toString(StandardCharsets.UTF_8));
+    content.release();
+    assertInstanceOf(LastHttpContent.class, channel.readOutbound());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void unknownPackIsNotFound() {
+    VelocityResourcePackHost host = new VelocityResourcePackHost(null, new ResourcePackHasher());
+    EmbeddedChannel channel = new EmbeddedChannel(new ResourcePackHttpHandler(host, true,
+        Runnable::run));
+    channel.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+        "/" + UUID.randomUUID() + ".zip"));
+    channel.runPendingTasks();
+
+    HttpResponse response = channel.readOutbound();
+    assertEquals(HttpResponseStatus.NOT_FOUND, response.status());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void pipelinedResponsesStayInOrder(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("pack.zip");
+    Files.writeString(file, "0123456789");
+    UUID id = UUID.randomUUID();
+    VelocityResourcePackHost host = new VelocityResourcePackHost(null, new ResourcePackHasher());
+    host.register(id, file);
+    List<Runnable> opens = new ArrayList<>();
+    EmbeddedChannel channel = new EmbeddedChannel(new ResourcePackHttpHandler(host, false,
+        opens::add));
+
+    channel.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.HEAD,
+        "/" + id + ".zip"));
+    channel.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET,
+        "/" + UUID.randomUUID() + ".zip"));
+    assertEquals(1, opens.size());
+    opens.remove(0).run();
+    channel.runPendingTasks();
+    assertEquals(1, opens.size());
+    opens.remove(0).run();
+    channel.runPendingTasks();
+
+    HttpResponse first = channel.readOutbound();
+    assertEquals(HttpResponseStatus.OK, first.status());
+    assertInstanceOf(LastHttpContent.class, channel.readOutbound());
+    HttpResponse second = channel.readOutbound();
+    assertEquals(HttpResponseStatus.NOT_FOUND, second.status());
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  void idleConnectionIsClosed() {
+    VelocityResourcePackHost host = new VelocityResourcePackHost(null, new ResourcePackHasher());
+    EmbeddedChannel channel = new EmbeddedChannel(new ResourcePackHttpHandler(host, true,
+        Runnable::run));
+    channel.pipeline().fireUserEventTriggered(IdleStateEvent.ALL_IDLE_STATE_EVENT);
+    assertFalse(channel.isOpen());
+  }
+}
@@ -18,6 +18,8 @@
 package com.velocitypowered.proxy.event;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.reflect.TypeToken;
@@ -27,6 +29,8 @@ import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.proxy.testutil.FakePluginManager;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -74,6 +78,48 @@ public class EventTest {
     }
   }
 
+  @Test
+  void fireIfSubscribedSkipsEventWithoutSubscribers() throws Exception {
+    final AtomicInteger handled = new AtomicInteger();
+
+    var future = eventManager.fireIfSubscribed(TestEvent.class, () -> {
+      throw new AssertionError("event built without subscribers");
+    });
+    assertTrue(future.isDone());
+    assertNull(future.get());
+
+    eventManager.register(FakePluginManager.PLUGIN_A, TestEvent.class,
+        event -> handled.incrementAndGet());
+    try {
+      final TestEvent heard = new TestEvent();
+      assertSame(heard, eventManager.fireIfSubscribed(TestEvent.class, () -> heard).get());
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    }
+    assertEquals(1, handled.get());
+  }
+
+  @Test
+  void stuckContinuationTimesOut() throws Exception {
+    final AtomicInteger handled = new AtomicInteger();
+    eventManager.setHandlerTimeouts(0, Map.of("TestEvent", 100));
+    eventManager.register(FakePluginManager.PLUGIN_A, TestEvent.class, (short) 1,
+        (AwaitingEventExecutor<TestEvent>) event -> EventTask.withContinuation(continuation -> {
+          // Never resumed
+        }));
+    eventManager.register(FakePluginManager.PLUGIN_B, TestEvent.class, (short) 0,
+        event -> handled.incrementAndGet());
+
+    try {
+      eventManager.fire(new TestEvent()).get(5, TimeUnit.SECONDS);
+    } finally {
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+      eventManager.unregisterListeners(FakePluginManager.PLUGIN_B);
+      eventManager.setHandlerTimeouts(0, Map.of());
+    }
+    assertEquals(1, handled.get());
+  }
+
   @Test
   void listenerOrderPreserved() throws Exception {
     final AtomicLong listener1Invoked = new AtomicLong();
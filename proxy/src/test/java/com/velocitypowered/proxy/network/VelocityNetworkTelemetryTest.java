@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.NetworkTelemetry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class VelocityNetworkTelemetryTest {
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  @Test
+  void roundTripTimes() {
+    VelocityNetworkTelemetry telemetry = new VelocityNetworkTelemetry();
+    assertEquals(-1, telemetry.getLatestRoundTripTime());
+    assertEquals(-1, telemetry.getRoundTripTime(0.5));
+    assertEquals(-1, telemetry.getJitter());
+
+    for (int i = 1; i <= 100; i++) {
+      telemetry.recordRoundTripTime(millis(i));
+    }
+    // Only the most recent samples are kept: 37..100
+    assertEquals(VelocityNetworkTelemetry.RTT_SAMPLES, telemetry.getRoundTripTimeSamples());
+    assertEquals(100, telemetry.getLatestRoundTripTime());
+    assertEquals(37, telemetry.getRoundTripTime(0));
+    assertEquals(68, telemetry.getRoundTripTime(0.5));
+    assertEquals(100, telemetry.getRoundTripTime(1));
+
+    // Every sample differs from the previous one by 1 ms, so the jitter converges towards it.
+    long jitter = telemetry.jitterNanos();
+    assertTrue(jitter > millis(1) * 99 / 100 && jitter <= millis(1), "jitter is " + jitter);
+  }
+
+  @Test
+  void aggregatesConnections() {
+    VelocityNetworkTelemetry first = new VelocityNetworkTelemetry();
+    first.recordBytesSent(100);
+    first.recordPacketSent();
+    first.recordCompression(1000, 250);
+    first.recordRoundTripTime(millis(10));
+
+    VelocityNetworkTelemetry second = new VelocityNetworkTelemetry();
+    second.recordBytesReceived(50);
+    second.recordPacketReceived();
+    second.recordRoundTripTime(millis(30));
+
+    VelocityNetworkTelemetry.Totals closed = new VelocityNetworkTelemetry.Totals();
+    VelocityNetworkTelemetry old = new VelocityNetworkTelemetry();
+    old.recordBytesSent(1);
+    closed.add(old);
+
+    NetworkTelemetry aggregate = VelocityNetworkTelemetry.aggregate(closed,
+        List.of(first, second), List.of(first, second));
+    assertEquals(101, aggregate.getBytesSent());
+    assertEquals(50, aggregate.getBytesReceived());
+    assertEquals(1, aggregate.getPacketsSent());
+    assertEquals(1, aggregate.getPacketsReceived());
+    assertEquals(1000, aggregate.getUncompressedBytesSent());
+    assertEquals(250, aggregate.getCompressedBytesSent());
+    assertEquals(2, aggregate.getRoundTripTimeSamples());
+    assertEquals(10, aggregate.getRoundTripTime(0.5));
+    assertEquals(30, aggregate.getRoundTripTime(1));
+    assertEquals(30, aggregate.getLatestRoundTripTime());
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.natives.compression.JavaVelocityCompressor;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.junit.jupiter.api.Test;
+
+class MinecraftCompressorAndLengthEncoderTest {
+
+  private static final int INCOMPRESSIBLE_ID = 0x7E;
+
+  @Test
+  void incompressiblePacketsRoundTrip() throws DataFormatException {
+    EmbeddedChannel channel = new EmbeddedChannel(new MinecraftCompressorAndLengthEncoder(64,
+        JavaVelocityCompressor.FACTORY.create(-1)));
+    Random random = new Random(1);
+
+    for (int i = 0; i < 32; i++) {
+      // Larger than a single stored block to cover splitting.
+      byte[] payload = new byte[70000];
+      random.nextBytes(payload);
+      ByteBuf packet = Unpooled.buffer();
+      ProtocolUtils.writeVarInt(packet, INCOMPRESSIBLE_ID);
+      packet.writeBytes(payload);
+      byte[] expected = ByteBufUtil.getBytes(packet);
+
+      channel.writeOutbound(packet);
+      ByteBuf written = channel.readOutbound();
+      try {
+        assertArrayEquals(expected, inflate(written));
+      } finally {
+        written.release();
+      }
+    }
+    channel.finishAndReleaseAll();
+
+    long stored = PacketCompressionStatistics.get().getEntries().stream()
+        .filter(entry -> entry.packetId() == INCOMPRESSIBLE_ID)
+        .mapToLong(PacketCompressionStatistics.Entry::storedPackets)
+        .sum();
+    assertTrue(stored > 0);
+  }
+
+  private static byte[] inflate(ByteBuf frame) throws DataFormatException {
+    int packetLength = ProtocolUtils.readVarInt(frame);
+    assertEquals(frame.readableBytes(), packetLength);
+    int uncompressed = ProtocolUtils.readVarInt(frame);
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(ByteBufUtil.getBytes(frame));
+      byte[] result = new byte[uncompressed];
+      assertEquals(uncompressed, inflater.inflate(result));
+      assertTrue(inflater.finished());
+      return result;
+    } finally {
+      inflater.end();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.network.VelocityNetworkTelemetry;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.StatusPingPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+class NetworkTelemetryHandlerTest {
+
+  @Test
+  void countsFramedPacketsOnce() {
+    VelocityNetworkTelemetry telemetry = new VelocityNetworkTelemetry();
+    MinecraftEncoder encoder = new MinecraftEncoder(ProtocolUtils.Direction.CLIENTBOUND);
+    encoder.setState(StateRegistry.STATUS);
+    encoder.setProtocolVersion(ProtocolVersion.MAXIMUM_VERSION);
+    encoder.setTelemetry(telemetry);
+    EmbeddedChannel channel = new EmbeddedChannel(new NetworkTelemetryHandler(telemetry),
+        MinecraftVarintLengthEncoder.INSTANCE, encoder);
+
+    // An encoded packet (id and a long) and a packet forwarded as it is.
+    channel.writeOutbound(new StatusPingPacket());
+    channel.writeOutbound(Unpooled.wrappedBuffer(new byte[] {0x7E, 1, 2, 3, 4}));
+
+    int buffers = 0;
+    long bytes = 0;
+    ByteBuf written;
+    while ((written = channel.readOutbound()) != null) {
+      buffers++;
+      bytes += written.readableBytes();
+      written.release();
+    }
+    // The length prefix is written separately, but each packet is only counted once.
+    assertEquals(4, buffers);
+    assertEquals(2, telemetry.getPacketsSent());
+    assertEquals((1 + 1 + Long.BYTES) + (1 + 5), bytes);
+    assertEquals(bytes, telemetry.getBytesSent());
+  }
+}
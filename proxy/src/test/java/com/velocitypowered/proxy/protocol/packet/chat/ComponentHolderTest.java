@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.packet.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Test;
+
+class ComponentHolderTest {
+
+  private static final Component COMPONENT = Component.text("Hello ", NamedTextColor.GOLD)
+      .append(Component.text("world").decorate(TextDecoration.BOLD));
+
+  @Test
+  void cachedBinaryTagMatchesUncached() {
+    for (ProtocolVersion version : new ProtocolVersion[] {
+        ProtocolVersion.MINECRAFT_1_20_3, ProtocolVersion.MAXIMUM_VERSION}) {
+      ByteBuf expected = Unpooled.buffer();
+      ByteBuf first = Unpooled.buffer();
+      ByteBuf second = Unpooled.buffer();
+      try {
+        ProtocolUtils.writeBinaryTag(expected, version,
+            new ComponentHolder(version, COMPONENT).getBinaryTag());
+        new ComponentHolder(version, COMPONENT).write(first);
+        new ComponentHolder(version, COMPONENT).write(second);
+        assertTrue(ByteBufUtil.equals(expected, first));
+        assertTrue(ByteBufUtil.equals(expected, second));
+
+        ComponentHolder read = ComponentHolder.read(first, version);
+        assertEquals(COMPONENT, read.getComponent());
+      } finally {
+        expected.release();
+        first.release();
+        second.release();
+      }
+    }
+  }
+
+  @Test
+  void cachedJsonMatchesSerializer() {
+    ProtocolVersion version = ProtocolVersion.MINECRAFT_1_16;
+    String expected = ProtocolUtils.getJsonChatSerializer(version).serialize(COMPONENT);
+    assertEquals(expected, new ComponentHolder(version, COMPONENT).getJson());
+    assertEquals(expected, new ComponentHolder(version, COMPONENT).getJson());
+  }
+}
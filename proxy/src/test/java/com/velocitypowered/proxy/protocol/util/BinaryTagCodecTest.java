@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.IntBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+import org.junit.jupiter.api.Test;
+
+class BinaryTagCodecTest {
+
+  private static final CompoundBinaryTag SAMPLE = CompoundBinaryTag.builder()
+      .putByte("byte", (byte) -3)
+      .putShort("short", (short) 1234)
+      .putInt("int", 123456789)
+      .putLong("long", Long.MIN_VALUE)
+      .putFloat("float", 1.5f)
+      .putDouble("double", -2.25)
+      .putByteArray("bytes", new byte[] {1, 2, 3})
+      .putString("ascii", "minecraft:overworld")
+      .putString("unicode", "héllo ☃ 😀 \u0000 end")
+      .put("list", ListBinaryTag.listBinaryTag(BinaryTagTypes.INT,
+          List.of(IntBinaryTag.intBinaryTag(1), IntBinaryTag.intBinaryTag(2))))
+      .put("empty", ListBinaryTag.empty())
+      .put("nested", CompoundBinaryTag.builder()
+          .put("strings", ListBinaryTag.listBinaryTag(BinaryTagTypes.STRING,
+              List.of(StringBinaryTag.stringBinaryTag("a"))))
+          .build())
+      .putIntArray("ints", new int[] {-1, 0, 1})
+      .putLongArray("longs", new long[] {Long.MAX_VALUE})
+      .build();
+
+  @Test
+  void writesSameBytesAsAdventure() throws IOException {
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    BinaryTagTypes.COMPOUND.write(SAMPLE, new DataOutputStream(expected));
+
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      BinaryTagCodec.write(buf, SAMPLE);
+      assertArrayEquals(expected.toByteArray(), ByteBufUtil.getBytes(buf));
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  void roundTrips() {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      BinaryTagCodec.write(buf, SAMPLE);
+      int start = buf.readerIndex();
+      BinaryTagCodec.skip(buf, BinaryTagCodec.TAG_COMPOUND);
+      assertFalse(buf.isReadable());
+
+      buf.readerIndex(start);
+      BinaryTag read = BinaryTagCodec.read(buf, BinaryTagCodec.TAG_COMPOUND);
+      assertEquals(SAMPLE, read);
+      assertFalse(buf.isReadable());
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  void rejectsImpossibleLengths() {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      buf.writeInt(Integer.MAX_VALUE);
+      assertThrows(DecoderException.class,
+          () -> BinaryTagCodec.read(buf, BinaryTagCodec.TAG_LONG_ARRAY));
+    } finally {
+      buf.release();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+import org.junit.jupiter.api.Test;
+
+class LazyCompoundBinaryTagTest {
+
+  private static final CompoundBinaryTag REGISTRY = CompoundBinaryTag.builder()
+      .put("minecraft:dimension_type", CompoundBinaryTag.builder()
+          .putString("type", "minecraft:dimension_type")
+          .put("element", CompoundBinaryTag.builder()
+              .putString("name", "minecraft:overworld")
+              .putBoolean("natural", true)
+              .build())
+          .build())
+      .putInt("other", 42)
+      .build();
+
+  @Test
+  void lookupAndRewrite() {
+    ProtocolVersion version = ProtocolVersion.MINECRAFT_1_16_4;
+    ByteBuf original = Unpooled.buffer();
+    ByteBuf rewritten = Unpooled.buffer();
+    try {
+      ProtocolUtils.writeBinaryTag(original, version, REGISTRY);
+      original.writeInt(0xCAFE); // data following the tag must be left alone
+
+      LazyCompoundBinaryTag lazy = LazyCompoundBinaryTag.read(original, version);
+      assertEquals(0xCAFE, original.readInt());
+      assertFalse(original.isReadable());
+
+      assertEquals(StringBinaryTag.stringBinaryTag("minecraft:overworld"),
+          lazy.get("minecraft:dimension_type", "element", "name"));
+      assertNull(lazy.get("minecraft:dimension_type", "missing"));
+      assertNull(lazy.get("other", "nested"));
+      assertEquals(REGISTRY, lazy.tag());
+
+      lazy.write(rewritten, version);
+      original.readerIndex(0);
+      original.writerIndex(original.writerIndex() - Integer.BYTES);
+      assertTrue(ByteBufUtil.equals(original, rewritten));
+    } finally {
+      original.release();
+      rewritten.release();
+    }
+  }
+}
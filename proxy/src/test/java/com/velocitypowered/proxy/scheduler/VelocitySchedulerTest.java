@@ -18,12 +18,17 @@
 package com.velocitypowered.proxy.scheduler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.velocitypowered.api.plugin.PluginTimings;
 import com.velocitypowered.api.scheduler.ScheduledTask;
 import com.velocitypowered.api.scheduler.TaskStatus;
+import com.velocitypowered.proxy.plugin.VelocityPluginTimings;
 import com.velocitypowered.proxy.scheduler.VelocityScheduler.VelocityTask;
 import com.velocitypowered.proxy.testutil.FakePluginManager;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -44,6 +49,27 @@ class VelocitySchedulerTest {
     assertEquals(TaskStatus.FINISHED, task.status());
   }
 
+  @Test
+  void recordsTimingsWhileProfiling() throws Exception {
+    VelocityPluginTimings timings = new VelocityPluginTimings();
+    VelocityScheduler scheduler = new VelocityScheduler(new FakePluginManager(), timings);
+    ScheduledTask untimed = scheduler.buildTask(FakePluginManager.PLUGIN_A, () -> {
+    }).schedule();
+    ((VelocityTask) untimed).awaitCompletion();
+    assertTrue(timings.getEntries().isEmpty());
+
+    timings.startProfile();
+    ScheduledTask timed = scheduler.buildTask(FakePluginManager.PLUGIN_A, () -> {
+    }).schedule();
+    ((VelocityTask) timed).awaitCompletion();
+    timings.stopProfile();
+
+    List<PluginTimings.Entry> entries = List.copyOf(timings.getEntries());
+    assertEquals(1, entries.size());
+    assertEquals(PluginTimings.Type.SCHEDULED_TASK, entries.get(0).getType());
+    assertEquals(1, entries.get(0).getInvocations());
+  }
+
   @Test
   void cancelWorks() throws Exception {
     VelocityScheduler scheduler = new VelocityScheduler(new FakePluginManager());
@@ -96,10 +122,17 @@ class VelocitySchedulerTest {
   @Test
   void testConsumerCancel() throws Exception {
     VelocityScheduler scheduler = new VelocityScheduler(new FakePluginManager());
+    CountDownLatch checked = new CountDownLatch(1);
     CountDownLatch latch = new CountDownLatch(1);
 
+    // Without a delay the task starts right away, so hold it until the status was checked.
     ScheduledTask task = scheduler.buildTask(
         FakePluginManager.PLUGIN_B, actualTask -> {
+          try {
+            checked.await();
+          } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+          }
           actualTask.cancel();
           latch.countDown();
         })
@@ -107,6 +140,7 @@ class VelocitySchedulerTest {
         .schedule();
 
     assertEquals(TaskStatus.SCHEDULED, task.status());
+    checked.countDown();
 
     latch.await();
 
@@ -133,4 +167,22 @@ class VelocitySchedulerTest {
 
   }
 
+  @Test
+  void cancelManyTasks() throws Exception {
+    VelocityScheduler scheduler = new VelocityScheduler(new FakePluginManager());
+    List<ScheduledTask> tasks = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      tasks.add(scheduler.buildTask(FakePluginManager.PLUGIN_A, () -> { })
+          .delay(100, TimeUnit.SECONDS)
+          .schedule());
+    }
+    assertEquals(10_000, scheduler.tasksByPlugin(FakePluginManager.PLUGIN_A).size());
+
+    for (ScheduledTask task : tasks) {
+      task.cancel();
+      assertEquals(TaskStatus.CANCELLED, task.status());
+    }
+    assertTrue(scheduler.tasksByPlugin(FakePluginManager.PLUGIN_A).isEmpty());
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.tablist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.packet.LegacyPlayerListItemPacket;
+import com.velocitypowered.proxy.protocol.packet.RemovePlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PlayerInfoUpdateCoalescerTest {
+
+  private static final UUID ALICE = UUID.randomUUID();
+  private static final UUID BOB = UUID.randomUUID();
+
+  private final List<Object> written = new ArrayList<>();
+  private ConnectedPlayer player;
+  private MinecraftConnection connection;
+  private EventLoop eventLoop;
+
+  @BeforeEach
+  void setUp() {
+    connection = mock(MinecraftConnection.class);
+    when(connection.getProtocolVersion()).thenReturn(ProtocolVersion.MAXIMUM_VERSION);
+    doAnswer(invocation -> {
+      written.add(invocation.getArgument(0));
+      return null;
+    }).when(connection).delayedWrite(any());
+    doAnswer(invocation -> {
+      written.add(invocation.getArgument(0));
+      return null;
+    }).when(connection).write(any());
+    player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(connection);
+    eventLoop = mock(EventLoop.class);
+    doReturn(mock(ScheduledFuture.class)).when(eventLoop)
+        .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  private static UpsertPlayerInfoPacket.Entry added(UUID id, String name) {
+    UpsertPlayerInfoPacket.Entry entry = new UpsertPlayerInfoPacket.Entry(id);
+    entry.setProfile(new GameProfile(id, name, List.of()));
+    return entry;
+  }
+
+  private static UpsertPlayerInfoPacket latency(UUID id, int latency) {
+    UpsertPlayerInfoPacket.Entry entry = new UpsertPlayerInfoPacket.Entry(id);
+    entry.setLatency(latency);
+    return new UpsertPlayerInfoPacket(EnumSet.of(UpsertPlayerInfoPacket.Action.UPDATE_LATENCY),
+        List.of(entry));
+  }
+
+  private static UpsertPlayerInfoPacket gameMode(UUID id, int gameMode) {
+    UpsertPlayerInfoPacket.Entry entry = new UpsertPlayerInfoPacket.Entry(id);
+    entry.setGameMode(gameMode);
+    return new UpsertPlayerInfoPacket(EnumSet.of(UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE),
+        List.of(entry));
+  }
+
+  private VelocityTabList modernTabList() {
+    VelocityTabList tabList = new VelocityTabList(player);
+    tabList.processUpdate(new UpsertPlayerInfoPacket(
+        EnumSet.of(UpsertPlayerInfoPacket.Action.ADD_PLAYER),
+        List.of(added(ALICE, "Alice"), added(BOB, "Bob"))));
+    return tabList;
+  }
+
+  private void offer(VelocityTabList tabList, PlayerInfoUpdateCoalescer coalescer,
+      UpsertPlayerInfoPacket packet) {
+    tabList.processUpdate(packet);
+    coalescer.offer(packet);
+  }
+
+  @Test
+  void updatesForTheSamePlayerAreMerged() {
+    VelocityTabList tabList = modernTabList();
+    PlayerInfoUpdateCoalescer coalescer = new PlayerInfoUpdateCoalescer(tabList, connection,
+        eventLoop, 50);
+    offer(tabList, coalescer, latency(ALICE, 10));
+    offer(tabList, coalescer, latency(ALICE, 20));
+    offer(tabList, coalescer, gameMode(ALICE, 1));
+    offer(tabList, coalescer, latency(BOB, 30));
+    offer(tabList, coalescer, gameMode(BOB, 2));
+
+    // Only one flush is scheduled for the whole window.
+    verify(eventLoop).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    coalescer.flush();
+
+    assertEquals(1, written.size());
+    UpsertPlayerInfoPacket packet = (UpsertPlayerInfoPacket) written.get(0);
+    assertEquals(EnumSet.of(UpsertPlayerInfoPacket.Action.UPDATE_LATENCY,
+        UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE), packet.getActions());
+    assertEquals(2, packet.getEntries().size());
+    assertEquals(ALICE, packet.getEntries().get(0).getProfileId());
+    assertEquals(20, packet.getEntries().get(0).getLatency());
+    assertEquals(1, packet.getEntries().get(0).getGameMode());
+    assertEquals(30, packet.getEntries().get(1).getLatency());
+    verify(connection).flush();
+  }
+
+  @Test
+  void pendingUpdatesAreSentBeforeRemove() {
+    VelocityTabList tabList = modernTabList();
+    PlayerInfoUpdateCoalescer coalescer = new PlayerInfoUpdateCoalescer(tabList, connection,
+        eventLoop, 50);
+    offer(tabList, coalescer, latency(ALICE, 10));
+    offer(tabList, coalescer, latency(BOB, 20));
+
+    // This is what the backend handler does before forwarding a remove.
+    RemovePlayerInfoPacket remove = new RemovePlayerInfoPacket(List.of(ALICE));
+    coalescer.flush(remove.getProfilesToRemove());
+    tabList.processRemove(remove);
+    connection.write(remove);
+
+    assertEquals(2, written.size());
+    UpsertPlayerInfoPacket update = (UpsertPlayerInfoPacket) written.get(0);
+    assertEquals(1, update.getEntries().size());
+    assertEquals(ALICE, update.getEntries().get(0).getProfileId());
+    assertEquals(10, update.getEntries().get(0).getLatency());
+    assertEquals(remove, written.get(1));
+
+    // Bob's update is still held back, Alice's is not sent again.
+    written.clear();
+    coalescer.flush();
+    assertEquals(1, written.size());
+    update = (UpsertPlayerInfoPacket) written.get(0);
+    assertEquals(BOB, update.getEntries().get(0).getProfileId());
+  }
+
+  @Test
+  void flushForOtherPlayersSendsNothing() {
+    VelocityTabList tabList = modernTabList();
+    PlayerInfoUpdateCoalescer coalescer = new PlayerInfoUpdateCoalescer(tabList, connection,
+        eventLoop, 50);
+    offer(tabList, coalescer, latency(ALICE, 10));
+    coalescer.flush(List.of(BOB));
+    assertEquals(List.of(), written);
+    verify(connection, never()).flush();
+  }
+
+  @Test
+  void updatesForRemovedPlayersAreDropped() {
+    VelocityTabList tabList = modernTabList();
+    PlayerInfoUpdateCoalescer coalescer = new PlayerInfoUpdateCoalescer(tabList, connection,
+        eventLoop, 50);
+    offer(tabList, coalescer, latency(ALICE, 10));
+    tabList.processRemove(new RemovePlayerInfoPacket(List.of(ALICE)));
+    coalescer.flush();
+    assertEquals(List.of(), written);
+  }
+
+  @Test
+  void legacyUpdatesAreMergedPerAction() {
+    KeyedVelocityTabList tabList = new KeyedVelocityTabList(player, mock(ProxyServer.class));
+    assertTrue(PlayerInfoUpdateCoalescer.supports(tabList));
+    tabList.processLegacy(new LegacyPlayerListItemPacket(LegacyPlayerListItemPacket.ADD_PLAYER,
+        List.of(
+            new LegacyPlayerListItemPacket.Item(ALICE).setName("Alice").setProperties(List.of()),
+            new LegacyPlayerListItemPacket.Item(BOB).setName("Bob").setProperties(List.of()))));
+    PlayerInfoUpdateCoalescer coalescer = new PlayerInfoUpdateCoalescer(tabList, connection,
+        eventLoop, 50);
+
+    for (LegacyPlayerListItemPacket packet : List.of(
+        new LegacyPlayerListItemPacket(LegacyPlayerListItemPacket.UPDATE_LATENCY,
+            List.of(new LegacyPlayerListItemPacket.Item(ALICE).setLatency(10))),
+        new LegacyPlayerListItemPacket(LegacyPlayerListItemPacket.UPDATE_LATENCY,
+            List.of(new LegacyPlayerListItemPacket.Item(BOB).setLatency(20))),
+        new LegacyPlayerListItemPacket(LegacyPlayerListItemPacket.UPDATE_LATENCY,
+            List.of(new LegacyPlayerListItemPacket.Item(ALICE).setLatency(30))))) {
+      assertTrue(PlayerInfoUpdateCoalescer.canCoalesce(packet));
+      tabList.processLegacy(packet);
+      coalescer.offer(packet);
+    }
+    coalescer.flush();
+
+    assertEquals(1, written.size());
+    LegacyPlayerListItemPacket packet = (LegacyPlayerListItemPacket) written.get(0);
+    assertEquals(LegacyPlayerListItemPacket.UPDATE_LATENCY, packet.getAction());
+    assertEquals(2, packet.getItems().size());
+    assertEquals(ALICE, packet.getItems().get(0).getUuid());
+    assertEquals(30, packet.getItems().get(0).getLatency());
+    assertEquals(20, packet.getItems().get(1).getLatency());
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class GameProfileInternerTest {
+
+  private static GameProfile.Property textures() {
+    // Build the strings at runtime so that they are distinct instances.
+    return new GameProfile.Property(new String("textures"), "dGV4dHVyZXM=".repeat(64),
+        "c2lnbmF0dXJl".repeat(32));
+  }
+
+  @Test
+  void equalPropertiesAreShared() {
+    GameProfile.Property first = textures();
+    GameProfile.Property second = textures();
+    assertNotSame(first, second);
+    assertSame(GameProfileInterner.intern(first), GameProfileInterner.intern(second));
+  }
+
+  @Test
+  void equalProfilesAreShared() {
+    UUID id = UUID.randomUUID();
+    GameProfile first = GameProfileInterner.intern(id, "tuxed", List.of(textures()));
+    GameProfile second = GameProfileInterner.intern(new GameProfile(id, "tuxed",
+        List.of(textures())));
+    assertSame(first, second);
+  }
+
+  @Test
+  void changedProfileReplacesCachedProfile() {
+    UUID id = UUID.randomUUID();
+    GameProfile first = GameProfileInterner.intern(id, "tuxed", List.of(textures()));
+    GameProfile renamed = GameProfileInterner.intern(id, "astei", List.of(textures()));
+    assertNotSame(first, renamed);
+    assertEquals("astei", renamed.getName());
+    assertSame(first.getProperties().get(0), renamed.getProperties().get(0));
+    assertSame(renamed, GameProfileInterner.intern(id, "astei", List.of(textures())));
+  }
+
+  @Test
+  void decodedPlayerInfoSharesProfiles() {
+    UUID id = UUID.randomUUID();
+    UpsertPlayerInfoPacket.Entry entry = new UpsertPlayerInfoPacket.Entry(id);
+    entry.setProfile(new GameProfile(id, "tuxed", List.of(textures())));
+    UpsertPlayerInfoPacket packet = new UpsertPlayerInfoPacket(
+        EnumSet.of(UpsertPlayerInfoPacket.Action.ADD_PLAYER), List.of(entry));
+
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, ProtocolVersion.MAXIMUM_VERSION);
+
+      GameProfile previous = null;
+      for (int i = 0; i < 16; i++) {
+        UpsertPlayerInfoPacket decoded = new UpsertPlayerInfoPacket();
+        decoded.decode(buf.duplicate(), ProtocolUtils.Direction.CLIENTBOUND,
+            ProtocolVersion.MAXIMUM_VERSION);
+        GameProfile profile = decoded.getEntries().get(0).getProfile();
+        if (previous != null) {
+          assertSame(previous, profile);
+        }
+        previous = profile;
+      }
+    } finally {
+      buf.release();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2025 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void percentilesAreBoundedByBucket() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 99; i++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+    }
+    histogram.record(TimeUnit.MILLISECONDS.toNanos(50));
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(100, snapshot.count());
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(50), snapshot.maxNanos());
+
+    long p50 = snapshot.percentileNanos(0.5);
+    assertTrue(p50 >= TimeUnit.MICROSECONDS.toNanos(100), "p50 below recorded value");
+    assertTrue(p50 <= TimeUnit.MICROSECONDS.toNanos(200), "p50 not within a factor of two");
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(50), snapshot.percentileNanos(1));
+  }
+
+  @Test
+  void emptyHistogram() {
+    LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+    assertEquals(0, snapshot.count());
+    assertEquals(0, snapshot.meanNanos());
+    assertEquals(0, snapshot.percentileNanos(0.99));
+  }
+}